@@ -0,0 +1,95 @@
+package com.bank.onboarding.backend.config;
+
+import java.util.Arrays;
+
+/**
+ * Standard (RFC 4648, padded) Base64 over array ranges, so callers can encode
+ * into and decode from reusable buffers. {@link java.util.Base64} only accepts
+ * whole arrays.
+ */
+final class Base64Codec {
+
+    private static final byte[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes();
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = i;
+        }
+    }
+
+    private Base64Codec() {
+    }
+
+    static int encodedLength(int length) {
+        return 4 * ((length + 2) / 3);
+    }
+
+    static int decodedMaxLength(int encodedLength) {
+        return 3 * (encodedLength / 4);
+    }
+
+    static int encode(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        int end = off + len;
+        int d = dstOff;
+        int s = off;
+        while (end - s >= 3) {
+            int bits = (src[s++] & 0xff) << 16 | (src[s++] & 0xff) << 8 | (src[s++] & 0xff);
+            dst[d++] = ALPHABET[bits >>> 18 & 0x3f];
+            dst[d++] = ALPHABET[bits >>> 12 & 0x3f];
+            dst[d++] = ALPHABET[bits >>> 6 & 0x3f];
+            dst[d++] = ALPHABET[bits & 0x3f];
+        }
+        int remaining = end - s;
+        if (remaining > 0) {
+            int bits = (src[s++] & 0xff) << 16;
+            if (remaining == 2) {
+                bits |= (src[s] & 0xff) << 8;
+            }
+            dst[d++] = ALPHABET[bits >>> 18 & 0x3f];
+            dst[d++] = ALPHABET[bits >>> 12 & 0x3f];
+            dst[d++] = remaining == 2 ? ALPHABET[bits >>> 6 & 0x3f] : (byte) '=';
+            dst[d++] = '=';
+        }
+        return d - dstOff;
+    }
+
+    static int decode(String src, int start, byte[] dst) {
+        int end = src.length();
+        if ((end - start) % 4 != 0) {
+            throw new IllegalArgumentException("Invalid Base64 length");
+        }
+        int d = 0;
+        for (int i = start; i < end; i += 4) {
+            int c0 = value(src.charAt(i));
+            int c1 = value(src.charAt(i + 1));
+            char p2 = src.charAt(i + 2);
+            char p3 = src.charAt(i + 3);
+            boolean last = i + 4 == end;
+            if (p2 == '=' && p3 == '=' && last) {
+                dst[d++] = (byte) (c0 << 2 | c1 >>> 4);
+            } else if (p3 == '=' && last) {
+                int c2 = value(p2);
+                dst[d++] = (byte) (c0 << 2 | c1 >>> 4);
+                dst[d++] = (byte) (c1 << 4 | c2 >>> 2);
+            } else {
+                int c2 = value(p2);
+                int c3 = value(p3);
+                dst[d++] = (byte) (c0 << 2 | c1 >>> 4);
+                dst[d++] = (byte) (c1 << 4 | c2 >>> 2);
+                dst[d++] = (byte) (c2 << 6 | c3);
+            }
+        }
+        return d;
+    }
+
+    private static int value(char c) {
+        int v = c < 128 ? DECODE[c] : -1;
+        if (v < 0) {
+            throw new IllegalArgumentException("Invalid Base64 character: " + c);
+        }
+        return v;
+    }
+}
@@ -0,0 +1,40 @@
+package com.bank.onboarding.backend.config;
+
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.entity.Customer;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the blind index columns in step with the encrypted values. A customer
+ * index is recomputed only when its field has none yet or a setter replaced
+ * it, so updating other columns never decrypts the document number or email.
+ */
+@Component
+public class BlindIndexListener {
+
+    private static BlindIndexService blindIndexService;
+
+    @Autowired
+    public void setBlindIndexService(BlindIndexService service) {
+        BlindIndexListener.blindIndexService = service;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void index(Object entity) {
+        if (blindIndexService == null) return;
+        if (entity instanceof Customer customer) {
+            if (customer.isDocumentNumberIndexStale()) {
+                customer.setDocumentNumberIndex(blindIndexService.index(customer.getDocumentNumber()));
+            }
+            if (customer.isEmailIndexStale()) {
+                customer.setEmailIndex(blindIndexService.index(customer.getEmail()));
+            }
+        } else if (entity instanceof Account account) {
+            account.setAccountNumberIndex(blindIndexService.index(account.getAccountNumber()));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.bank.onboarding.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+@Component
+public class BlindIndexService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final MacPool pool;
+
+    public BlindIndexService(@Value("${app.encryption.index-key:${app.encryption.key}}") String key) throws Exception {
+        byte[] keyHash = MessageDigest.getInstance("SHA-256")
+                .digest(("blind-index:" + key).getBytes(StandardCharsets.UTF_8));
+        this.pool = new MacPool(new SecretKeySpec(keyHash, ALGORITHM),
+                Math.min(64, Runtime.getRuntime().availableProcessors() * 2));
+    }
+
+    public String index(String value) {
+        if (value == null) return null;
+        Mac mac = pool.acquire();
+        try {
+            byte[] digest = mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } finally {
+            pool.release(mac);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.bank.onboarding.backend.config;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free pool of cipher contexts. Slots are claimed with a CAS starting at a
+ * slot derived from the thread id, so it is safe for virtual threads (no
+ * ThreadLocal per request thread, no monitor held while encrypting) and does
+ * not allocate on acquire/release. Context buffers grow up to
+ * {@link #MAX_POOLED_BUFFER}; a larger request gets a one-off array, so one
+ * oversized field cannot pin a large buffer in the pool.
+ */
+final class CipherPool {
+
+    static final int MAX_POOLED_BUFFER = 4096;
+
+    private final String transformation;
+    private final AtomicReferenceArray<Context> slots;
+    private final int mask;
+
+    CipherPool(String transformation, int size) {
+        this.transformation = transformation;
+        int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    Context acquire() {
+        int start = (int) Thread.currentThread().threadId();
+        for (int i = 0; i <= mask; i++) {
+            int index = (start + i) & mask;
+            if (slots.get(index) != null) {
+                Context context = slots.getAndSet(index, null);
+                if (context != null) {
+                    return context;
+                }
+            }
+        }
+        return new Context(transformation);
+    }
+
+    void release(Context context) {
+        int start = (int) Thread.currentThread().threadId();
+        for (int i = 0; i <= mask; i++) {
+            if (slots.compareAndSet((start + i) & mask, null, context)) {
+                return;
+            }
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    static final class Context {
+
+        final Cipher cipher;
+        final SecureRandom random;
+        final byte[] iv = new byte[16];
+        private byte[] plain = new byte[256];
+        private byte[] payload = new byte[512];
+        private byte[] text = new byte[512];
+
+        Context(String transformation) {
+            try {
+                this.cipher = Cipher.getInstance(transformation);
+                this.random = SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+                throw new IllegalStateException("Cipher unavailable: " + transformation, e);
+            }
+        }
+
+        byte[] plain(int size) {
+            if (size > MAX_POOLED_BUFFER) return new byte[size];
+            if (plain.length < size) plain = grown(plain, size);
+            return plain;
+        }
+
+        byte[] payload(int size) {
+            if (size > MAX_POOLED_BUFFER) return new byte[size];
+            if (payload.length < size) payload = grown(payload, size);
+            return payload;
+        }
+
+        byte[] text(int size) {
+            if (size > MAX_POOLED_BUFFER) return new byte[size];
+            if (text.length < size) text = grown(text, size);
+            return text;
+        }
+
+        /**
+         * Writes {@code value} as UTF-8 into the plain buffer and returns its length,
+         * or -1 when it contains non-ASCII characters or is too long for the pooled
+         * buffer, and must go through String#getBytes. On -1 nothing is left behind.
+         */
+        int asciiInto(String value) {
+            int length = value.length();
+            if (length > MAX_POOLED_BUFFER) {
+                return -1;
+            }
+            byte[] buffer = plain(length);
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    Arrays.fill(buffer, 0, i, (byte) 0);
+                    return -1;
+                }
+                buffer[i] = (byte) c;
+            }
+            return length;
+        }
+
+        private static byte[] grown(byte[] buffer, int size) {
+            return new byte[Math.min(MAX_POOLED_BUFFER, Math.max(size, buffer.length * 2))];
+        }
+    }
+}
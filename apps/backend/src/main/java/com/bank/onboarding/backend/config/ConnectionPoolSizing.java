@@ -0,0 +1,60 @@
+package com.bank.onboarding.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes every Hikari pool from the database's core count: {@code cores *
+ * connections-per-core + spare-connections} under {@code app.datasource.pool.*}.
+ * Past that point, more connections mean more queries competing for the same
+ * CPUs, and requests are better off queueing in the pool, where the wait is
+ * bounded by {@code connection-timeout} and shows up in
+ * {@code hikaricp.connections.pending}/{@code .acquire}. {@code cores=0} takes
+ * this JVM's processors, which is right for the in-process H2 database;
+ * against a database server it should be that server's count.
+ * <p>
+ * A pool whose {@code maximum-pool-size} is set explicitly
+ * ({@code spring.datasource.hikari.*}, or {@code app.datasource.replica.hikari.*}
+ * for the replica) keeps it.
+ */
+@Component
+public class ConnectionPoolSizing implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolSizing.class);
+
+    private final Binder binder;
+    private final int size;
+
+    public ConnectionPoolSizing(Environment environment,
+                                @Value("${app.datasource.pool.cores:0}") int cores,
+                                @Value("${app.datasource.pool.connections-per-core:2}") int connectionsPerCore,
+                                @Value("${app.datasource.pool.spare-connections:1}") int spareConnections) {
+        this.binder = Binder.get(environment);
+        this.size = size(cores > 0 ? cores : Runtime.getRuntime().availableProcessors(), connectionsPerCore,
+                spareConnections);
+    }
+
+    static int size(int cores, int connectionsPerCore, int spareConnections) {
+        return Math.max(1, cores * connectionsPerCore + spareConnections);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource pool) {
+            String prefix = "replicaDataSource".equals(beanName) ? "app.datasource.replica.hikari" : "spring.datasource.hikari";
+            if (!binder.bind(prefix + ".maximum-pool-size", Integer.class).isBound()) {
+                pool.setMaximumPoolSize(size);
+            }
+            log.info("Connection pool {}: maximumPoolSize={}, connectionTimeout={}ms, leakDetectionThreshold={}ms",
+                    pool.getPoolName(), pool.getMaximumPoolSize(), pool.getConnectionTimeout(),
+                    pool.getLeakDetectionThreshold());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,26 @@
+package com.bank.onboarding.backend.config;
+
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.service.CustomerCache;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CustomerCacheListener {
+
+    private static CustomerCache customerCache;
+
+    @Autowired
+    public void setCustomerCache(CustomerCache cache) {
+        CustomerCacheListener.customerCache = cache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(Customer customer) {
+        if (customerCache == null) return;
+        customerCache.evict(customer.getId());
+    }
+}
@@ -0,0 +1,26 @@
+package com.bank.onboarding.backend.config;
+
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.service.CustomerSearchIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CustomerSearchListener {
+
+    private static CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    public void setCustomerSearchIndex(CustomerSearchIndex index) {
+        CustomerSearchListener.customerSearchIndex = index;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void index(Customer customer) {
+        if (customerSearchIndex == null) return;
+        customerSearchIndex.index(customer);
+    }
+}
@@ -0,0 +1,68 @@
+package com.bank.onboarding.backend.config;
+
+/**
+ * A PII value as stored (ciphertext) together with its plaintext, which is
+ * decrypted on the first {@link #plaintext()} and then kept for the life of
+ * the instance, i.e. of the entity in its persistence context. Values built
+ * from plaintext are encrypted when created, values read from the database
+ * are decrypted by {@link EncryptedTextConverter} right away unless
+ * {@code app.encryption.lazy-pii=true}.
+ * <p>
+ * Immutable as far as Hibernate is concerned (a setter replaces the
+ * instance), and equal by ciphertext: the dirty check compares ciphertexts
+ * and never decrypts. {@link #toString()} shows no PII.
+ */
+public final class EncryptedText {
+
+    private final String ciphertext;
+    private String plaintext;
+
+    private EncryptedText(String ciphertext, String plaintext) {
+        this.ciphertext = ciphertext;
+        this.plaintext = plaintext;
+    }
+
+    public static EncryptedText of(String plaintext) {
+        return plaintext == null ? null : new EncryptedText(EncryptedTextConverter.encrypt(plaintext), plaintext);
+    }
+
+    static EncryptedText ofCiphertext(String ciphertext) {
+        return new EncryptedText(ciphertext, null);
+    }
+
+    public static String plaintextOf(EncryptedText value) {
+        return value == null ? null : value.plaintext();
+    }
+
+    public String plaintext() {
+        String value = plaintext;
+        if (value == null) {
+            value = EncryptedTextConverter.decrypt(ciphertext);
+            plaintext = value;
+        }
+        return value;
+    }
+
+    public String ciphertext() {
+        return ciphertext;
+    }
+
+    public boolean isDecrypted() {
+        return plaintext != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof EncryptedText other && ciphertext.equals(other.ciphertext));
+    }
+
+    @Override
+    public int hashCode() {
+        return ciphertext.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "EncryptedText[decrypted=" + isDecrypted() + "]";
+    }
+}
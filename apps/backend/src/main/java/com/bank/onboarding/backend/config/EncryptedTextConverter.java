@@ -0,0 +1,95 @@
+package com.bank.onboarding.backend.config;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.SharedSessionContract;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.MutabilityPlan;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * Maps {@link EncryptedText} to its column. With {@code app.encryption.lazy-pii}
+ * off (the default) loading decrypts every value, as {@link CryptoConverter}
+ * does; with it on, loading only wraps the ciphertext and a field is
+ * decrypted when something reads it, so reads that never touch PII (joins,
+ * id/type lookups, paging past rows) skip the AES work. Values still carrying
+ * a legacy fixed-IV ciphertext are re-encrypted with a random IV whenever
+ * their row is written. The second-level cache keeps only the ciphertext
+ * ({@link CiphertextOnly}), so cached rows hold no plaintext either.
+ */
+@Converter
+@Component
+@Mutability(EncryptedTextConverter.CiphertextOnly.class)
+public class EncryptedTextConverter implements AttributeConverter<EncryptedText, String> {
+
+    private static EncryptionService encryptionService;
+    private static boolean lazy;
+
+    @Autowired
+    public void setEncryptionService(EncryptionService service) {
+        EncryptedTextConverter.encryptionService = service;
+    }
+
+    @Autowired
+    public void setLazy(@Value("${app.encryption.lazy-pii:false}") boolean lazyPii) {
+        EncryptedTextConverter.lazy = lazyPii;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(EncryptedText attribute) {
+        if (attribute == null) return null;
+        String ciphertext = attribute.ciphertext();
+        if (encryptionService != null && !ciphertext.startsWith(EncryptionService.RANDOM_IV_PREFIX)) {
+            return encryptionService.encrypt(attribute.plaintext());
+        }
+        return ciphertext;
+    }
+
+    @Override
+    public EncryptedText convertToEntityAttribute(String dbData) {
+        if (dbData == null) return null;
+        EncryptedText value = EncryptedText.ofCiphertext(dbData);
+        if (!lazy) {
+            value.plaintext();
+        }
+        return value;
+    }
+
+    static String encrypt(String plaintext) {
+        if (encryptionService == null) return plaintext;
+        return encryptionService.encrypt(plaintext);
+    }
+
+    static String decrypt(String ciphertext) {
+        if (encryptionService == null) return ciphertext;
+        return encryptionService.decrypt(ciphertext);
+    }
+
+    /** Values are never changed in place; the cache gets the ciphertext and hands back an undecrypted value. */
+    public static final class CiphertextOnly implements MutabilityPlan<EncryptedText> {
+
+        @Override
+        public boolean isMutable() {
+            return false;
+        }
+
+        @Override
+        public EncryptedText deepCopy(EncryptedText value) {
+            return value;
+        }
+
+        @Override
+        public String disassemble(EncryptedText value, SharedSessionContract session) {
+            return value == null ? null : value.ciphertext();
+        }
+
+        @Override
+        public EncryptedText assemble(Serializable cached, SharedSessionContract session) {
+            return cached == null ? null : EncryptedText.ofCiphertext((String) cached);
+        }
+    }
+}
@@ -1,50 +1,220 @@
 package com.bank.onboarding.backend.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
+import java.security.SecureRandom;
 import java.util.Arrays;
-import java.util.Base64;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * AES field encryption. Each call is timed into {@code crypto.operations}
+ * ({@code operation=encrypt|decrypt}, {@code outcome=success|error}) and its
+ * plaintext size added to {@code crypto.bytes}; the meters are resolved once in
+ * the constructor, so instrumentation adds two clock reads and two adds to a
+ * call that costs a microsecond or so. The pooled buffers are zeroed before their
+ * context goes back to the pool, so no plaintext outlives the call there.
+ */
 @Component
 public class EncryptionService {
 
+    // Values written before blind indexes existed use a fixed IV and carry no prefix.
+    static final String RANDOM_IV_PREFIX = "v2:";
+    private static final byte[] RANDOM_IV_PREFIX_BYTES = RANDOM_IV_PREFIX.getBytes(StandardCharsets.US_ASCII);
+    private static final String TRANSFORMATION = "AES/CBC/PKCS5Padding";
+    private static final int IV_LENGTH = 16;
+
     private final SecretKeySpec keySpec;
-    private final IvParameterSpec ivSpec;
+    private final IvParameterSpec legacyIvSpec;
+    private final CipherPool pool = new CipherPool(TRANSFORMATION,
+            Math.min(64, Runtime.getRuntime().availableProcessors() * 2));
+    private final Timer encrypted;
+    private final Timer encryptFailed;
+    private final Timer decrypted;
+    private final Timer decryptFailed;
+    private final Counter encryptedBytes;
+    private final Counter decryptedBytes;
+
+    /** Without metrics: the meters go to an empty composite registry and record nothing. */
+    public EncryptionService(String key) throws Exception {
+        this(key, new CompositeMeterRegistry());
+    }
 
-    public EncryptionService(@Value("${app.encryption.key}") String key) throws Exception {
+    @Autowired
+    public EncryptionService(@Value("${app.encryption.key}") String key, MeterRegistry meterRegistry) throws Exception {
         byte[] keyHash = MessageDigest.getInstance("SHA-256")
                 .digest(key.getBytes(StandardCharsets.UTF_8));
         this.keySpec = new SecretKeySpec(keyHash, "AES");
-        this.ivSpec = new IvParameterSpec(Arrays.copyOf(keyHash, 16));
+        this.legacyIvSpec = new IvParameterSpec(Arrays.copyOf(keyHash, IV_LENGTH));
+        this.encrypted = operations(meterRegistry, "encrypt", "success");
+        this.encryptFailed = operations(meterRegistry, "encrypt", "error");
+        this.decrypted = operations(meterRegistry, "decrypt", "success");
+        this.decryptFailed = operations(meterRegistry, "decrypt", "error");
+        this.encryptedBytes = bytes(meterRegistry, "encrypt");
+        this.decryptedBytes = bytes(meterRegistry, "decrypt");
     }
 
     public String encrypt(String data) {
         if (data == null) return null;
+        long start = System.nanoTime();
+        CipherPool.Context context = pool.acquire();
+        byte[] plain = null;
+        int plainLength = 0;
+        byte[] payload = null;
+        int payloadSize = 0;
+        byte[] text = null;
+        int textSize = 0;
         try {
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivSpec);
-            byte[] encrypted = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(encrypted);
+            plainLength = context.asciiInto(data);
+            if (plainLength >= 0) {
+                plain = context.plain(plainLength);
+            } else {
+                plain = data.getBytes(StandardCharsets.UTF_8);
+                plainLength = plain.length;
+            }
+
+            Cipher cipher = context.cipher;
+            context.random.nextBytes(context.iv);
+            cipher.init(Cipher.ENCRYPT_MODE, keySpec, new IvParameterSpec(context.iv));
+            payloadSize = IV_LENGTH + cipher.getOutputSize(plainLength);
+            payload = context.payload(payloadSize);
+            System.arraycopy(context.iv, 0, payload, 0, IV_LENGTH);
+            int payloadLength = IV_LENGTH + cipher.doFinal(plain, 0, plainLength, payload, IV_LENGTH);
+
+            int prefixLength = RANDOM_IV_PREFIX_BYTES.length;
+            textSize = prefixLength + Base64Codec.encodedLength(payloadLength);
+            text = context.text(textSize);
+            System.arraycopy(RANDOM_IV_PREFIX_BYTES, 0, text, 0, prefixLength);
+            int textLength = prefixLength + Base64Codec.encode(payload, 0, payloadLength, text, prefixLength);
+            String result = new String(text, 0, textLength, StandardCharsets.ISO_8859_1);
+            encryptedBytes.increment(plainLength);
+            encrypted.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
         } catch (Exception e) {
+            encryptFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             throw new RuntimeException("Encryption error", e);
+        } finally {
+            wipe(plain, plainLength);
+            wipe(payload, payloadSize);
+            wipe(text, textSize);
+            pool.release(context);
         }
     }
 
     public String decrypt(String encryptedData) {
         if (encryptedData == null) return null;
+        long started = System.nanoTime();
+        CipherPool.Context context = pool.acquire();
+        byte[] payload = null;
+        int payloadSize = 0;
+        byte[] plain = null;
+        int plainSize = 0;
         try {
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            cipher.init(Cipher.DECRYPT_MODE, keySpec, ivSpec);
-            byte[] decoded = Base64.getDecoder().decode(encryptedData);
-            return new String(cipher.doFinal(decoded), StandardCharsets.UTF_8);
+            boolean randomIv = encryptedData.startsWith(RANDOM_IV_PREFIX);
+            int start = randomIv ? RANDOM_IV_PREFIX.length() : 0;
+            payloadSize = Base64Codec.decodedMaxLength(encryptedData.length() - start);
+            payload = context.payload(payloadSize);
+            int payloadLength = Base64Codec.decode(encryptedData, start, payload);
+
+            Cipher cipher = context.cipher;
+            int offset = 0;
+            if (randomIv) {
+                if (payloadLength <= IV_LENGTH) {
+                    throw new IllegalArgumentException("Encrypted value too short");
+                }
+                cipher.init(Cipher.DECRYPT_MODE, keySpec, new IvParameterSpec(payload, 0, IV_LENGTH));
+                offset = IV_LENGTH;
+            } else {
+                cipher.init(Cipher.DECRYPT_MODE, keySpec, legacyIvSpec);
+            }
+            plainSize = payloadLength - offset;
+            plain = context.plain(plainSize);
+            int plainLength = cipher.doFinal(payload, offset, payloadLength - offset, plain, 0);
+            String result = new String(plain, 0, plainLength, StandardCharsets.UTF_8);
+            decryptedBytes.increment(plainLength);
+            decrypted.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return result;
         } catch (Exception e) {
+            decryptFailed.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
             throw new RuntimeException("Decryption error", e);
+        } finally {
+            wipe(payload, payloadSize);
+            wipe(plain, plainSize);
+            pool.release(context);
+        }
+    }
+
+    /**
+     * Encrypts everything written to the returned stream with the field key and
+     * a random IV, which goes first. Meant for files (e.g. the customer search
+     * snapshot), not for fields; not metered.
+     */
+    public OutputStream encryptingStream(OutputStream out) throws IOException {
+        byte[] iv = new byte[IV_LENGTH];
+        new SecureRandom().nextBytes(iv);
+        Cipher cipher = cipher(Cipher.ENCRYPT_MODE, iv);
+        out.write(iv);
+        return new CipherOutputStream(out, cipher);
+    }
+
+    /** Reverse of {@link #encryptingStream}. */
+    public InputStream decryptingStream(InputStream in) throws IOException {
+        byte[] iv = in.readNBytes(IV_LENGTH);
+        if (iv.length < IV_LENGTH) {
+            throw new IOException("Encrypted stream too short");
+        }
+        return new CipherInputStream(in, cipher(Cipher.DECRYPT_MODE, iv));
+    }
+
+    private Cipher cipher(int mode, byte[] iv) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(mode, keySpec, new IvParameterSpec(iv));
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cipher setup error", e);
+        }
+    }
+
+    private static void wipe(byte[] buffer, int length) {
+        if (buffer != null) {
+            Arrays.fill(buffer, 0, length, (byte) 0);
         }
     }
+
+    CipherPool pool() {
+        return pool;
+    }
+
+    private static Timer operations(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Timer.builder("crypto.operations")
+                .description("AES encrypt/decrypt calls on sensitive fields")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter bytes(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder("crypto.bytes")
+                .description("Plaintext bytes encrypted or decrypted")
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
 }
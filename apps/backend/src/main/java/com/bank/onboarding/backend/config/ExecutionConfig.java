@@ -0,0 +1,30 @@
+package com.bank.onboarding.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * {@code @Async} methods run on Boot's {@code applicationTaskExecutor}, which
+ * uses virtual threads when {@code spring.threads.virtual.enabled=true} (the
+ * {@code virtual} profile). Background work should go through that executor
+ * (or a {@code ThreadPoolTaskExecutorBuilder}/{@code SimpleAsyncTaskExecutorBuilder}
+ * bean) rather than {@code Executors.newFixedThreadPool}, so it follows the
+ * same threading mode. {@code @Scheduled} jobs run on the task scheduler, which
+ * follows the same setting.
+ * <p>
+ * Tasks on that executor inherit the submitting thread's MDC
+ * ({@link MdcTaskDecorator}), so their log lines keep the request id.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class ExecutionConfig {
+
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return new MdcTaskDecorator();
+    }
+}
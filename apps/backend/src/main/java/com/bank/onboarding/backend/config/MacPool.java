@@ -0,0 +1,64 @@
+package com.bank.onboarding.backend.config;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free pool of {@link Mac} instances already initialized with one key,
+ * claimed and returned the same way as {@link CipherPool} contexts. A Mac
+ * resets itself after {@code doFinal}, so a released instance is ready for
+ * the next caller without another {@code getInstance} and {@code init}.
+ */
+final class MacPool {
+
+    private final SecretKeySpec keySpec;
+    private final AtomicReferenceArray<Mac> slots;
+    private final int mask;
+
+    MacPool(SecretKeySpec keySpec, int size) {
+        this.keySpec = keySpec;
+        int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    Mac acquire() {
+        int start = (int) Thread.currentThread().threadId();
+        for (int i = 0; i <= mask; i++) {
+            int index = (start + i) & mask;
+            if (slots.get(index) != null) {
+                Mac mac = slots.getAndSet(index, null);
+                if (mac != null) {
+                    return mac;
+                }
+            }
+        }
+        return newMac();
+    }
+
+    void release(Mac mac) {
+        int start = (int) Thread.currentThread().threadId();
+        for (int i = 0; i <= mask; i++) {
+            if (slots.compareAndSet((start + i) & mask, null, mac)) {
+                return;
+            }
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(keySpec.getAlgorithm());
+            mac.init(keySpec);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Mac unavailable: " + keySpec.getAlgorithm(), e);
+        }
+    }
+}
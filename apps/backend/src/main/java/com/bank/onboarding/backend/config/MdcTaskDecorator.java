@@ -0,0 +1,38 @@
+package com.bank.onboarding.backend.config;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Runs a task with the MDC of the thread that submitted it (the request id, in
+ * particular) and restores the worker's own MDC afterwards. Registered as a
+ * bean in {@link ExecutionConfig}, where Boot applies it to
+ * {@code applicationTaskExecutor} on platform and virtual threads alike; that
+ * covers {@code @Async} methods and async MVC responses such as the NDJSON
+ * exports.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> submitted = MDC.getCopyOfContextMap();
+        if (submitted == null || submitted.isEmpty()) {
+            return runnable;
+        }
+        return () -> {
+            Map<String, String> own = MDC.getCopyOfContextMap();
+            MDC.setContextMap(submitted);
+            try {
+                runnable.run();
+            } finally {
+                if (own == null) {
+                    MDC.clear();
+                } else {
+                    MDC.setContextMap(own);
+                }
+            }
+        };
+    }
+}
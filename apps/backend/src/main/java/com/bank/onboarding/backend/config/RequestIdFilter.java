@@ -5,28 +5,108 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
+/**
+ * Puts a request id in the MDC ({@code requestId}) and in the
+ * {@code X-Request-Id} response header. The id is taken from the caller when
+ * there is one: an {@code X-Request-Id} header (up to 64 characters from
+ * {@code [A-Za-z0-9._-]}, anything else is ignored so it cannot forge log
+ * lines), else the trace id of a W3C {@code traceparent}, so logs line up with
+ * the caller's trace. Otherwise {@link RequestIdGenerator} makes one.
+ * <p>
+ * Only {@code requestId} is removed afterwards (and a previous value put back),
+ * not the whole MDC. {@link MdcTaskDecorator} carries it into
+ * {@code applicationTaskExecutor} tasks.
+ */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class RequestIdFilter extends OncePerRequestFilter {
 
+    public static final String MDC_KEY = "requestId";
+    public static final String HEADER = "X-Request-Id";
+    static final String TRACEPARENT = "traceparent";
+    static final int MAX_LENGTH = 64;
+
+    private final RequestIdGenerator generator;
+
+    @Autowired
+    public RequestIdFilter(@Value("${app.request-id.node-id:-1}") int nodeId) {
+        this(new RequestIdGenerator(nodeId));
+    }
+
+    RequestIdFilter(RequestIdGenerator generator) {
+        this.generator = generator;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        String requestId = UUID.randomUUID().toString().substring(0, 8);
-        MDC.put("requestId", requestId);
-        response.setHeader("X-Request-Id", requestId);
+        String requestId = resolve(request);
+        String previous = MDC.get(MDC_KEY);
+        MDC.put(MDC_KEY, requestId);
+        response.setHeader(HEADER, requestId);
         try {
             filterChain.doFilter(request, response);
         } finally {
-            MDC.clear();
+            if (previous == null) {
+                MDC.remove(MDC_KEY);
+            } else {
+                MDC.put(MDC_KEY, previous);
+            }
+        }
+    }
+
+    private String resolve(HttpServletRequest request) {
+        String header = request.getHeader(HEADER);
+        if (header != null && isValidRequestId(header)) {
+            return header;
+        }
+        String traceId = traceId(request.getHeader(TRACEPARENT));
+        return traceId != null ? traceId : generator.next();
+    }
+
+    static boolean isValidRequestId(String value) {
+        int length = value.length();
+        if (length == 0 || length > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Trace id of a {@code version-traceid-parentid-flags} traceparent, or
+     * {@code null} if the header is missing or malformed. An all-zero trace id
+     * is invalid by the spec.
+     */
+    static String traceId(String traceparent) {
+        if (traceparent == null || traceparent.length() < 55 || traceparent.charAt(2) != '-'
+                || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        boolean nonZero = false;
+        for (int i = 3; i < 35; i++) {
+            char c = traceparent.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return null;
+            }
+            nonZero |= c != '0';
         }
+        return nonZero ? traceparent.substring(3, 35) : null;
     }
 }
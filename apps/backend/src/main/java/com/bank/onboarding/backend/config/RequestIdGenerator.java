@@ -0,0 +1,44 @@
+package com.bank.onboarding.backend.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request ids for requests that arrive without one: 16 hex characters, 24 bits
+ * of node id followed by a 40-bit counter. The node id is drawn once from
+ * {@code SecureRandom} at startup (or set with {@code app.request-id.node-id}),
+ * so ids from different instances and restarts don't collide in practice, and
+ * the counter gives about 10^12 ids per process before it wraps. Producing one
+ * is a {@code getAndIncrement} and a hex encode: no {@code SecureRandom} per
+ * request and no lock. A per-thread counter would not help here, since with
+ * virtual threads every request has its own thread.
+ */
+public class RequestIdGenerator {
+
+    static final int NODE_BITS = 24;
+    static final int SEQUENCE_BITS = 40;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final long prefix;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RequestIdGenerator(int node) {
+        if (node < -1 || node > MAX_NODE) {
+            throw new IllegalArgumentException("app.request-id.node-id must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.prefix = (long) (node == -1 ? new SecureRandom().nextInt(MAX_NODE + 1) : node) << SEQUENCE_BITS;
+    }
+
+    public String next() {
+        long value = prefix | (sequence.getAndIncrement() & SEQUENCE_MASK);
+        byte[] chars = new byte[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+}
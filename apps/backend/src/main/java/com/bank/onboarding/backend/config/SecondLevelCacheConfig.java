@@ -0,0 +1,79 @@
+package com.bank.onboarding.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache regions, held in an in-process Caffeine JCache
+ * manager. Every region is created here from {@code app.cache.regions.<name>.*}
+ * (max-size, and ttl where a TTL makes sense) and Hibernate is started with
+ * {@code missing_cache_strategy=fail}, so a region named in an annotation but
+ * not sized here stops startup instead of growing without bounds.
+ * <p>
+ * Each application context gets its own manager: the JCache provider keys
+ * managers by URI, and a shared one would let two contexts on different
+ * databases read each other's entries.
+ * <p>
+ * Only {@code Customer} is cached. Account balances change through bulk HQL
+ * {@code UPDATE}s, and Hibernate handles each one by invalidating the entity's
+ * whole region (and the query cache's timestamp for the table), so under
+ * transaction load an Account region would be emptied on every write.
+ * <p>
+ * Region statistics are published as {@code cache.*{cache=<region>}}, next to
+ * the Caffeine caches in front of customers and idempotency keys.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String CUSTOMERS_REGION = "customers";
+
+    private static final List<String> REGIONS = List.of(CUSTOMERS_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment, MeterRegistry meterRegistry) {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            Cache<Object, Object> cache = cacheManager.createCache(region, regionConfiguration(environment, region));
+            JCacheMetrics.monitor(meterRegistry, cache);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(Environment environment, String region) {
+        String prefix = "app.cache.regions." + region + ".";
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(environment.getProperty(prefix + "max-size", Long.class, 10_000L)));
+        Duration ttl = environment.getProperty(prefix + "ttl", Duration.class);
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        // Hibernate stores immutable disassembled state; copying it on every get/put buys nothing
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -3,12 +3,16 @@ package com.bank.onboarding.backend.controller;
 import com.bank.onboarding.backend.dto.AccountCreateDTO;
 import com.bank.onboarding.backend.dto.AccountResponseDTO;
 import com.bank.onboarding.backend.dto.AccountStatusDTO;
+import com.bank.onboarding.backend.dto.AccountTransactionDTO;
 import com.bank.onboarding.backend.dto.TransactionDTO;
 import com.bank.onboarding.backend.service.AccountService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
 
 import java.util.List;
 
@@ -17,9 +21,11 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final ObjectWriter accountWriter;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, ObjectMapper objectMapper) {
         this.accountService = accountService;
+        this.accountWriter = objectMapper.writerFor(AccountResponseDTO.class);
     }
 
     @PostMapping
@@ -30,11 +36,18 @@ public class AccountController {
 
     @GetMapping
     public ResponseEntity<List<AccountResponseDTO>> getAccounts(
-            @RequestParam(required = false) Long customerId) {
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
         if (customerId != null) {
             return ResponseEntity.ok(accountService.getAccountsByCustomerId(customerId));
         }
-        return ResponseEntity.ok(accountService.getAllAccounts());
+        return CursorResponses.page(accountService.getAccounts(after, size));
+    }
+
+    @GetMapping(produces = CursorResponses.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAccounts() {
+        return CursorResponses.ndjson(accountWriter, accountService::exportAccounts);
     }
 
     @PatchMapping("/{id}/status")
@@ -43,9 +56,18 @@ public class AccountController {
         return ResponseEntity.ok(accountService.updateAccountStatus(id, dto.getStatus()));
     }
 
+    @GetMapping("/{id}/transactions")
+    public ResponseEntity<List<AccountTransactionDTO>> getTransactions(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        return CursorResponses.page(accountService.getTransactions(id, after, size));
+    }
+
     @PostMapping("/{id}/transaction")
     public ResponseEntity<AccountResponseDTO> transaction(
-            @PathVariable Long id, @Valid @RequestBody TransactionDTO dto) {
-        return ResponseEntity.ok(accountService.transaction(id, dto));
+            @PathVariable Long id, @Valid @RequestBody TransactionDTO dto,
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.ok(accountService.transaction(id, dto, idempotencyKey));
     }
 }
@@ -0,0 +1,48 @@
+package com.bank.onboarding.backend.controller;
+
+import com.bank.onboarding.backend.dto.CursorPage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+final class CursorResponses {
+
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> page(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.hasNext()) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", page.getNextCursor())
+                    .toUriString();
+            builder.header(NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()))
+                    .header("Link", "<" + next + ">; rel=\"next\"");
+        }
+        return builder.body(page.getItems());
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> ndjson(ObjectWriter writer, Consumer<Consumer<T>> export) {
+        StreamingResponseBody body = out -> export.accept(item -> {
+            try {
+                out.write(writer.writeValueAsBytes(item));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+}
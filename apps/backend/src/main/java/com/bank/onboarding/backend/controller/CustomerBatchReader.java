@@ -0,0 +1,203 @@
+package com.bank.onboarding.backend.controller;
+
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Turns a batch request body into a lazy sequence of records so the import
+ * never holds the whole file in memory. For JSON arrays the record "line" is
+ * its 1-based position in the array; for NDJSON and CSV it is the file line.
+ */
+final class CustomerBatchReader {
+
+    static final String CSV_VALUE = "text/csv";
+
+    private static final String MALFORMED_JSON = "JSON invalido";
+    private static final String MALFORMED_CSV = "Numero de columnas invalido";
+    private static final String MISSING_HEADER = "El archivo CSV no tiene encabezado";
+
+    private CustomerBatchReader() {
+    }
+
+    static Iterator<CustomerBatchRecord> jsonArray(ObjectReader reader, InputStream body) {
+        MappingIterator<CustomerCreateDTO> values;
+        try {
+            values = reader.forType(CustomerCreateDTO.class).readValues(body);
+        } catch (JacksonException e) {
+            return List.of(CustomerBatchRecord.malformed(1, MALFORMED_JSON)).iterator();
+        }
+        return new LazyIterator() {
+            private long position;
+
+            @Override
+            CustomerBatchRecord compute() {
+                try {
+                    if (!values.hasNextValue()) {
+                        return null;
+                    }
+                    CustomerCreateDTO value = values.nextValue();
+                    return CustomerBatchRecord.of(++position, value);
+                } catch (JacksonException e) {
+                    finished = true;
+                    return CustomerBatchRecord.malformed(position + 1, MALFORMED_JSON);
+                }
+            }
+        };
+    }
+
+    static Iterator<CustomerBatchRecord> ndjson(ObjectReader reader, InputStream body) {
+        ObjectReader dtoReader = reader.forType(CustomerCreateDTO.class);
+        BufferedReader lines = utf8(body);
+        return new LazyIterator() {
+            private long lineNumber;
+
+            @Override
+            CustomerBatchRecord compute() {
+                String line;
+                do {
+                    line = readLine(lines);
+                    lineNumber++;
+                } while (line != null && line.isBlank());
+                if (line == null) {
+                    return null;
+                }
+                try {
+                    return CustomerBatchRecord.of(lineNumber, dtoReader.readValue(line));
+                } catch (JacksonException e) {
+                    return CustomerBatchRecord.malformed(lineNumber, MALFORMED_JSON);
+                }
+            }
+        };
+    }
+
+    static Iterator<CustomerBatchRecord> csv(InputStream body) {
+        BufferedReader lines = utf8(body);
+        String header = readLine(lines);
+        if (header == null || header.isBlank()) {
+            return List.of(CustomerBatchRecord.malformed(1, MISSING_HEADER)).iterator();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        int width = names.size();
+        return new LazyIterator() {
+            private long lineNumber = 1;
+
+            @Override
+            CustomerBatchRecord compute() {
+                String line;
+                do {
+                    line = readLine(lines);
+                    lineNumber++;
+                } while (line != null && line.isBlank());
+                if (line == null) {
+                    return null;
+                }
+                List<String> fields = splitCsv(line);
+                if (fields.size() != width) {
+                    return CustomerBatchRecord.malformed(lineNumber, MALFORMED_CSV);
+                }
+                CustomerCreateDTO dto = new CustomerCreateDTO(
+                        column(fields, columns, "documenttype"),
+                        column(fields, columns, "documentnumber"),
+                        column(fields, columns, "fullname"),
+                        column(fields, columns, "email"));
+                return CustomerBatchRecord.of(lineNumber, dto);
+            }
+        };
+    }
+
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null ? null : fields.get(index).trim();
+    }
+
+    // RFC 4180 quoting within a single line: "a,b" is one field and "" is an escaped quote.
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static BufferedReader utf8(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    private static String readLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private abstract static class LazyIterator implements Iterator<CustomerBatchRecord> {
+
+        private CustomerBatchRecord next;
+        boolean finished;
+
+        abstract CustomerBatchRecord compute();
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                next = compute();
+                if (next == null) {
+                    finished = true;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public CustomerBatchRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            CustomerBatchRecord record = next;
+            next = null;
+            return record;
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package com.bank.onboarding.backend.controller;
 
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import com.bank.onboarding.backend.dto.CustomerBatchResultDTO;
 import com.bank.onboarding.backend.dto.CustomerCreateDTO;
 import com.bank.onboarding.backend.dto.CustomerResponseDTO;
+import com.bank.onboarding.backend.service.CustomerBatchService;
 import com.bank.onboarding.backend.service.CustomerService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 
 @RestController
@@ -15,9 +27,16 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerBatchService customerBatchService;
+    private final ObjectWriter customerWriter;
+    private final ObjectReader customerReader;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, CustomerBatchService customerBatchService,
+                              ObjectMapper objectMapper) {
         this.customerService = customerService;
+        this.customerBatchService = customerBatchService;
+        this.customerWriter = objectMapper.writerFor(CustomerResponseDTO.class);
+        this.customerReader = objectMapper.readerFor(CustomerCreateDTO.class);
     }
 
     @PostMapping
@@ -26,9 +45,42 @@ public class CustomerController {
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE,
+            CursorResponses.NDJSON_VALUE, CustomerBatchReader.CSV_VALUE})
+    public ResponseEntity<CustomerBatchResultDTO> createCustomers(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        InputStream body = request.getInputStream();
+        Iterator<CustomerBatchRecord> records;
+        if (contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            records = CustomerBatchReader.jsonArray(customerReader, body);
+        } else if (contentType.isCompatibleWith(MediaType.parseMediaType(CursorResponses.NDJSON_VALUE))) {
+            records = CustomerBatchReader.ndjson(customerReader, body);
+        } else {
+            records = CustomerBatchReader.csv(body);
+        }
+        return ResponseEntity.ok(customerBatchService.importCustomers(records));
+    }
+
     @GetMapping
-    public ResponseEntity<List<CustomerResponseDTO>> getAllCustomers() {
-        return ResponseEntity.ok(customerService.getAllCustomers());
+    public ResponseEntity<List<CustomerResponseDTO>> getCustomers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        return CursorResponses.page(customerService.getCustomers(after, size));
+    }
+
+    @GetMapping(produces = CursorResponses.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCustomers() {
+        return CursorResponses.ndjson(customerWriter, customerService::exportCustomers);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerResponseDTO>> searchCustomers(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String emailDomain,
+            @RequestParam(required = false) String documentType,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        return CursorResponses.page(customerService.searchCustomers(name, emailDomain, documentType, after, size));
     }
 
     @GetMapping("/{id}")
@@ -1,39 +1,80 @@
 package com.bank.onboarding.backend.controller;
 
+import com.bank.onboarding.backend.service.ReadinessProbe;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.ObjectMapper;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * Probe and index endpoints. Every body is serialized ahead of time: the
+ * liveness and index responses are built once, the readiness and health
+ * bodies by {@link ReadinessProbe} on its schedule. A request only picks the
+ * bytes.
+ * <p>
+ * {@code /api/health/live} answers 200 while the JVM can serve HTTP and checks
+ * nothing else, so a slow database never gets the container restarted.
+ * {@code /api/health/ready} answers 503 while the database is unreachable or
+ * the search index is warming up, so the load balancer stops routing to it.
+ */
 @RestController
 @RequestMapping("/api")
 public class HealthController {
 
+    private static final HttpHeaders JSON = HttpHeaders.readOnlyHttpHeaders(jsonHeaders());
+    private static final ResponseEntity<byte[]> LIVE =
+            new ResponseEntity<>("{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8), JSON, HttpStatus.OK);
+
+    private final ReadinessProbe readinessProbe;
+    private final ResponseEntity<byte[]> root;
+
+    public HealthController(ReadinessProbe readinessProbe, ObjectMapper objectMapper) {
+        this.readinessProbe = readinessProbe;
+        Map<String, String> index = new LinkedHashMap<>();
+        index.put("message", "Welcome to Bank Onboarding API");
+        index.put("health", "/api/health");
+        index.put("liveness", "/api/health/live");
+        index.put("readiness", "/api/health/ready");
+        index.put("actuator", "/actuator/health");
+        index.put("customers", "/api/customers");
+        index.put("accounts", "/api/accounts");
+        this.root = new ResponseEntity<>(objectMapper.writeValueAsBytes(index), JSON, HttpStatus.OK);
+    }
+
     @GetMapping("/health")
-    public ResponseEntity<Map<String, Object>> health() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "ok");
-        response.put("message", "Server is running");
-        response.put("timestamp", LocalDateTime.now());
-        response.put("service", "Bank Onboarding API");
-        response.put("version", "1.0.0");
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> health() {
+        return new ResponseEntity<>(readinessProbe.snapshot().health(), JSON, HttpStatus.OK);
+    }
+
+    @GetMapping("/health/live")
+    public ResponseEntity<byte[]> live() {
+        return LIVE;
+    }
+
+    @GetMapping("/health/ready")
+    public ResponseEntity<byte[]> ready() {
+        ReadinessProbe.Snapshot snapshot = readinessProbe.snapshot();
+        return new ResponseEntity<>(snapshot.readiness(), JSON,
+                snapshot.ready() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE);
     }
 
     @GetMapping("/")
-    public ResponseEntity<Map<String, String>> root() {
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Welcome to Bank Onboarding API");
-        response.put("health", "/api/health");
-        response.put("actuator", "/actuator/health");
-        response.put("customers", "/api/customers");
-        response.put("accounts", "/api/accounts");
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> root() {
+        return root;
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setCacheControl("no-store");
+        return headers;
     }
 }
@@ -28,6 +28,18 @@ public class AccountResponseDTO {
         this.updatedAt = account.getUpdatedAt();
     }
 
+    /** Filled straight from the columns by the {@code AccountRepository} read queries. */
+    public AccountResponseDTO(Long id, Long customerId, String accountNumber, String status, BigDecimal balance,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.customerId = customerId;
+        this.accountNumber = accountNumber;
+        this.status = status;
+        this.balance = balance;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,76 @@
+package com.bank.onboarding.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class AccountTransactionDTO {
+
+    private Long id;
+    private Long accountId;
+    private String type;
+    private BigDecimal amount;
+    private BigDecimal balanceAfter;
+    private LocalDateTime createdAt;
+
+    public AccountTransactionDTO() {
+    }
+
+    /** Filled straight from the columns by the {@code AccountTransactionRepository} read queries. */
+    public AccountTransactionDTO(Long id, Long accountId, String type, BigDecimal amount, BigDecimal balanceAfter,
+                                 LocalDateTime createdAt) {
+        this.id = id;
+        this.accountId = accountId;
+        this.type = type;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
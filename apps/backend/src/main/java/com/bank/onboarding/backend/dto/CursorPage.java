@@ -0,0 +1,37 @@
+package com.bank.onboarding.backend.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    public CursorPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code size + 1} as limit: the extra row
+     * only signals that another page exists and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Long> idOf) {
+        boolean more = rows.size() > size;
+        List<T> page = more ? rows.subList(0, size) : rows;
+        return new CursorPage<>(page, more ? idOf.apply(page.get(page.size() - 1)) : null);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.onboarding.backend.dto;
+
+import java.util.Map;
+
+public class CustomerBatchErrorDTO {
+
+    private long line;
+    private Map<String, String> errors;
+
+    public CustomerBatchErrorDTO() {
+    }
+
+    public CustomerBatchErrorDTO(long line, Map<String, String> errors) {
+        this.line = line;
+        this.errors = errors;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,34 @@
+package com.bank.onboarding.backend.dto;
+
+public class CustomerBatchRecord {
+
+    private final long line;
+    private final CustomerCreateDTO customer;
+    private final String parseError;
+
+    private CustomerBatchRecord(long line, CustomerCreateDTO customer, String parseError) {
+        this.line = line;
+        this.customer = customer;
+        this.parseError = parseError;
+    }
+
+    public static CustomerBatchRecord of(long line, CustomerCreateDTO customer) {
+        return new CustomerBatchRecord(line, customer, null);
+    }
+
+    public static CustomerBatchRecord malformed(long line, String parseError) {
+        return new CustomerBatchRecord(line, null, parseError);
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public CustomerCreateDTO getCustomer() {
+        return customer;
+    }
+
+    public String getParseError() {
+        return parseError;
+    }
+}
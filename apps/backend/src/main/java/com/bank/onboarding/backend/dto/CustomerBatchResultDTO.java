@@ -0,0 +1,44 @@
+package com.bank.onboarding.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CustomerBatchResultDTO {
+
+    private long received;
+    private long created;
+    private long rejected;
+    private List<CustomerBatchErrorDTO> errors = new ArrayList<>();
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<CustomerBatchErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<CustomerBatchErrorDTO> errors) {
+        this.errors = errors;
+    }
+}
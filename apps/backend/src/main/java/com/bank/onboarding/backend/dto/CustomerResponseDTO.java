@@ -1,5 +1,6 @@
 package com.bank.onboarding.backend.dto;
 
+import com.bank.onboarding.backend.config.EncryptedText;
 import com.bank.onboarding.backend.entity.Customer;
 
 import java.time.LocalDateTime;
@@ -27,6 +28,22 @@ public class CustomerResponseDTO {
         this.updatedAt = customer.getUpdatedAt();
     }
 
+    /**
+     * Filled straight from the columns by the {@code CustomerRepository} read
+     * queries; the encrypted fields arrive as {@link EncryptedText} and are
+     * decrypted here whether or not lazy PII is on.
+     */
+    public CustomerResponseDTO(Long id, String documentType, EncryptedText documentNumber, EncryptedText fullName,
+                               EncryptedText email, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.documentType = documentType;
+        this.documentNumber = EncryptedText.plaintextOf(documentNumber);
+        this.fullName = EncryptedText.plaintextOf(fullName);
+        this.email = EncryptedText.plaintextOf(email);
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public Long getId() {
         return id;
     }
@@ -1,25 +1,36 @@
 package com.bank.onboarding.backend.entity;
 
+import com.bank.onboarding.backend.config.BlindIndexListener;
 import com.bank.onboarding.backend.config.CryptoConverter;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "accounts")
+@EntityListeners(BlindIndexListener.class)
 public class Account {
 
+    /** Scale of the balance column and the rounding used wherever a balance is computed in Java. */
+    public static final int BALANCE_SCALE = 2;
+    public static final RoundingMode BALANCE_ROUNDING = RoundingMode.HALF_UP;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "customer_id", nullable = false, unique = true)
     private Long customerId;
 
     @Convert(converter = CryptoConverter.class)
-    @Column(name = "account_number", nullable = false, unique = true, length = 255)
+    @Column(name = "account_number", nullable = false, length = 255)
     private String accountNumber;
 
+    @Column(name = "account_number_bidx", unique = true, length = 64)
+    private String accountNumberIndex;
+
     @Column(name = "status", nullable = false, length = 20)
     private String status;
 
@@ -39,6 +50,8 @@ public class Account {
         if (balance == null) {
             balance = BigDecimal.ZERO;
         }
+        // Same scale as the column, so the saved entity reads back like a re-read row
+        balance = balance.setScale(BALANCE_SCALE, BALANCE_ROUNDING);
         if (status == null) {
             status = "ACTIVE";
         }
@@ -85,6 +98,14 @@ public class Account {
         this.accountNumber = accountNumber;
     }
 
+    public String getAccountNumberIndex() {
+        return accountNumberIndex;
+    }
+
+    public void setAccountNumberIndex(String accountNumberIndex) {
+        this.accountNumberIndex = accountNumberIndex;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -0,0 +1,77 @@
+package com.bank.onboarding.backend.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ledger entry for one applied deposit or withdrawal. Entries are insert-only and
+ * carry the account balance right after they were applied, so a statement page
+ * is a range scan on (account_id, id) and never needs to sum the history.
+ * The id is an IDENTITY column: it is assigned by the INSERT, which runs while
+ * the balance UPDATE still holds the account row lock, so id order is apply
+ * order for each account (a pooled sequence would hand out ids ahead of time).
+ */
+@Entity
+@Immutable
+@Table(name = "account_transactions",
+        indexes = @Index(name = "idx_account_transactions_account_id_id", columnList = "account_id, id"))
+public class AccountTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private Long accountId;
+
+    @Column(name = "type", nullable = false, updatable = false, length = 20)
+    private String type;
+
+    @Column(name = "amount", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "balance_after", nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public AccountTransaction() {
+    }
+
+    public AccountTransaction(Long accountId, String type, BigDecimal amount, BigDecimal balanceAfter,
+                              LocalDateTime createdAt) {
+        this.accountId = accountId;
+        this.type = type;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
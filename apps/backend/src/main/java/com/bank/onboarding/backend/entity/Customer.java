@@ -1,31 +1,48 @@
 package com.bank.onboarding.backend.entity;
 
-import com.bank.onboarding.backend.config.CryptoConverter;
+import com.bank.onboarding.backend.config.BlindIndexListener;
+import com.bank.onboarding.backend.config.CustomerCacheListener;
+import com.bank.onboarding.backend.config.CustomerSearchListener;
+import com.bank.onboarding.backend.config.EncryptedText;
+import com.bank.onboarding.backend.config.EncryptedTextConverter;
+import com.bank.onboarding.backend.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = @Index(name = "idx_customers_updated_at", columnList = "updated_at"))
+@EntityListeners({BlindIndexListener.class, CustomerCacheListener.class, CustomerSearchListener.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CUSTOMERS_REGION)
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "document_type", nullable = false, length = 3)
     private String documentType;
 
-    @Convert(converter = CryptoConverter.class)
-    @Column(name = "document_number", nullable = false, unique = true, length = 255)
-    private String documentNumber;
+    @Convert(converter = EncryptedTextConverter.class)
+    @Column(name = "document_number", nullable = false, length = 255)
+    private EncryptedText documentNumber;
 
-    @Convert(converter = CryptoConverter.class)
+    @Column(name = "document_number_bidx", unique = true, length = 64)
+    private String documentNumberIndex;
+
+    @Convert(converter = EncryptedTextConverter.class)
     @Column(name = "full_name", nullable = false, length = 255)
-    private String fullName;
+    private EncryptedText fullName;
+
+    @Convert(converter = EncryptedTextConverter.class)
+    @Column(name = "email", nullable = false, length = 255)
+    private EncryptedText email;
 
-    @Convert(converter = CryptoConverter.class)
-    @Column(name = "email", nullable = false, unique = true, length = 255)
-    private String email;
+    @Column(name = "email_bidx", unique = true, length = 64)
+    private String emailIndex;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -33,6 +50,13 @@ public class Customer {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Set when a setter replaces the value, cleared when its blind index is set
+    @Transient
+    private boolean documentNumberReplaced;
+
+    @Transient
+    private boolean emailReplaced;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -50,9 +74,9 @@ public class Customer {
 
     public Customer(String documentType, String documentNumber, String fullName, String email) {
         this.documentType = documentType;
-        this.documentNumber = documentNumber;
-        this.fullName = fullName;
-        this.email = email;
+        this.documentNumber = EncryptedText.of(documentNumber);
+        this.fullName = EncryptedText.of(fullName);
+        this.email = EncryptedText.of(email);
     }
 
     // Getters and Setters
@@ -73,27 +97,68 @@ public class Customer {
     }
 
     public String getDocumentNumber() {
-        return documentNumber;
+        return EncryptedText.plaintextOf(documentNumber);
     }
 
+    /**
+     * Replaces the document number unless it is unchanged: a new
+     * {@link EncryptedText} has a new IV, so assigning the same plaintext would
+     * still re-encrypt, dirty the row and recompute its blind index.
+     */
     public void setDocumentNumber(String documentNumber) {
-        this.documentNumber = documentNumber;
+        if (!Objects.equals(getDocumentNumber(), documentNumber)) {
+            this.documentNumber = EncryptedText.of(documentNumber);
+            this.documentNumberReplaced = true;
+        }
+    }
+
+    public String getDocumentNumberIndex() {
+        return documentNumberIndex;
+    }
+
+    public void setDocumentNumberIndex(String documentNumberIndex) {
+        this.documentNumberIndex = documentNumberIndex;
+        this.documentNumberReplaced = false;
+    }
+
+    /** True when the document number has no blind index yet or was replaced since it was computed. */
+    public boolean isDocumentNumberIndexStale() {
+        return documentNumberIndex == null || documentNumberReplaced;
     }
 
     public String getFullName() {
-        return fullName;
+        return EncryptedText.plaintextOf(fullName);
     }
 
     public void setFullName(String fullName) {
-        this.fullName = fullName;
+        if (!Objects.equals(getFullName(), fullName)) {
+            this.fullName = EncryptedText.of(fullName);
+        }
     }
 
     public String getEmail() {
-        return email;
+        return EncryptedText.plaintextOf(email);
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        if (!Objects.equals(getEmail(), email)) {
+            this.email = EncryptedText.of(email);
+            this.emailReplaced = true;
+        }
+    }
+
+    public String getEmailIndex() {
+        return emailIndex;
+    }
+
+    public void setEmailIndex(String emailIndex) {
+        this.emailIndex = emailIndex;
+        this.emailReplaced = false;
+    }
+
+    /** True when the email has no blind index yet or was replaced since it was computed. */
+    public boolean isEmailIndexStale() {
+        return emailIndex == null || emailReplaced;
     }
 
     public LocalDateTime getCreatedAt() {
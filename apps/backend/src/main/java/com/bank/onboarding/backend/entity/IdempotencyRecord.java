@@ -0,0 +1,78 @@
+package com.bank.onboarding.backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response of a request made with an {@code Idempotency-Key}. Rows are only
+ * inserted (the key is the primary key, so a concurrent duplicate fails) and
+ * purged once older than the retention period.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String key;
+
+    @Column(name = "fingerprint", nullable = false, length = 100)
+    private String fingerprint;
+
+    @Column(name = "response", nullable = false, length = 2000)
+    private String response;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean persisted;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PostPersist
+    @PostLoad
+    protected void markPersisted() {
+        persisted = true;
+    }
+
+    public IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String key, String fingerprint, String response) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.response = response;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getResponse() {
+        return response;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
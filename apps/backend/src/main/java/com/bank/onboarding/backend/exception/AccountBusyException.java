@@ -0,0 +1,10 @@
+package com.bank.onboarding.backend.exception;
+
+/** 503 from {@code AccountLocks}; thrown when the service is already saturated, so no stack trace either. */
+public class AccountBusyException extends RuntimeException {
+
+    public AccountBusyException(Long accountId) {
+        super("La cuenta " + accountId + " tiene demasiadas operaciones en curso, intente nuevamente",
+                null, false, false);
+    }
+}
@@ -1,8 +1,13 @@
 package com.bank.onboarding.backend.exception;
 
+/**
+ * A request that breaks a business rule (400). It is an expected outcome, not a
+ * fault, and is never logged with a trace, so none is captured: filling the
+ * stack was most of the cost of a rejected request.
+ */
 public class BusinessException extends RuntimeException {
 
     public BusinessException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
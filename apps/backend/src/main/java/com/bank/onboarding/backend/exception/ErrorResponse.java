@@ -0,0 +1,21 @@
+package com.bank.onboarding.backend.exception;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Body of every error response. {@code errors} (field -> message) is only
+ * present on validation failures and {@code details} only on 500s. The
+ * fixed bodies prepared by {@link GlobalExceptionHandler} have no
+ * {@code timestamp} or {@code path}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(LocalDateTime timestamp, int status, String message,
+                            Map<String, String> errors, String details, String path) {
+
+    static ErrorResponse of(int status, String message, String path) {
+        return new ErrorResponse(LocalDateTime.now(), status, message, null, null, path);
+    }
+}
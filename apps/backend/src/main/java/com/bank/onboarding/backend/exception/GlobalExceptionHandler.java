@@ -1,78 +1,152 @@
 package com.bank.onboarding.backend.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
+import tools.jackson.databind.ObjectMapper;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Maps exceptions to {@link ErrorResponse} bodies. 400s and 404s are a large
+ * share of traffic, so the rejected path stays cheap: the business exceptions
+ * carry no stack trace, statuses, fixed messages and headers are constants,
+ * and the body is a record whose serializer Jackson resolves once.
+ * <p>
+ * Responses whose message does not depend on the request (database busy,
+ * search index not ready, no such route) are serialized once at startup and
+ * carry only {@code status} and {@code message}: the time is in the
+ * {@code Date} header and the path is the request's own URL.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    static final String VALIDATION_MESSAGE = "Error de validacion";
+    static final String UNEXPECTED_MESSAGE = "Ocurrio un error inesperado";
+    static final String DATABASE_BUSY_MESSAGE = "Servicio ocupado, intente nuevamente";
+    static final String NO_ROUTE_MESSAGE = "Recurso no encontrado";
+    private static final HttpHeaders JSON = HttpHeaders.readOnlyHttpHeaders(headers(false));
+    private static final HttpHeaders JSON_RETRY_AFTER = HttpHeaders.readOnlyHttpHeaders(headers(true));
+    private static final HttpHeaders RETRY_AFTER = HttpHeaders.readOnlyHttpHeaders(retryAfter());
+
+    private final ResponseEntity<byte[]> databaseBusy;
+    private final ResponseEntity<byte[]> searchIndexNotReady;
+    private final ResponseEntity<byte[]> noRoute;
+
+    public GlobalExceptionHandler(ObjectMapper objectMapper) {
+        this.databaseBusy = fixed(objectMapper, HttpStatus.SERVICE_UNAVAILABLE, DATABASE_BUSY_MESSAGE, JSON_RETRY_AFTER);
+        this.searchIndexNotReady = fixed(objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                new SearchIndexNotReadyException().getMessage(), JSON_RETRY_AFTER);
+        this.noRoute = fixed(objectMapper, HttpStatus.NOT_FOUND, NO_ROUTE_MESSAGE, JSON);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(
-            MethodArgumentNotValidException ex, WebRequest request) {
-
-        Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
-            String fieldName = ((FieldError) error).getField();
-            String errorMessage = error.getDefaultMessage();
-            errors.put(fieldName, errorMessage);
-        });
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("message", "Error de validacion");
-        body.put("errors", errors);
-        body.put("path", request.getDescription(false).replace("uri=", ""));
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(
+            MethodArgumentNotValidException ex, HttpServletRequest request) {
+
+        List<FieldError> fieldErrors = ex.getBindingResult().getFieldErrors();
+        Map<String, String> errors = HashMap.newHashMap(fieldErrors.size());
+        for (FieldError error : fieldErrors) {
+            errors.put(error.getField(), error.getDefaultMessage());
+        }
 
+        ErrorResponse body = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(),
+                VALIDATION_MESSAGE, errors, null, request.getRequestURI());
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleResourceNotFoundException(
-            ResourceNotFoundException ex, WebRequest request) {
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.NOT_FOUND.value());
-        body.put("message", ex.getMessage());
-        body.put("path", request.getDescription(false).replace("uri=", ""));
+    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
+            ResourceNotFoundException ex, HttpServletRequest request) {
 
+        ErrorResponse body = ErrorResponse.of(HttpStatus.NOT_FOUND.value(), ex.getMessage(), request.getRequestURI());
         return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(BusinessException.class)
-    public ResponseEntity<Map<String, Object>> handleBusinessException(
-            BusinessException ex, WebRequest request) {
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("message", ex.getMessage());
-        body.put("path", request.getDescription(false).replace("uri=", ""));
+    public ResponseEntity<ErrorResponse> handleBusinessException(
+            BusinessException ex, HttpServletRequest request) {
 
+        ErrorResponse body = ErrorResponse.of(HttpStatus.BAD_REQUEST.value(), ex.getMessage(), request.getRequestURI());
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGlobalException(
-            Exception ex, WebRequest request) {
+    /** Unmapped paths; without this they fall through to the 500 handler. */
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<byte[]> handleNoResourceFound() {
+        return noRoute;
+    }
+
+    @ExceptionHandler(AccountBusyException.class)
+    public ResponseEntity<ErrorResponse> handleAccountBusy(
+            AccountBusyException ex, HttpServletRequest request) {
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        body.put("message", "Ocurrio un error inesperado");
-        body.put("details", ex.getMessage());
-        body.put("path", request.getDescription(false).replace("uri=", ""));
+        ErrorResponse body = ErrorResponse.of(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage(),
+                request.getRequestURI());
+        return new ResponseEntity<>(body, RETRY_AFTER, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(SearchIndexNotReadyException.class)
+    public ResponseEntity<byte[]> handleSearchIndexNotReady() {
+        return searchIndexNotReady;
+    }
 
+    /**
+     * No connection within the pool's {@code connection-timeout}, either when a
+     * transaction begins or on a statement outside one (also a database that
+     * is down). The cause stays in the logs, not in the body.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<byte[]> handleDatabaseUnavailable(
+            RuntimeException ex, HttpServletRequest request) {
+
+        log.warn("Database unavailable for {}: {}", request.getRequestURI(), ex.getMessage());
+        return databaseBusy;
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGlobalException(
+            Exception ex, HttpServletRequest request) {
+
+        ErrorResponse body = new ErrorResponse(LocalDateTime.now(), HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                UNEXPECTED_MESSAGE, null, ex.getMessage(), request.getRequestURI());
         return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    private static ResponseEntity<byte[]> fixed(ObjectMapper objectMapper, HttpStatus status, String message,
+                                                HttpHeaders headers) {
+        byte[] body = objectMapper.writeValueAsBytes(new ErrorResponse(null, status.value(), message, null, null, null));
+        return new ResponseEntity<>(body, headers, status);
+    }
+
+    private static HttpHeaders headers(boolean retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (retryAfter) {
+            headers.set(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return headers;
+    }
+
+    private static HttpHeaders retryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return headers;
+    }
 }
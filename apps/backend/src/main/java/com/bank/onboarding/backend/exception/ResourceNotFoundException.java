@@ -1,12 +1,13 @@
 package com.bank.onboarding.backend.exception;
 
+/** 404 for a missing customer or account; like {@link BusinessException}, without a stack trace. */
 public class ResourceNotFoundException extends RuntimeException {
 
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public ResourceNotFoundException(String resource, String field, Object value) {
-        super(String.format("%s not found with %s: '%s'", resource, field, value));
+        super(String.format("%s not found with %s: '%s'", resource, field, value), null, false, false);
     }
 }
@@ -0,0 +1,9 @@
+package com.bank.onboarding.backend.exception;
+
+/** 503 while the customer search index is still being built (or when search is disabled); no stack trace. */
+public class SearchIndexNotReadyException extends RuntimeException {
+
+    public SearchIndexNotReadyException() {
+        super("La busqueda de clientes no esta disponible todavia, intente nuevamente", null, false, false);
+    }
+}
@@ -1,20 +1,88 @@
 package com.bank.onboarding.backend.repository;
 
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
 import com.bank.onboarding.backend.entity.Account;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
     Optional<Account> findByCustomerId(Long customerId);
 
-    Optional<Account> findByAccountNumber(String accountNumber);
+    boolean existsByCustomerId(Long customerId);
 
-    List<Account> findAllByCustomerId(Long customerId);
+    /**
+     * Builds an {@link AccountResponseDTO} per row from the selected columns: no
+     * entity, no persistence-context entry, no snapshot for the dirty check.
+     */
+    String RESPONSE = "SELECT new com.bank.onboarding.backend.dto.AccountResponseDTO(" +
+            "a.id, a.customerId, a.accountNumber, a.status, a.balance, a.createdAt, a.updatedAt) FROM Account a ";
 
-    boolean existsByCustomerId(Long customerId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query(RESPONSE + "WHERE a.id > :afterId ORDER BY a.id")
+    List<AccountResponseDTO> findResponses(@Param("afterId") Long afterId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query(RESPONSE + "ORDER BY a.id")
+    Stream<AccountResponseDTO> streamResponses();
+
+    Optional<Account> findByAccountNumberIndex(String accountNumberIndex);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query(RESPONSE + "WHERE a.customerId = :customerId ORDER BY a.id")
+    List<AccountResponseDTO> findResponsesByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT a FROM Account a WHERE a.id > :afterId AND a.accountNumberIndex IS NULL ORDER BY a.id")
+    List<Account> findMissingBlindIndex(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Always a query: after {@link #deposit}/{@link #withdraw} the row must be read
+     * back from the database, whatever a caller's persistence context holds.
+     */
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findCurrentById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findForUpdateById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = :balance, a.updatedAt = :now WHERE a.id = :id")
+    int updateBalance(@Param("id") Long id, @Param("balance") BigDecimal balance, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.updatedAt = :now " +
+            "WHERE a.id = :id AND a.status = 'ACTIVE'")
+    int deposit(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.updatedAt = :now " +
+            "WHERE a.id = :id AND a.status = 'ACTIVE' AND a.balance >= :amount")
+    int withdraw(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
 }
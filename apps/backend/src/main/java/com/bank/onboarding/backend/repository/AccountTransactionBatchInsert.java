@@ -0,0 +1,15 @@
+package com.bank.onboarding.backend.repository;
+
+import com.bank.onboarding.backend.entity.AccountTransaction;
+
+import java.util.List;
+
+/**
+ * Inserts ledger entries as one JDBC batch. The IDENTITY id keeps Hibernate
+ * from batching {@code saveAll}, so this goes through JDBC directly, in the
+ * caller's transaction. Rows are inserted in list order, which is their id order.
+ */
+public interface AccountTransactionBatchInsert {
+
+    void insertAll(List<AccountTransaction> entries);
+}
@@ -0,0 +1,35 @@
+package com.bank.onboarding.backend.repository;
+
+import com.bank.onboarding.backend.entity.AccountTransaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+class AccountTransactionBatchInsertImpl implements AccountTransactionBatchInsert {
+
+    private static final String INSERT = "INSERT INTO account_transactions "
+            + "(account_id, type, amount, balance_after, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    AccountTransactionBatchInsertImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<AccountTransaction> entries) {
+        jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getAccountId());
+            ps.setString(2, entry.getType());
+            ps.setBigDecimal(3, entry.getAmount());
+            ps.setBigDecimal(4, entry.getBalanceAfter());
+            // Bound like Hibernate does with hibernate.jdbc.time_zone=UTC
+            ps.setTimestamp(5, Timestamp.valueOf(entry.getCreatedAt()), Calendar.getInstance(UTC));
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.bank.onboarding.backend.repository;
+
+import com.bank.onboarding.backend.dto.AccountTransactionDTO;
+import com.bank.onboarding.backend.entity.AccountTransaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AccountTransactionRepository extends JpaRepository<AccountTransaction, Long>, AccountTransactionBatchInsert {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("SELECT new com.bank.onboarding.backend.dto.AccountTransactionDTO(" +
+            "t.id, t.accountId, t.type, t.amount, t.balanceAfter, t.createdAt) FROM AccountTransaction t " +
+            "WHERE t.accountId = :accountId AND t.id > :afterId ORDER BY t.id")
+    List<AccountTransactionDTO> findResponses(@Param("accountId") Long accountId, @Param("afterId") Long afterId,
+                                              Limit limit);
+}
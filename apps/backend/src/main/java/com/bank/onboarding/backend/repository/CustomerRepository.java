@@ -1,19 +1,82 @@
 package com.bank.onboarding.backend.repository;
 
+import com.bank.onboarding.backend.dto.CustomerResponseDTO;
 import com.bank.onboarding.backend.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
-    Optional<Customer> findByDocumentNumber(String documentNumber);
+    /**
+     * Builds a {@link CustomerResponseDTO} per row from the selected columns (the
+     * converters still decrypt the PII fields): no entity, no persistence-context
+     * entry, no snapshot for the dirty check.
+     */
+    String RESPONSE = "SELECT new com.bank.onboarding.backend.dto.CustomerResponseDTO(" +
+            "c.id, c.documentType, c.documentNumber, c.fullName, c.email, c.createdAt, c.updatedAt) FROM Customer c ";
 
-    Optional<Customer> findByEmail(String email);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query(RESPONSE + "WHERE c.id > :afterId ORDER BY c.id")
+    List<CustomerResponseDTO> findResponses(@Param("afterId") Long afterId, Limit limit);
 
-    boolean existsByDocumentNumber(String documentNumber);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query(RESPONSE + "WHERE c.id IN :ids")
+    List<CustomerResponseDTO> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
 
-    boolean existsByEmail(String email);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query(RESPONSE + "ORDER BY c.id")
+    Stream<CustomerResponseDTO> streamResponses();
+
+    Optional<Customer> findByDocumentNumberIndex(String documentNumberIndex);
+
+    Optional<Customer> findByEmailIndex(String emailIndex);
+
+    boolean existsByDocumentNumberIndex(String documentNumberIndex);
+
+    boolean existsByEmailIndex(String emailIndex);
+
+    @Query("SELECT c.documentNumberIndex FROM Customer c WHERE c.documentNumberIndex IN :indexes")
+    List<String> findExistingDocumentNumberIndexes(@Param("indexes") Collection<String> indexes);
+
+    @Query("SELECT c.emailIndex FROM Customer c WHERE c.emailIndex IN :indexes")
+    List<String> findExistingEmailIndexes(@Param("indexes") Collection<String> indexes);
+
+    @Query("SELECT c FROM Customer c WHERE c.id > :afterId " +
+            "AND (c.documentNumberIndex IS NULL OR c.emailIndex IS NULL) ORDER BY c.id")
+    List<Customer> findMissingBlindIndex(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT MAX(c.id) FROM Customer c")
+    Long findMaxId();
+
+    @Query("SELECT new com.bank.onboarding.backend.repository.CustomerSearchRow(c.id, c.documentType, c.fullName, c.email) " +
+            "FROM Customer c WHERE c.id > :afterId AND c.id <= :toId ORDER BY c.id")
+    List<CustomerSearchRow> findSearchRows(@Param("afterId") Long afterId, @Param("toId") Long toId, Limit limit);
+
+    @Query("SELECT new com.bank.onboarding.backend.repository.CustomerSearchRow(c.id, c.documentType, c.fullName, c.email) " +
+            "FROM Customer c WHERE c.updatedAt >= :since AND c.id > :afterId ORDER BY c.id")
+    List<CustomerSearchRow> findSearchRowsUpdatedSince(@Param("since") LocalDateTime since,
+                                                       @Param("afterId") Long afterId, Limit limit);
 }
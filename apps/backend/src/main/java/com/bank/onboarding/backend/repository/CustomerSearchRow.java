@@ -0,0 +1,15 @@
+package com.bank.onboarding.backend.repository;
+
+import com.bank.onboarding.backend.config.EncryptedText;
+
+/** The searchable columns of a customer; name and email are decrypted when read. */
+public record CustomerSearchRow(Long id, String documentType, EncryptedText fullName, EncryptedText email) {
+
+    public String fullNamePlaintext() {
+        return EncryptedText.plaintextOf(fullName);
+    }
+
+    public String emailPlaintext() {
+        return EncryptedText.plaintextOf(email);
+    }
+}
@@ -0,0 +1,100 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.exception.AccountBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes operations on the same account inside the JVM, so requests for a
+ * hot account queue here instead of holding a connection while they wait on
+ * the row lock. Accounts map onto a fixed array of locks (a power of two,
+ * {@code app.transactions.account-locks.stripes}); there is no global lock, and
+ * two accounts only wait on each other when they share a stripe. A caller that
+ * cannot get the lock within {@code app.transactions.account-locks.timeout}
+ * gets {@link AccountBusyException}.
+ * <p>
+ * {@code ReentrantLock} rather than {@code synchronized}: a virtual thread
+ * parked on it releases its carrier. The DB still enforces the invariants
+ * (conditional UPDATE), so this only changes where waiters queue, and other
+ * instances are not serialized against this one.
+ */
+@Component
+public class AccountLocks {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountLocks.class);
+
+    private final boolean enabled;
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutNanos;
+    private final Counter timeouts;
+
+    public AccountLocks(MeterRegistry meterRegistry,
+                        @Value("${app.transactions.account-locks.enabled:true}") boolean enabled,
+                        @Value("${app.transactions.account-locks.stripes:1024}") int stripes,
+                        @Value("${app.transactions.account-locks.timeout:2s}") Duration timeout) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("app.transactions.account-locks.stripes must be a power of two: " + stripes);
+        }
+        this.enabled = enabled;
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = stripes - 1;
+        this.timeoutNanos = timeout.toNanos();
+        this.timeouts = Counter.builder("account.locks.timeouts")
+                .description("Account operations rejected after waiting for the account's lock")
+                .register(meterRegistry);
+        Gauge.builder("account.locks.waiting", this, AccountLocks::waiting)
+                .description("Threads waiting for an account lock")
+                .register(meterRegistry);
+    }
+
+    public <T> T withLock(Long accountId, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        ReentrantLock lock = stripes[stripe(accountId)];
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountBusyException(accountId);
+        }
+        if (!acquired) {
+            timeouts.increment();
+            log.warn("Timed out waiting for the lock of accountId={}", accountId);
+            throw new AccountBusyException(accountId);
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int stripe(Long accountId) {
+        int h = Long.hashCode(accountId);
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private double waiting() {
+        int waiting = 0;
+        for (ReentrantLock stripe : stripes) {
+            waiting += stripe.getQueueLength();
+        }
+        return waiting;
+    }
+}
@@ -0,0 +1,52 @@
+package com.bank.onboarding.backend.service;
+
+/**
+ * Source of account numbers. Implementations hand out unique, increasing
+ * values; {@link #next()} renders them as {@code ACC-<value><luhn digit>}.
+ * Selected with {@code app.account-number.generator} ({@code sequence} or {@code snowflake}).
+ */
+public interface AccountNumberGenerator {
+
+    String PREFIX = "ACC-";
+
+    long nextValue();
+
+    default String next() {
+        return format(nextValue());
+    }
+
+    static String format(long value) {
+        String digits = Long.toString(value);
+        return PREFIX + digits + luhnDigit(digits);
+    }
+
+    static boolean isValid(String accountNumber) {
+        if (accountNumber == null || !accountNumber.startsWith(PREFIX) || accountNumber.length() < PREFIX.length() + 2) {
+            return false;
+        }
+        String digits = accountNumber.substring(PREFIX.length(), accountNumber.length() - 1);
+        for (int i = 0; i < digits.length(); i++) {
+            if (!Character.isDigit(digits.charAt(i))) {
+                return false;
+            }
+        }
+        return accountNumber.charAt(accountNumber.length() - 1) == luhnDigit(digits);
+    }
+
+    private static char luhnDigit(String digits) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int d = digits.charAt(i) - '0';
+            if (doubled) {
+                d *= 2;
+                if (d > 9) {
+                    d -= 9;
+                }
+            }
+            sum += d;
+            doubled = !doubled;
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+}
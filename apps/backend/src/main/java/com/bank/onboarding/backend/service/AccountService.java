@@ -2,19 +2,25 @@ package com.bank.onboarding.backend.service;
 
 import com.bank.onboarding.backend.dto.AccountCreateDTO;
 import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.AccountTransactionDTO;
+import com.bank.onboarding.backend.dto.CursorPage;
 import com.bank.onboarding.backend.dto.TransactionDTO;
 import com.bank.onboarding.backend.entity.Account;
 import com.bank.onboarding.backend.exception.BusinessException;
 import com.bank.onboarding.backend.exception.ResourceNotFoundException;
 import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.repository.AccountTransactionRepository;
 import com.bank.onboarding.backend.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.List;
-import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class AccountService {
@@ -22,17 +28,40 @@ public class AccountService {
     private static final Logger log = LoggerFactory.getLogger(AccountService.class);
 
     private final AccountRepository accountRepository;
+    private final AccountTransactionRepository accountTransactionRepository;
     private final CustomerRepository customerRepository;
-
-    public AccountService(AccountRepository accountRepository, CustomerRepository customerRepository) {
+    private final TransactionEngine transactionEngine;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final IdempotencyStore idempotencyStore;
+    private final AccountLocks accountLocks;
+    private final TransactionBatcher transactionBatcher;
+    private final PageSizes pageSizes;
+    private final OperationTimers transactionTimers;
+
+    public AccountService(AccountRepository accountRepository, AccountTransactionRepository accountTransactionRepository,
+                          CustomerRepository customerRepository, TransactionEngine transactionEngine, AccountNumberGenerator accountNumberGenerator,
+                          IdempotencyStore idempotencyStore, AccountLocks accountLocks,
+                          TransactionBatcher transactionBatcher, PageSizes pageSizes, MeterRegistry meterRegistry) {
         this.accountRepository = accountRepository;
+        this.accountTransactionRepository = accountTransactionRepository;
         this.customerRepository = customerRepository;
+        this.transactionEngine = transactionEngine;
+        this.accountNumberGenerator = accountNumberGenerator;
+        this.idempotencyStore = idempotencyStore;
+        this.accountLocks = accountLocks;
+        this.transactionBatcher = transactionBatcher;
+        this.pageSizes = pageSizes;
+        this.transactionTimers = new OperationTimers(meterRegistry, "account.transactions",
+                "Deposits and withdrawals, including lock wait, batching and idempotency", "type",
+                "DEPOSIT", "WITHDRAWAL");
     }
 
+    @Transactional
     public AccountResponseDTO createAccount(AccountCreateDTO dto) {
         log.info("Creating account for customerId={}", dto.getCustomerId());
 
-        if (!customerRepository.existsById(dto.getCustomerId())) {
+        // findById rather than existsById: the former is answered from the customers L2 region
+        if (customerRepository.findById(dto.getCustomerId()).isEmpty()) {
             log.warn("Customer not found with id={}", dto.getCustomerId());
             throw new ResourceNotFoundException("Cliente no encontrado con id: " + dto.getCustomerId());
         }
@@ -42,7 +71,7 @@ public class AccountService {
             throw new BusinessException("El cliente con id " + dto.getCustomerId() + " ya tiene una cuenta asociada");
         }
 
-        String accountNumber = generateAccountNumber();
+        String accountNumber = accountNumberGenerator.next();
 
         Account account = new Account(dto.getCustomerId(), accountNumber, "ACTIVE");
         Account saved = accountRepository.save(account);
@@ -50,22 +79,48 @@ public class AccountService {
         return new AccountResponseDTO(saved);
     }
 
-    public List<AccountResponseDTO> getAllAccounts() {
-        log.info("Fetching all accounts");
-        return accountRepository.findAll()
-                .stream()
-                .map(AccountResponseDTO::new)
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPage<AccountResponseDTO> getAccounts(Long after, Integer size) {
+        int pageSize = pageSizes.resolve(size);
+        log.info("Fetching accounts after id={}, size={}", after, pageSize);
+        List<AccountResponseDTO> rows = accountRepository.findResponses(
+                pageSizes.resolveCursor(after), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, AccountResponseDTO::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAccounts(Consumer<AccountResponseDTO> sink) {
+        log.info("Streaming account export");
+        long count = 0;
+        try (Stream<AccountResponseDTO> accounts = accountRepository.streamResponses()) {
+            for (AccountResponseDTO account : (Iterable<AccountResponseDTO>) accounts::iterator) {
+                sink.accept(account);
+                count++;
+            }
+        }
+        log.info("Streamed {} accounts", count);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<AccountTransactionDTO> getTransactions(Long accountId, Long after, Integer size) {
+        int pageSize = pageSizes.resolve(size);
+        log.info("Fetching transactions for accountId={} after id={}, size={}", accountId, after, pageSize);
+        List<AccountTransactionDTO> rows = accountTransactionRepository.findResponses(
+                accountId, pageSizes.resolveCursor(after), Limit.of(pageSize + 1));
+        if (rows.isEmpty() && !accountRepository.existsById(accountId)) {
+            log.warn("Account not found with id={}", accountId);
+            throw new ResourceNotFoundException("Cuenta no encontrada con id: " + accountId);
+        }
+        return CursorPage.of(rows, pageSize, AccountTransactionDTO::getId);
     }
 
+    @Transactional(readOnly = true)
     public List<AccountResponseDTO> getAccountsByCustomerId(Long customerId) {
         log.info("Fetching accounts for customerId={}", customerId);
-        return accountRepository.findAllByCustomerId(customerId)
-                .stream()
-                .map(AccountResponseDTO::new)
-                .toList();
+        return accountRepository.findResponsesByCustomerId(customerId);
     }
 
+    @Transactional
     public AccountResponseDTO updateAccountStatus(Long id, String status) {
         log.info("Updating account id={} to status={}", id, status);
         Account account = accountRepository.findById(id)
@@ -74,43 +129,44 @@ public class AccountService {
                     return new ResourceNotFoundException("Cuenta no encontrada con id: " + id);
                 });
         account.setStatus(status);
-        Account saved = accountRepository.save(account);
+        // Flushed here so @PreUpdate has set updatedAt before the response is built
+        Account saved = accountRepository.saveAndFlush(account);
         log.info("Account id={} status updated to {}", id, status);
         return new AccountResponseDTO(saved);
     }
 
-    public AccountResponseDTO transaction(Long id, TransactionDTO dto) {
-        log.info("Processing {} for accountId={}, amount={}", dto.getType(), id, dto.getAmount());
+    // No transaction here: the lock wait and the batch queue stay outside it, TransactionEngine
+    // (or IdempotencyStore, for keyed requests) opens it once the movement is about to run
+    public AccountResponseDTO transaction(Long id, TransactionDTO dto, String idempotencyKey) {
+        return transactionTimers.record(dto.getType(), () -> execute(id, dto, idempotencyKey));
+    }
 
-        Account account = accountRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("Account not found with id={}", id);
-                    return new ResourceNotFoundException("Cuenta no encontrada con id: " + id);
-                });
+    public AccountResponseDTO transaction(Long id, TransactionDTO dto) {
+        return transaction(id, dto, null);
+    }
 
-        if (!"ACTIVE".equals(account.getStatus())) {
-            throw new BusinessException("La cuenta no está activa");
+    private AccountResponseDTO execute(Long id, TransactionDTO dto, String idempotencyKey) {
+        // Keyed requests stay unbatched: their idempotency record must commit with the movement
+        if (idempotencyKey == null && transactionBatcher.isEnabled()) {
+            log.info("Queueing {} for accountId={}, amount={}", dto.getType(), id, dto.getAmount());
+            return transactionBatcher.submit(id, dto.getType(), dto.getAmount());
         }
-
-        BigDecimal currentBalance = account.getBalance();
-
-        if ("DEPOSIT".equals(dto.getType())) {
-            account.setBalance(currentBalance.add(dto.getAmount()));
-        } else {
-            if (currentBalance.compareTo(dto.getAmount()) < 0) {
-                throw new BusinessException("Fondos insuficientes");
+        // The lock covers the idempotency transaction too, so the next request for
+        // this account starts only after this one has committed
+        return accountLocks.withLock(id, () -> {
+            if (idempotencyKey == null) {
+                return apply(id, dto);
             }
-            account.setBalance(currentBalance.subtract(dto.getAmount()));
-        }
+            String fingerprint = id + ":" + dto.getType() + ":" + dto.getAmount().stripTrailingZeros().toPlainString();
+            return idempotencyStore.execute(idempotencyKey, fingerprint, () -> apply(id, dto));
+        });
+    }
 
-        Account saved = accountRepository.save(account);
+    private AccountResponseDTO apply(Long id, TransactionDTO dto) {
+        log.info("Processing {} for accountId={}, amount={}", dto.getType(), id, dto.getAmount());
+
+        Account saved = transactionEngine.apply(id, dto.getType(), dto.getAmount());
         log.info("Transaction {} completed for accountId={}, new balance={}", dto.getType(), id, saved.getBalance());
         return new AccountResponseDTO(saved);
     }
-
-    private String generateAccountNumber() {
-        long timestamp = System.currentTimeMillis();
-        int random = new Random().nextInt(9000) + 1000;
-        return "ACC-" + timestamp + "-" + random;
-    }
 }
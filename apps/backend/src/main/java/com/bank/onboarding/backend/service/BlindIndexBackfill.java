@@ -0,0 +1,89 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.config.BlindIndexListener;
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * One-shot migration for rows written before blind indexes existed. Saving each
+ * row fills the index columns and re-encrypts its PII with a random IV.
+ */
+@Component
+@ConditionalOnProperty(name = "app.blind-index.backfill.enabled", havingValue = "true")
+public class BlindIndexBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BlindIndexBackfill.class);
+
+    private final CustomerRepository customerRepository;
+    private final AccountRepository accountRepository;
+    private final BlindIndexListener blindIndexListener;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public BlindIndexBackfill(CustomerRepository customerRepository, AccountRepository accountRepository,
+                              BlindIndexListener blindIndexListener, TransactionTemplate transactionTemplate,
+                              @Value("${app.blind-index.backfill.batch-size:500}") int batchSize) {
+        this.customerRepository = customerRepository;
+        this.accountRepository = accountRepository;
+        this.blindIndexListener = blindIndexListener;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Backfilling blind indexes in batches of {}", batchSize);
+        long customers = backfillCustomers();
+        long accounts = backfillAccounts();
+        log.info("Blind index backfill finished: customers={}, accounts={}", customers, accounts);
+    }
+
+    long backfillCustomers() {
+        long total = 0;
+        long afterId = 0;
+        while (true) {
+            final long cursor = afterId;
+            List<Customer> page = transactionTemplate.execute(status -> {
+                List<Customer> rows = customerRepository.findMissingBlindIndex(cursor, Limit.of(batchSize));
+                rows.forEach(blindIndexListener::index);
+                return customerRepository.saveAll(rows);
+            });
+            if (page == null || page.isEmpty()) {
+                return total;
+            }
+            total += page.size();
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    long backfillAccounts() {
+        long total = 0;
+        long afterId = 0;
+        while (true) {
+            final long cursor = afterId;
+            List<Account> page = transactionTemplate.execute(status -> {
+                List<Account> rows = accountRepository.findMissingBlindIndex(cursor, Limit.of(batchSize));
+                rows.forEach(blindIndexListener::index);
+                return accountRepository.saveAll(rows);
+            });
+            if (page == null || page.isEmpty()) {
+                return total;
+            }
+            total += page.size();
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.config.BlindIndexService;
+import com.bank.onboarding.backend.dto.CustomerBatchErrorDTO;
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import com.bank.onboarding.backend.dto.CustomerBatchResultDTO;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk onboarding. Records are validated and de-duplicated as they are read,
+ * then checked against the database and inserted one chunk per transaction,
+ * so memory stays bounded by the chunk size plus the keys seen so far.
+ */
+@Service
+public class CustomerBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerBatchService.class);
+
+    static final String DUPLICATE_DOCUMENT_IN_BATCH = "Numero de documento repetido en el lote";
+    static final String DUPLICATE_EMAIL_IN_BATCH = "Email repetido en el lote";
+    static final String DUPLICATE_DOCUMENT = "Ya existe un cliente con el numero de documento";
+    static final String DUPLICATE_EMAIL = "Ya existe un cliente con el email";
+    static final String DUPLICATE_CUSTOMER = "Ya existe un cliente con el mismo documento o email";
+
+    private final CustomerRepository customerRepository;
+    private final BlindIndexService blindIndexService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    public CustomerBatchService(CustomerRepository customerRepository, BlindIndexService blindIndexService,
+                                Validator validator, TransactionTemplate transactionTemplate,
+                                EntityManager entityManager,
+                                @Value("${app.customers.batch.chunk-size:1000}") int chunkSize) {
+        this.customerRepository = customerRepository;
+        this.blindIndexService = blindIndexService;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    public CustomerBatchResultDTO importCustomers(Iterator<CustomerBatchRecord> records) {
+        log.info("Starting customer batch import, chunkSize={}", chunkSize);
+        CustomerBatchResultDTO result = new CustomerBatchResultDTO();
+        Set<String> seenDocuments = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Candidate> chunk = new ArrayList<>(chunkSize);
+
+        while (records.hasNext()) {
+            CustomerBatchRecord record = records.next();
+            result.setReceived(result.getReceived() + 1);
+            Candidate candidate = accept(record, seenDocuments, seenEmails, result);
+            if (candidate != null) {
+                chunk.add(candidate);
+                if (chunk.size() == chunkSize) {
+                    insert(chunk, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insert(chunk, result);
+        }
+
+        log.info("Customer batch import finished: received={}, created={}, rejected={}",
+                result.getReceived(), result.getCreated(), result.getRejected());
+        return result;
+    }
+
+    private Candidate accept(CustomerBatchRecord record, Set<String> seenDocuments, Set<String> seenEmails,
+                             CustomerBatchResultDTO result) {
+        if (record.getParseError() != null) {
+            reject(result, record.getLine(), Map.of("record", record.getParseError()));
+            return null;
+        }
+
+        CustomerCreateDTO dto = record.getCustomer();
+        Set<ConstraintViolation<CustomerCreateDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            Map<String, String> errors = new LinkedHashMap<>();
+            violations.forEach(v -> errors.putIfAbsent(v.getPropertyPath().toString(), v.getMessage()));
+            reject(result, record.getLine(), errors);
+            return null;
+        }
+
+        String documentIndex = blindIndexService.index(dto.getDocumentNumber());
+        String emailIndex = blindIndexService.index(dto.getEmail());
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (seenDocuments.contains(documentIndex)) {
+            errors.put("documentNumber", DUPLICATE_DOCUMENT_IN_BATCH);
+        }
+        if (seenEmails.contains(emailIndex)) {
+            errors.put("email", DUPLICATE_EMAIL_IN_BATCH);
+        }
+        if (!errors.isEmpty()) {
+            reject(result, record.getLine(), errors);
+            return null;
+        }
+        seenDocuments.add(documentIndex);
+        seenEmails.add(emailIndex);
+        return new Candidate(record.getLine(), dto, documentIndex, emailIndex);
+    }
+
+    private void insert(List<Candidate> chunk, CustomerBatchResultDTO result) {
+        try {
+            ChunkOutcome outcome = transactionTemplate.execute(status -> insertChunk(chunk));
+            apply(outcome, result);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent writer claimed one of the keys after the existence check;
+            // retry one row per transaction so only the conflicting rows are rejected.
+            log.warn("Chunk of {} customers hit a unique constraint, retrying row by row", chunk.size());
+            for (Candidate candidate : chunk) {
+                try {
+                    apply(transactionTemplate.execute(status -> insertChunk(List.of(candidate))), result);
+                } catch (DataIntegrityViolationException rowError) {
+                    reject(result, candidate.line(), Map.of("customer", DUPLICATE_CUSTOMER));
+                }
+            }
+        }
+    }
+
+    private ChunkOutcome insertChunk(List<Candidate> chunk) {
+        List<String> documentIndexes = chunk.stream().map(Candidate::documentIndex).toList();
+        List<String> emailIndexes = chunk.stream().map(Candidate::emailIndex).toList();
+        Set<String> existingDocuments = new HashSet<>(customerRepository.findExistingDocumentNumberIndexes(documentIndexes));
+        Set<String> existingEmails = new HashSet<>(customerRepository.findExistingEmailIndexes(emailIndexes));
+
+        ChunkOutcome outcome = new ChunkOutcome();
+        for (Candidate candidate : chunk) {
+            Map<String, String> errors = new LinkedHashMap<>();
+            if (existingDocuments.contains(candidate.documentIndex())) {
+                errors.put("documentNumber", DUPLICATE_DOCUMENT);
+            }
+            if (existingEmails.contains(candidate.emailIndex())) {
+                errors.put("email", DUPLICATE_EMAIL);
+            }
+            if (!errors.isEmpty()) {
+                outcome.errors.add(new CustomerBatchErrorDTO(candidate.line(), errors));
+                continue;
+            }
+            CustomerCreateDTO dto = candidate.dto();
+            entityManager.persist(new Customer(dto.getDocumentType(), dto.getDocumentNumber(),
+                    dto.getFullName(), dto.getEmail()));
+            outcome.created++;
+        }
+        // Through the repository so a unique-key violation arrives as DataIntegrityViolationException
+        customerRepository.flush();
+        entityManager.clear();
+        return outcome;
+    }
+
+    private void apply(ChunkOutcome outcome, CustomerBatchResultDTO result) {
+        result.setCreated(result.getCreated() + outcome.created);
+        outcome.errors.forEach(error -> reject(result, error.getLine(), error.getErrors()));
+    }
+
+    private void reject(CustomerBatchResultDTO result, long line, Map<String, String> errors) {
+        result.setRejected(result.getRejected() + 1);
+        result.getErrors().add(new CustomerBatchErrorDTO(line, errors));
+    }
+
+    private record Candidate(long line, CustomerCreateDTO dto, String documentIndex, String emailIndex) {
+    }
+
+    private static final class ChunkOutcome {
+        private long created;
+        private final List<CustomerBatchErrorDTO> errors = new ArrayList<>();
+    }
+}
@@ -0,0 +1,81 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.dto.CustomerResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Decrypted customers by id, so repeated reads skip the query and the three AES
+ * decrypts. Caffeine bounds it by size (W-TinyLFU admission keeps the hot keys)
+ * and by age. {@code CustomerCacheListener} evicts an entry when its row is
+ * updated or deleted, again after commit so a concurrent read cannot put the
+ * old row back. Metrics are published as {@code cache.*{cache=customers}}.
+ * Callers get a copy of the cached response, so changing it cannot leak into
+ * later reads.
+ */
+@Component
+public class CustomerCache {
+
+    private final Cache<Long, CustomerResponseDTO> cache;
+
+    public CustomerCache(MeterRegistry meterRegistry,
+                         @Value("${app.customers.cache.max-size:10000}") long maxSize,
+                         @Value("${app.customers.cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "customers");
+    }
+
+    public CustomerResponseDTO get(Long id, Function<Long, CustomerResponseDTO> loader) {
+        return copy(cache.get(id, loader));
+    }
+
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    // All fields are immutable values, so a field-by-field copy shares nothing mutable
+    private static CustomerResponseDTO copy(CustomerResponseDTO cached) {
+        CustomerResponseDTO response = new CustomerResponseDTO();
+        response.setId(cached.getId());
+        response.setDocumentType(cached.getDocumentType());
+        response.setDocumentNumber(cached.getDocumentNumber());
+        response.setFullName(cached.getFullName());
+        response.setEmail(cached.getEmail());
+        response.setCreatedAt(cached.getCreatedAt());
+        response.setUpdatedAt(cached.getUpdatedAt());
+        return response;
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    double hitRate() {
+        return cache.stats().hitRate();
+    }
+}
@@ -0,0 +1,550 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.entity.Customer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search over the customer fields the database cannot filter on,
+ * because they are stored encrypted and blind indexes only answer exact
+ * matches: prefix of a word of the name, email domain and document type.
+ * <p>
+ * Every key (normalized: lower case, accents removed) maps to a sorted
+ * {@code long[]} of customer ids. A query intersects the lists of its
+ * criteria by seeking each one forward to the current candidate, in id order,
+ * until the page is full, so paging works with the same {@code after} cursor
+ * as the list endpoints. Nothing is ever removed: the index returns candidates and the
+ * caller re-checks them against the decrypted rows, so an entry left behind
+ * by an update or a delete costs a wasted fetch, not a wrong result.
+ * <p>
+ * Rows reach the index after commit through {@code CustomerSearchListener},
+ * and in bulk from {@link CustomerSearchIndexLoader} ({@link Partial}s built
+ * off-lock and merged in). One read/write lock guards the maps; writes are an
+ * append or a short array shift, so readers rarely wait. Until the loader has
+ * finished {@link #isReady()} is false and searches are refused.
+ */
+@Component
+public class CustomerSearchIndex {
+
+    private static final long[] NO_IDS = new long[0];
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int SNAPSHOT_MAGIC = 0x43534931;
+
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> nameWords = new TreeMap<>();
+    private final Map<String, Postings> emailDomains = new HashMap<>();
+    private final Map<String, Postings> documentTypes = new HashMap<>();
+    private volatile boolean ready;
+
+    public CustomerSearchIndex(@Value("${app.customers.search.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    /** Indexes the row once its transaction commits (right away outside a transaction). */
+    public void index(Customer customer) {
+        if (!enabled || customer.getId() == null) {
+            return;
+        }
+        long id = customer.getId();
+        String documentType = customer.getDocumentType();
+        String fullName = customer.getFullName();
+        String email = customer.getEmail();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(id, documentType, fullName, email);
+                }
+            });
+        } else {
+            add(id, documentType, fullName, email);
+        }
+    }
+
+    public void add(long id, String documentType, String fullName, String email) {
+        List<String> words = words(fullName);
+        String domain = domainOf(email);
+        String type = typeOf(documentType);
+        lock.writeLock().lock();
+        try {
+            for (String word : words) {
+                nameWords.computeIfAbsent(word, k -> new Postings()).add(id);
+            }
+            if (domain != null) {
+                emailDomains.computeIfAbsent(domain, k -> new Postings()).add(id);
+            }
+            if (type != null) {
+                documentTypes.computeIfAbsent(type, k -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void merge(Partial partial) {
+        lock.writeLock().lock();
+        try {
+            mergeInto(nameWords, partial.nameWords);
+            mergeInto(emailDomains, partial.emailDomains);
+            mergeInto(documentTypes, partial.documentTypes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} candidate ids greater than {@code afterId}, ascending.
+     * Callers must re-check each candidate with {@link Query#matches}.
+     */
+    public long[] search(Query query, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            // One group per criterion; a name prefix is the union of the lists of every word it starts
+            List<Postings[]> groups = new ArrayList<>(query.nameWords().size() + 2);
+            if (query.emailDomain() != null && !require(groups, emailDomains.get(query.emailDomain()))) {
+                return NO_IDS;
+            }
+            if (query.documentType() != null && !require(groups, documentTypes.get(query.documentType()))) {
+                return NO_IDS;
+            }
+            for (String prefix : query.nameWords()) {
+                SortedMap<String, Postings> words = nameWords.subMap(prefix, prefix + Character.MAX_VALUE);
+                if (words.isEmpty()) {
+                    return NO_IDS;
+                }
+                groups.add(words.values().toArray(new Postings[0]));
+            }
+            if (groups.isEmpty()) {
+                return NO_IDS;
+            }
+            groups.sort(Comparator.comparingLong(CustomerSearchIndex::size));
+            return intersect(groups, afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Keys and ids held, and a rough size of the structures in bytes. */
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            Stats stats = Stats.EMPTY;
+            stats = stats.plus(nameWords);
+            stats = stats.plus(emailDomains);
+            return stats.plus(documentTypes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_MAGIC);
+            write(out, nameWords);
+            write(out, emailDomains);
+            write(out, documentTypes);
+            out.writeInt(SNAPSHOT_MAGIC);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static Partial readFrom(DataInput in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a customer search snapshot (or written with another key)");
+        }
+        Partial partial = new Partial();
+        read(in, partial.nameWords);
+        read(in, partial.emailDomains);
+        read(in, partial.documentTypes);
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Truncated customer search snapshot");
+        }
+        return partial;
+    }
+
+    /**
+     * Leapfrog intersection: each group seeks forward (galloping) to the
+     * current candidate, and any group that lands past it moves the candidate
+     * up, so the cost follows the ids skipped over in a few jumps rather than
+     * the length of the lists. Stops at {@code limit}.
+     */
+    private static long[] intersect(List<Postings[]> groups, long afterId, int limit) {
+        Cursor[] cursors = new Cursor[groups.size()];
+        for (int g = 0; g < cursors.length; g++) {
+            cursors[g] = new Cursor(groups.get(g), afterId);
+        }
+        long[] found = new long[(int) Math.min(limit, size(groups.get(0)))];
+        int count = 0;
+        long candidate = afterId + 1;
+        while (count < found.length) {
+            long id = cursors[0].seek(candidate);
+            if (id == Long.MAX_VALUE) {
+                break;
+            }
+            candidate = id;
+            for (int g = 1; g < cursors.length && candidate == id; g++) {
+                candidate = cursors[g].seek(id);
+            }
+            if (candidate == Long.MAX_VALUE) {
+                break;
+            }
+            if (candidate == id) {
+                found[count++] = id;
+                candidate = id + 1;
+            }
+        }
+        return count == found.length ? found : Arrays.copyOf(found, count);
+    }
+
+    private static long size(Postings[] group) {
+        long size = 0;
+        for (Postings postings : group) {
+            size += postings.size;
+        }
+        return size;
+    }
+
+    private static boolean require(List<Postings[]> groups, Postings postings) {
+        if (postings == null || postings.size == 0) {
+            return false;
+        }
+        groups.add(new Postings[]{postings});
+        return true;
+    }
+
+    private static void mergeInto(Map<String, Postings> target, Map<String, Postings> source) {
+        for (Map.Entry<String, Postings> entry : source.entrySet()) {
+            Postings existing = target.get(entry.getKey());
+            if (existing == null) {
+                target.put(entry.getKey(), entry.getValue().trimmed());
+            } else {
+                existing.addAll(entry.getValue());
+            }
+        }
+    }
+
+    private static void write(DataOutput out, Map<String, Postings> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, Postings> entry : map.entrySet()) {
+            Postings postings = entry.getValue();
+            out.writeUTF(entry.getKey());
+            out.writeInt(postings.size);
+            long previous = 0;
+            for (int i = 0; i < postings.size; i++) {
+                writeVarLong(out, postings.ids[i] - previous);
+                previous = postings.ids[i];
+            }
+        }
+    }
+
+    private static void read(DataInput in, Map<String, Postings> map) throws IOException {
+        int keys = in.readInt();
+        for (int k = 0; k < keys; k++) {
+            String key = in.readUTF();
+            int size = in.readInt();
+            long[] ids = new long[size];
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                previous += readVarLong(in);
+                ids[i] = previous;
+            }
+            map.put(key, new Postings(ids, size));
+        }
+    }
+
+    // Ids are written as gaps from the previous one, 7 bits per byte: most take one or two bytes
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed id in customer search snapshot");
+    }
+
+    static String normalize(String value) {
+        String lower = value.strip().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            if (lower.charAt(i) > 0x7F) {
+                return MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+            }
+        }
+        return lower;
+    }
+
+    static List<String> words(String fullName) {
+        if (fullName == null) {
+            return List.of();
+        }
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATORS.split(normalize(fullName))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return List.copyOf(words);
+    }
+
+    static String domainOf(String email) {
+        if (email == null) {
+            return null;
+        }
+        String domain = normalize(email.substring(email.lastIndexOf('@') + 1));
+        return domain.isEmpty() ? null : domain;
+    }
+
+    static String typeOf(String documentType) {
+        if (documentType == null || documentType.isBlank()) {
+            return null;
+        }
+        return documentType.strip().toUpperCase(Locale.ROOT);
+    }
+
+    /** Normalized search criteria; a {@code null} or empty criterion is not applied. */
+    public record Query(List<String> nameWords, String emailDomain, String documentType) {
+
+        public static Query of(String name, String emailDomain, String documentType) {
+            String domain = emailDomain == null || emailDomain.isBlank() ? null : domainOf(emailDomain);
+            return new Query(words(name), domain, typeOf(documentType));
+        }
+
+        public boolean isEmpty() {
+            return nameWords.isEmpty() && emailDomain == null && documentType == null;
+        }
+
+        public boolean matches(String documentType, String fullName, String email) {
+            if (this.documentType != null && !this.documentType.equals(typeOf(documentType))) {
+                return false;
+            }
+            if (emailDomain != null && !emailDomain.equals(domainOf(email))) {
+                return false;
+            }
+            if (nameWords.isEmpty()) {
+                return true;
+            }
+            List<String> words = words(fullName);
+            for (String prefix : nameWords) {
+                if (words.stream().noneMatch(word -> word.startsWith(prefix))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Index fragment built without the lock, e.g. by one slice of the startup
+     * scan. Rows must be added in ascending id order.
+     */
+    public static final class Partial {
+
+        private final Map<String, Postings> nameWords = new HashMap<>();
+        private final Map<String, Postings> emailDomains = new HashMap<>();
+        private final Map<String, Postings> documentTypes = new HashMap<>();
+        private long rows;
+
+        public void add(long id, String documentType, String fullName, String email) {
+            rows++;
+            for (String word : words(fullName)) {
+                nameWords.computeIfAbsent(word, k -> new Postings()).add(id);
+            }
+            String domain = domainOf(email);
+            if (domain != null) {
+                emailDomains.computeIfAbsent(domain, k -> new Postings()).add(id);
+            }
+            String type = typeOf(documentType);
+            if (type != null) {
+                documentTypes.computeIfAbsent(type, k -> new Postings()).add(id);
+            }
+        }
+
+        public long rows() {
+            return rows;
+        }
+    }
+
+    public record Stats(int keys, long ids, long bytes) {
+
+        static final Stats EMPTY = new Stats(0, 0, 0);
+
+        // Postings object + array header + ids, and the map entry + key String
+        private Stats plus(Map<String, Postings> map) {
+            long addedIds = 0;
+            long addedBytes = 0;
+            for (Map.Entry<String, Postings> entry : map.entrySet()) {
+                addedIds += entry.getValue().size;
+                addedBytes += 24 + 16 + 8L * entry.getValue().ids.length + 40 + 40 + entry.getKey().length();
+            }
+            return new Stats(keys + map.size(), ids + addedIds, bytes + addedBytes);
+        }
+    }
+
+    /** Forward-only position in a group of lists (the union of their ids). */
+    private static final class Cursor {
+
+        private final Postings[] lists;
+        private final int[] positions;
+
+        Cursor(Postings[] lists, long afterId) {
+            this.lists = lists;
+            this.positions = new int[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                positions[i] = lists[i].indexAfter(afterId);
+            }
+        }
+
+        /** Smallest id {@code >= target} in any of the lists, or {@code Long.MAX_VALUE}. */
+        long seek(long target) {
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < lists.length; i++) {
+                Postings postings = lists[i];
+                int at = postings.lowerBound(target, positions[i]);
+                positions[i] = at;
+                if (at < postings.size) {
+                    min = Math.min(min, postings.ids[at]);
+                }
+            }
+            return min;
+        }
+    }
+
+    /** Sorted, distinct ids; appends are the common case since ids grow. */
+    static final class Postings {
+
+        private long[] ids;
+        private int size;
+
+        Postings() {
+            this(new long[4], 0);
+        }
+
+        Postings(long[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        void add(long id) {
+            if (size > 0 && id <= ids[size - 1]) {
+                int at = Arrays.binarySearch(ids, 0, size, id);
+                if (at >= 0) {
+                    return;
+                }
+                insert(-at - 1, id);
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            ids[size++] = id;
+        }
+
+        void addAll(Postings other) {
+            if (other.size == 0) {
+                return;
+            }
+            if (size == 0 || other.ids[0] > ids[size - 1]) {
+                ids = Arrays.copyOf(ids, size + other.size);
+                System.arraycopy(other.ids, 0, ids, size, other.size);
+                size += other.size;
+                return;
+            }
+            long[] merged = new long[size + other.size];
+            int i = 0;
+            int j = 0;
+            int length = 0;
+            while (i < size || j < other.size) {
+                long next;
+                if (j == other.size || (i < size && ids[i] <= other.ids[j])) {
+                    next = ids[i++];
+                } else {
+                    next = other.ids[j++];
+                }
+                if (length == 0 || merged[length - 1] != next) {
+                    merged[length++] = next;
+                }
+            }
+            ids = merged;
+            size = length;
+        }
+
+        /** First position at or after {@code from} whose id is {@code >= target}. */
+        int lowerBound(long target, int from) {
+            if (from >= size || ids[from] >= target) {
+                return from;
+            }
+            int low = from;
+            int step = 1;
+            while (low + step < size && ids[low + step] < target) {
+                low += step;
+                step <<= 1;
+            }
+            int at = Arrays.binarySearch(ids, low + 1, Math.min(size, low + step + 1), target);
+            return at >= 0 ? at : -at - 1;
+        }
+
+        int indexAfter(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            return at >= 0 ? at + 1 : -at - 1;
+        }
+
+        Postings trimmed() {
+            return ids.length == size ? this : new Postings(Arrays.copyOf(ids, size), size);
+        }
+
+        private void insert(int at, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.config.EncryptionService;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import com.bank.onboarding.backend.repository.CustomerSearchRow;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills {@link CustomerSearchIndex} on startup and keeps it in step with rows
+ * written by other instances.
+ * <p>
+ * Startup either loads the snapshot ({@code app.customers.search.snapshot-path},
+ * encrypted with the field key since it holds decrypted names) and re-reads
+ * the rows updated since it was taken, or scans the table: the id range is cut
+ * into one slice per build thread, each slice is read in keyset pages (the
+ * converters decrypt name and email, which is where the time goes) into its own
+ * {@link CustomerSearchIndex.Partial}, and the partials are merged in. Creates
+ * that commit meanwhile go straight into the index; adding an id twice is a
+ * no-op, so the two never conflict.
+ * <p>
+ * Every {@code refresh-interval}, rows whose {@code updated_at} is newer than
+ * the previous refresh minus {@code refresh-overlap} (clock skew, commits that
+ * landed late) are added again. That picks up customers created on other
+ * instances and name or email changes. The snapshot is written on shutdown.
+ */
+@Component
+@ConditionalOnProperty(name = "app.customers.search.enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerSearchIndexLoader implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerSearchIndexLoader.class);
+
+    private final CustomerSearchIndex index;
+    private final CustomerRepository customerRepository;
+    private final EncryptionService encryptionService;
+    private final AsyncTaskExecutor executor;
+    private final int buildThreads;
+    private final int batchSize;
+    private final Duration refreshOverlap;
+    private final Path snapshotPath;
+    private volatile LocalDateTime watermark;
+
+    public CustomerSearchIndexLoader(CustomerSearchIndex index, CustomerRepository customerRepository,
+                                     EncryptionService encryptionService,
+                                     @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+                                     @Value("${app.customers.search.build-threads:0}") int buildThreads,
+                                     @Value("${app.customers.search.batch-size:1000}") int batchSize,
+                                     @Value("${app.customers.search.refresh-overlap:2m}") Duration refreshOverlap,
+                                     @Value("${app.customers.search.snapshot-path:}") String snapshotPath) {
+        this.index = index;
+        this.customerRepository = customerRepository;
+        this.encryptionService = encryptionService;
+        this.executor = executor;
+        this.buildThreads = buildThreads > 0 ? buildThreads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.refreshOverlap = refreshOverlap;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        LocalDateTime scanStarted = LocalDateTime.now();
+        LocalDateTime snapshotTaken = loadSnapshot();
+        long rows;
+        if (snapshotTaken != null) {
+            rows = catchUp(snapshotTaken.minus(refreshOverlap));
+        } else {
+            rows = build();
+        }
+        watermark = scanStarted;
+        index.markReady();
+        CustomerSearchIndex.Stats stats = index.stats();
+        log.info("Customer search index ready in {} ms ({} rows read{}): keys={}, ids={}, ~{} KB",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), rows,
+                snapshotTaken != null ? " after snapshot" : "", stats.keys(), stats.ids(), stats.bytes() / 1024);
+    }
+
+    @Scheduled(initialDelayString = "${app.customers.search.refresh-interval:30s}",
+            fixedDelayString = "${app.customers.search.refresh-interval:30s}")
+    public void refresh() {
+        if (!index.isReady()) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        long rows = catchUp(watermark.minus(refreshOverlap));
+        watermark = started;
+        log.debug("Customer search index refreshed: {} rows re-read", rows);
+    }
+
+    @PreDestroy
+    public void writeSnapshot() {
+        if (snapshotPath == null || !index.isReady()) {
+            return;
+        }
+        LocalDateTime takenAt = watermark;
+        Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    encryptionService.encryptingStream(Files.newOutputStream(temp)), 64 * 1024))) {
+                index.writeTo(out);
+                out.writeUTF(takenAt.toString());
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Customer search snapshot written to {}", snapshotPath);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write customer search snapshot to {}: {}", snapshotPath, e.toString());
+        }
+    }
+
+    /** When the loaded snapshot was taken, or {@code null} if there is none or it is unreadable. */
+    LocalDateTime loadSnapshot() {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                encryptionService.decryptingStream(Files.newInputStream(snapshotPath)), 64 * 1024))) {
+            CustomerSearchIndex.Partial partial = CustomerSearchIndex.readFrom(in);
+            LocalDateTime takenAt = LocalDateTime.parse(in.readUTF());
+            index.merge(partial);
+            log.info("Customer search snapshot loaded from {} (taken at {})", snapshotPath, takenAt);
+            return takenAt;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring customer search snapshot {}: {}", snapshotPath, e.toString());
+            return null;
+        }
+    }
+
+    long build() {
+        Long maxId = customerRepository.findMaxId();
+        if (maxId == null) {
+            return 0;
+        }
+        long width = Math.max(1, (maxId + buildThreads - 1) / buildThreads);
+        List<CompletableFuture<CustomerSearchIndex.Partial>> slices = new ArrayList<>(buildThreads);
+        for (long from = 0; from < maxId; from += width) {
+            long afterId = from;
+            long toId = Math.min(maxId, from + width);
+            slices.add(CompletableFuture.supplyAsync(() -> scan(afterId, toId), executor));
+        }
+        long rows = 0;
+        for (CompletableFuture<CustomerSearchIndex.Partial> slice : slices) {
+            CustomerSearchIndex.Partial partial = slice.join();
+            index.merge(partial);
+            rows += partial.rows();
+        }
+        return rows;
+    }
+
+    private CustomerSearchIndex.Partial scan(long afterId, long toId) {
+        CustomerSearchIndex.Partial partial = new CustomerSearchIndex.Partial();
+        long cursor = afterId;
+        while (true) {
+            List<CustomerSearchRow> page = customerRepository.findSearchRows(cursor, toId, Limit.of(batchSize));
+            for (CustomerSearchRow row : page) {
+                partial.add(row.id(), row.documentType(), row.fullNamePlaintext(), row.emailPlaintext());
+            }
+            if (page.size() < batchSize) {
+                return partial;
+            }
+            cursor = page.get(page.size() - 1).id();
+        }
+    }
+
+    long catchUp(LocalDateTime since) {
+        long rows = 0;
+        long cursor = 0;
+        while (true) {
+            List<CustomerSearchRow> page = customerRepository.findSearchRowsUpdatedSince(since, cursor,
+                    Limit.of(batchSize));
+            for (CustomerSearchRow row : page) {
+                index.add(row.id(), row.documentType(), row.fullNamePlaintext(), row.emailPlaintext());
+            }
+            rows += page.size();
+            if (page.size() < batchSize) {
+                return rows;
+            }
+            cursor = page.get(page.size() - 1).id();
+        }
+    }
+}
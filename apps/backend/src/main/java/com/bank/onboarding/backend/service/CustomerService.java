@@ -1,37 +1,72 @@
 package com.bank.onboarding.backend.service;
 
+import com.bank.onboarding.backend.config.BlindIndexService;
+import com.bank.onboarding.backend.dto.CursorPage;
 import com.bank.onboarding.backend.dto.CustomerCreateDTO;
 import com.bank.onboarding.backend.dto.CustomerResponseDTO;
 import com.bank.onboarding.backend.entity.Customer;
 import com.bank.onboarding.backend.exception.BusinessException;
 import com.bank.onboarding.backend.exception.ResourceNotFoundException;
+import com.bank.onboarding.backend.exception.SearchIndexNotReadyException;
 import com.bank.onboarding.backend.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class CustomerService {
 
     private static final Logger log = LoggerFactory.getLogger(CustomerService.class);
 
+    static final String SEARCH_CRITERIA_REQUIRED =
+            "Indique al menos un criterio de busqueda: name, emailDomain o documentType";
+    static final String SEARCH_PREFIX_TOO_SHORT = "Cada palabra del nombre debe tener al menos 2 caracteres";
+    private static final int MIN_NAME_PREFIX = 2;
+
     private final CustomerRepository customerRepository;
+    private final BlindIndexService blindIndexService;
+    private final CustomerCache customerCache;
+    private final CustomerSearchIndex searchIndex;
+    private final PageSizes pageSizes;
+    private final OperationTimers timers;
 
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(CustomerRepository customerRepository, BlindIndexService blindIndexService,
+                           CustomerCache customerCache, CustomerSearchIndex searchIndex, PageSizes pageSizes,
+                           MeterRegistry meterRegistry) {
         this.customerRepository = customerRepository;
+        this.blindIndexService = blindIndexService;
+        this.customerCache = customerCache;
+        this.searchIndex = searchIndex;
+        this.pageSizes = pageSizes;
+        this.timers = new OperationTimers(meterRegistry, "customers.operations",
+                "Customer registration, lookup by id (cache hits included) and search", "operation",
+                "create", "get", "search");
     }
 
+    @Transactional
     public CustomerResponseDTO createCustomer(CustomerCreateDTO dto) {
+        return timers.record("create", () -> create(dto));
+    }
+
+    private CustomerResponseDTO create(CustomerCreateDTO dto) {
         log.info("Creating customer with documentType={}", dto.getDocumentType());
 
-        if (customerRepository.existsByDocumentNumber(dto.getDocumentNumber())) {
+        if (customerRepository.existsByDocumentNumberIndex(blindIndexService.index(dto.getDocumentNumber()))) {
             log.warn("Duplicate document number detected");
             throw new BusinessException("Ya existe un cliente con el numero de documento '" + dto.getDocumentNumber() + "'");
         }
 
-        if (customerRepository.existsByEmail(dto.getEmail())) {
+        if (customerRepository.existsByEmailIndex(blindIndexService.index(dto.getEmail()))) {
             log.warn("Duplicate email detected");
             throw new BusinessException("Ya existe un cliente con el email '" + dto.getEmail() + "'");
         }
@@ -48,17 +83,89 @@ public class CustomerService {
         return new CustomerResponseDTO(saved);
     }
 
-    public List<CustomerResponseDTO> getAllCustomers() {
-        log.info("Fetching all customers");
-        List<CustomerResponseDTO> result = customerRepository.findAll()
-                .stream()
-                .map(CustomerResponseDTO::new)
-                .toList();
-        log.info("Found {} customers", result.size());
-        return result;
+    @Transactional(readOnly = true)
+    public CursorPage<CustomerResponseDTO> getCustomers(Long after, Integer size) {
+        int pageSize = pageSizes.resolve(size);
+        log.info("Fetching customers after id={}, size={}", after, pageSize);
+        List<CustomerResponseDTO> rows = customerRepository.findResponses(
+                pageSizes.resolveCursor(after), Limit.of(pageSize + 1));
+        CursorPage<CustomerResponseDTO> page = CursorPage.of(rows, pageSize, CustomerResponseDTO::getId);
+        log.info("Found {} customers, nextCursor={}", page.getItems().size(), page.getNextCursor());
+        return page;
+    }
+
+    /**
+     * Customers whose name has words starting with every word of {@code name},
+     * with the given email domain and document type (any criterion may be
+     * omitted, not all), ascending by id. Candidates come from
+     * {@link CustomerSearchIndex} and are checked again on the decrypted rows,
+     * so a page can hold fewer than {@code size} items and still have a next
+     * cursor.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CustomerResponseDTO> searchCustomers(String name, String emailDomain, String documentType,
+                                                           Long after, Integer size) {
+        CustomerSearchIndex.Query query = CustomerSearchIndex.Query.of(name, emailDomain, documentType);
+        return timers.record("search", () -> search(query, after, size));
+    }
+
+    private CursorPage<CustomerResponseDTO> search(CustomerSearchIndex.Query query, Long after, Integer size) {
+        if (query.isEmpty()) {
+            throw new BusinessException(SEARCH_CRITERIA_REQUIRED);
+        }
+        for (String word : query.nameWords()) {
+            if (word.length() < MIN_NAME_PREFIX) {
+                throw new BusinessException(SEARCH_PREFIX_TOO_SHORT);
+            }
+        }
+        if (!searchIndex.isReady()) {
+            throw new SearchIndexNotReadyException();
+        }
+
+        int pageSize = pageSizes.resolve(size);
+        long[] candidates = searchIndex.search(query, pageSizes.resolveCursor(after), pageSize + 1);
+        int inPage = Math.min(candidates.length, pageSize);
+        List<Long> ids = new ArrayList<>(inPage);
+        for (int i = 0; i < inPage; i++) {
+            ids.add(candidates[i]);
+        }
+        Map<Long, CustomerResponseDTO> rows = HashMap.newHashMap(inPage);
+        for (CustomerResponseDTO customer : customerRepository.findResponsesByIdIn(ids)) {
+            rows.put(customer.getId(), customer);
+        }
+
+        List<CustomerResponseDTO> items = new ArrayList<>(inPage);
+        for (Long id : ids) {
+            CustomerResponseDTO customer = rows.get(id);
+            // Stale candidates (row deleted, or name/email changed since it was indexed) are dropped here
+            if (customer != null && query.matches(customer.getDocumentType(), customer.getFullName(), customer.getEmail())) {
+                items.add(customer);
+            }
+        }
+        Long next = candidates.length > pageSize ? candidates[pageSize - 1] : null;
+        log.info("Customer search returned {} of {} candidates, nextCursor={}", items.size(), inPage, next);
+        return new CursorPage<>(items, next);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCustomers(Consumer<CustomerResponseDTO> sink) {
+        log.info("Streaming customer export");
+        long count = 0;
+        try (Stream<CustomerResponseDTO> customers = customerRepository.streamResponses()) {
+            for (CustomerResponseDTO customer : (Iterable<CustomerResponseDTO>) customers::iterator) {
+                sink.accept(customer);
+                count++;
+            }
+        }
+        log.info("Streamed {} customers", count);
     }
 
+    // No transaction here: cache hits must not borrow a connection, and findById runs in its own read-only one
     public CustomerResponseDTO getCustomerById(Long id) {
+        return timers.record("get", () -> customerCache.get(id, this::loadCustomer));
+    }
+
+    private CustomerResponseDTO loadCustomer(Long id) {
         log.info("Fetching customer with id={}", id);
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> {
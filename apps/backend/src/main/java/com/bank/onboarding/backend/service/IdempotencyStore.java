@@ -0,0 +1,157 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.entity.IdempotencyRecord;
+import com.bank.onboarding.backend.exception.BusinessException;
+import com.bank.onboarding.backend.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response of each request made with an {@code Idempotency-Key}.
+ * Lookups hit a bounded, TTL-evicting in-process cache first and fall back to
+ * the {@code idempotency_keys} table. A new key is inserted in the same
+ * transaction as the work it guards, so two concurrent requests with the same
+ * key cannot both apply: the loser's insert fails, its work rolls back and it
+ * replays the winner's response. Failed requests are not stored. Every caller,
+ * first or replaying, gets its own copy of the stored response.
+ */
+@Service
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    static final int MAX_KEY_LENGTH = 100;
+    static final String INVALID_KEY = "El header Idempotency-Key debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres";
+    static final String KEY_REUSED = "La clave de idempotencia ya fue usada con otra solicitud";
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final Duration retention;
+    private final Cache<String, Stored> cache;
+    private final Counter replayedFromCache;
+    private final Counter replayedFromDatabase;
+    private final Counter executed;
+
+    public IdempotencyStore(IdempotencyRecordRepository repository, TransactionTemplate transactionTemplate,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${app.idempotency.cache.max-size:10000}") long maxSize,
+                            @Value("${app.idempotency.cache.ttl:10m}") Duration cacheTtl,
+                            @Value("${app.idempotency.retention:24h}") Duration retention) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.reader = objectMapper.readerFor(AccountResponseDTO.class);
+        this.writer = objectMapper.writerFor(AccountResponseDTO.class);
+        this.retention = retention;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency");
+        this.replayedFromCache = requests(meterRegistry, "cache");
+        this.replayedFromDatabase = requests(meterRegistry, "database");
+        this.executed = requests(meterRegistry, "executed");
+    }
+
+    public AccountResponseDTO execute(String key, String fingerprint, Supplier<AccountResponseDTO> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(INVALID_KEY);
+        }
+
+        Stored stored = cache.getIfPresent(key);
+        if (stored != null) {
+            replayedFromCache.increment();
+            return stored.replay(fingerprint);
+        }
+        stored = load(key);
+        if (stored != null) {
+            replayedFromDatabase.increment();
+            return stored.replay(fingerprint);
+        }
+
+        try {
+            AccountResponseDTO response = transactionTemplate.execute(status -> {
+                AccountResponseDTO result = action.get();
+                repository.saveAndFlush(new IdempotencyRecord(key, fingerprint, writer.writeValueAsString(result)));
+                return result;
+            });
+            executed.increment();
+            cache.put(key, new Stored(fingerprint, copy(response)));
+            return response;
+        } catch (DataIntegrityViolationException e) {
+            log.info("Idempotency-Key {} was stored by a concurrent request, replaying it", key);
+            stored = load(key);
+            if (stored == null) {
+                throw e;
+            }
+            replayedFromDatabase.increment();
+            return stored.replay(fingerprint);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.idempotency.purge-interval:10m}",
+            fixedDelayString = "${app.idempotency.purge-interval:10m}")
+    public void purgeExpired() {
+        int deleted = repository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    long cachedKeys() {
+        return cache.estimatedSize();
+    }
+
+    private Stored load(String key) {
+        IdempotencyRecord record = repository.findById(key).orElse(null);
+        if (record == null) {
+            return null;
+        }
+        Stored stored = new Stored(record.getFingerprint(), reader.readValue(record.getResponse()));
+        cache.put(key, stored);
+        return stored;
+    }
+
+    // All fields are immutable values, so a field-by-field copy shares nothing mutable
+    private static AccountResponseDTO copy(AccountResponseDTO response) {
+        return new AccountResponseDTO(response.getId(), response.getCustomerId(), response.getAccountNumber(),
+                response.getStatus(), response.getBalance(), response.getCreatedAt(), response.getUpdatedAt());
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by how they were answered")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Stored(String fingerprint, AccountResponseDTO response) {
+
+        AccountResponseDTO replay(String requestFingerprint) {
+            if (!fingerprint.equals(requestFingerprint)) {
+                throw new BusinessException(KEY_REUSED);
+            }
+            return copy(response);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.exception.AccountBusyException;
+import com.bank.onboarding.backend.exception.BusinessException;
+import com.bank.onboarding.backend.exception.ResourceNotFoundException;
+import com.bank.onboarding.backend.exception.SearchIndexNotReadyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * One timer per operation and outcome, all registered up front so that timing a
+ * call costs two {@code nanoTime} reads, a map lookup and the record itself: no
+ * tag building or registry lookup on the request path. Outcomes are a closed
+ * set derived from the exception the call ended with, which keeps the series
+ * count at operations x outcomes.
+ */
+final class OperationTimers {
+
+    enum Outcome {
+        SUCCESS, REJECTED, NOT_FOUND, BUSY, ERROR;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+
+        static Outcome of(RuntimeException e) {
+            if (e instanceof ResourceNotFoundException) {
+                return NOT_FOUND;
+            }
+            if (e instanceof BusinessException) {
+                return REJECTED;
+            }
+            if (e instanceof AccountBusyException || e instanceof SearchIndexNotReadyException
+                    || e instanceof CannotCreateTransactionException || e instanceof DataAccessResourceFailureException) {
+                return BUSY;
+            }
+            return ERROR;
+        }
+    }
+
+    private final Map<String, Timer[]> timers = new HashMap<>();
+
+    OperationTimers(MeterRegistry meterRegistry, String name, String description, String operationTag,
+                    String... operations) {
+        for (String operation : operations) {
+            Timer[] byOutcome = new Timer[Outcome.values().length];
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome[outcome.ordinal()] = Timer.builder(name)
+                        .description(description)
+                        .tag(operationTag, operation)
+                        .tag("outcome", outcome.tag)
+                        .register(meterRegistry);
+            }
+            timers.put(operation, byOutcome);
+        }
+    }
+
+    <T> T record(String operation, Supplier<T> action) {
+        Timer[] byOutcome = timers.get(operation);
+        if (byOutcome == null) {
+            // Not one of the registered operations (input that validation should have stopped): untimed
+            return action.get();
+        }
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            byOutcome[Outcome.SUCCESS.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            byOutcome[Outcome.of(e).ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+}
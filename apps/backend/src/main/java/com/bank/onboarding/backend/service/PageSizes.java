@@ -0,0 +1,28 @@
+package com.bank.onboarding.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PageSizes {
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public PageSizes(@Value("${app.pagination.default-size:100}") int defaultSize,
+                     @Value("${app.pagination.max-size:500}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    public int resolve(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    public long resolveCursor(Long after) {
+        return after == null ? 0L : after;
+    }
+}
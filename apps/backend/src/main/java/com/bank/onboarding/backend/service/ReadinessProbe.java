@@ -0,0 +1,126 @@
+package com.bank.onboarding.backend.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Readiness computed on a schedule instead of per probe. Every
+ * {@code app.health.readiness.interval} it borrows a connection from each
+ * Hikari pool and validates it, reads the pool counters, and checks that the
+ * customer search index has finished warming up; then it serializes the
+ * result once. {@code /api/health/ready} and {@code /api/health} hand out
+ * those bytes, so a load balancer polling several times a second costs a
+ * volatile read, and a slow or exhausted pool delays the next check rather
+ * than the probe.
+ * <p>
+ * Until the first check completes the instance reports not ready.
+ */
+@Component
+public class ReadinessProbe {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadinessProbe.class);
+
+    /** Pre-serialized bodies from one check. */
+    public record Snapshot(boolean ready, byte[] readiness, byte[] health) {
+    }
+
+    private final ObjectProvider<HikariDataSource> pools;
+    private final CustomerSearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+    private final int validationTimeoutSeconds;
+    private volatile Snapshot snapshot;
+
+    public ReadinessProbe(ObjectProvider<HikariDataSource> pools, CustomerSearchIndex searchIndex,
+                          ObjectMapper objectMapper,
+                          @Value("${app.health.readiness.validation-timeout:1s}") Duration validationTimeout) {
+        this.pools = pools;
+        this.searchIndex = searchIndex;
+        this.objectMapper = objectMapper;
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+        this.snapshot = serialize(false, LocalDateTime.now(), Map.of("status", "STARTING"), "STARTING");
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    @Scheduled(initialDelayString = "${app.health.readiness.initial-delay:0s}",
+            fixedDelayString = "${app.health.readiness.interval:5s}")
+    public void check() {
+        Map<String, Object> database = checkDatabase();
+        String index = !searchIndex.isEnabled() ? "DISABLED" : searchIndex.isReady() ? "UP" : "WARMING_UP";
+        boolean ready = "UP".equals(database.get("status")) && !"WARMING_UP".equals(index);
+
+        Snapshot previous = snapshot;
+        snapshot = serialize(ready, LocalDateTime.now(), database, index);
+        if (ready != previous.ready()) {
+            if (ready) {
+                log.info("Ready: database {}, search index {}", database.get("status"), index);
+            } else {
+                log.warn("Not ready: database {}, search index {}", database, index);
+            }
+        }
+    }
+
+    private Map<String, Object> checkDatabase() {
+        Map<String, Object> byPool = new LinkedHashMap<>();
+        boolean up = true;
+        List<HikariDataSource> dataSources = pools.orderedStream().toList();
+        for (HikariDataSource pool : dataSources) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            try (Connection connection = pool.getConnection()) {
+                if (!connection.isValid(validationTimeoutSeconds)) {
+                    up = false;
+                    state.put("error", "connection not valid");
+                }
+            } catch (SQLException e) {
+                up = false;
+                state.put("error", e.getClass().getSimpleName());
+            }
+            HikariPoolMXBean counters = pool.getHikariPoolMXBean();
+            if (counters != null) {
+                state.put("active", counters.getActiveConnections());
+                state.put("idle", counters.getIdleConnections());
+                state.put("pending", counters.getThreadsAwaitingConnection());
+            }
+            state.put("max", pool.getMaximumPoolSize());
+            byPool.put(pool.getPoolName(), state);
+        }
+        Map<String, Object> database = new LinkedHashMap<>();
+        database.put("status", up && !dataSources.isEmpty() ? "UP" : "DOWN");
+        database.put("pools", byPool);
+        return database;
+    }
+
+    private Snapshot serialize(boolean ready, LocalDateTime checkedAt, Map<String, Object> database, String index) {
+        Map<String, Object> readiness = new LinkedHashMap<>();
+        readiness.put("status", ready ? "UP" : "DOWN");
+        readiness.put("checkedAt", checkedAt);
+        readiness.put("database", database);
+        readiness.put("searchIndex", index);
+
+        Map<String, Object> health = new LinkedHashMap<>();
+        health.put("status", "ok");
+        health.put("message", "Server is running");
+        health.put("timestamp", checkedAt);
+        health.put("service", "Bank Onboarding API");
+        health.put("version", "1.0.0");
+
+        return new Snapshot(ready, objectMapper.writeValueAsBytes(readiness), objectMapper.writeValueAsBytes(health));
+    }
+}
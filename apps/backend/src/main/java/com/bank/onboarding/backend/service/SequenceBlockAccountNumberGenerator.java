@@ -0,0 +1,104 @@
+package com.bank.onboarding.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Values from the {@code account_number_seq} database sequence, which advances
+ * by a whole block per call. Threads share the current block through an
+ * AtomicLong; only the thread that finds it exhausted goes back to the
+ * database, so the sequence is hit once per block and is safe across instances.
+ * The refill uses a ReentrantLock rather than {@code synchronized} so a virtual
+ * thread waiting on the database does not pin its carrier.
+ * <p>
+ * The sequence keeps the increment it was created with, and a block is
+ * {@code [nextval, nextval + blockSize)}: with any other block size, blocks
+ * from different instances (or from before a restart) would overlap. Startup
+ * fails when {@code app.account-number.block-size} differs from the existing
+ * sequence's increment; changing it means recreating the sequence past the
+ * highest value handed out.
+ */
+@Component
+@ConditionalOnProperty(name = "app.account-number.generator", havingValue = "sequence", matchIfMissing = true)
+public class SequenceBlockAccountNumberGenerator implements AccountNumberGenerator {
+
+    static final String SEQUENCE = "account_number_seq";
+
+    private final LongSupplier blockStart;
+    private final int blockSize;
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile Block current = new Block(0, 0);
+
+    @Autowired
+    public SequenceBlockAccountNumberGenerator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                               @Value("${app.account-number.block-size:1000}") int blockSize) {
+        this(sequence(jdbcTemplate, entityManagerFactory, blockSize), blockSize);
+    }
+
+    SequenceBlockAccountNumberGenerator(LongSupplier blockStart, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.blockStart = blockStart;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long nextValue() {
+        while (true) {
+            Block block = current;
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return value;
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (current == exhausted) {
+                long start = blockStart.getAsLong();
+                current = new Block(start, start + blockSize);
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private static LongSupplier sequence(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                         int blockSize) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE + " START WITH 1 INCREMENT BY " + blockSize);
+        String increment = jdbcTemplate.queryForObject(
+                "SELECT CAST(INCREMENT AS VARCHAR(20)) FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = ?",
+                String.class, SEQUENCE.toUpperCase());
+        if (Long.parseLong(increment.trim()) != blockSize) {
+            throw new IllegalStateException("Sequence " + SEQUENCE + " increments by " + increment.trim()
+                    + " but app.account-number.block-size is " + blockSize + "; blocks would overlap");
+        }
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        String select = dialect.getSequenceSupport().getSequenceNextValString(SEQUENCE);
+        return () -> jdbcTemplate.queryForObject(select, Long.class);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.bank.onboarding.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style values: 41 bits of milliseconds since 2024-01-01, 10 bits of
+ * node id and 12 bits of per-millisecond sequence. Time and sequence live in a
+ * single AtomicLong advanced by CAS, so there is no lock; when a millisecond's
+ * 4096 values run out the generator borrows from the next one, and only spins
+ * if it gets more than {@link #MAX_DRIFT_MS} ahead of the wall clock. Drift is
+ * measured against the latest clock reading seen, so a clock stepped back by
+ * NTP keeps the sequence moving instead of stalling. Each instance needs its
+ * own {@code app.account-number.node-id}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.account-number.generator", havingValue = "snowflake")
+public class SnowflakeAccountNumberGenerator implements AccountNumberGenerator {
+
+    static final long EPOCH_MS = 1_704_067_200_000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    static final long MAX_DRIFT_MS = 1_000;
+
+    private final long node;
+    private final LongSupplier clock;
+    // (millis since epoch << SEQUENCE_BITS) | sequence of the last value handed out
+    private final AtomicLong last = new AtomicLong();
+    // latest clock reading (millis since epoch), never moves backwards
+    private final AtomicLong clockHigh = new AtomicLong();
+
+    public SnowflakeAccountNumberGenerator(@Value("${app.account-number.node-id:0}") long node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    SnowflakeAccountNumberGenerator(long node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextValue() {
+        while (true) {
+            long now = observe(clock.getAsLong() - EPOCH_MS);
+            long previous = last.get();
+            long next = Math.max(previous + 1, now << SEQUENCE_BITS);
+            if ((next >>> SEQUENCE_BITS) - now > MAX_DRIFT_MS) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (last.compareAndSet(previous, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    private long observe(long now) {
+        long high = clockHigh.get();
+        if (now <= high) {
+            return high;
+        }
+        return clockHigh.accumulateAndGet(now, Math::max);
+    }
+}
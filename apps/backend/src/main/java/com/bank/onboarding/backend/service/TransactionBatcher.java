@@ -0,0 +1,149 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.exception.BusinessException;
+import com.bank.onboarding.backend.service.TransactionEngine.AppliedBatch;
+import com.bank.onboarding.backend.service.TransactionEngine.Movement;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent deposits and withdrawals on the same account
+ * ({@code app.transactions.batching.enabled}, off by default). The first caller
+ * for an account opens a batch and waits up to {@code window}, or until
+ * {@code max-size} movements have joined, then applies all of them with
+ * {@link TransactionEngine#applyAll} under the account's lock: one row lock,
+ * one UPDATE and one batched ledger insert instead of one transaction each.
+ * Every caller still gets its own response (or its own "Fondos insuficientes")
+ * once the batch has committed. No extra threads: the caller that opened the
+ * batch applies it.
+ * <p>
+ * The trade-off is latency: a movement waits up to one window before it is
+ * applied. The {@code transactions.batch.size} summary shows how much batching
+ * a given window actually buys.
+ */
+@Component
+public class TransactionBatcher {
+
+    private final TransactionEngine transactionEngine;
+    private final AccountLocks accountLocks;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxSize;
+    private final DistributionSummary batchSizes;
+    private final ConcurrentHashMap<Long, Batch> open = new ConcurrentHashMap<>();
+
+    public TransactionBatcher(TransactionEngine transactionEngine, AccountLocks accountLocks,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.transactions.batching.enabled:false}") boolean enabled,
+                              @Value("${app.transactions.batching.window:2ms}") Duration window,
+                              @Value("${app.transactions.batching.max-size:100}") int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("app.transactions.batching.max-size must be positive: " + maxSize);
+        }
+        if (!window.isPositive()) {
+            throw new IllegalArgumentException("app.transactions.batching.window must be positive: " + window);
+        }
+        this.transactionEngine = transactionEngine;
+        this.accountLocks = accountLocks;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxSize = maxSize;
+        this.batchSizes = DistributionSummary.builder("transactions.batch.size")
+                .description("Movements applied per account batch")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AccountResponseDTO submit(Long accountId, String type, BigDecimal amount) {
+        Pending pending = new Pending(new Movement(type, amount), new CompletableFuture<>());
+        Batch[] joined = new Batch[1];
+        boolean[] leader = new boolean[1];
+        open.compute(accountId, (id, current) -> {
+            Batch batch = current != null ? current : new Batch();
+            batch.pending.add(pending);
+            joined[0] = batch;
+            leader[0] = batch.pending.size() == 1;
+            if (batch.pending.size() >= maxSize) {
+                // A full batch leaves the map so the next caller opens a new one
+                batch.full.countDown();
+                return null;
+            }
+            return batch;
+        });
+
+        if (leader[0]) {
+            lead(accountId, joined[0]);
+        }
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    private void lead(Long accountId, Batch batch) {
+        try {
+            batch.full.await(windowNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Once out of the map nobody can join, so the list is final from here on
+        open.remove(accountId, batch);
+
+        List<Pending> pending = batch.pending;
+        List<Movement> movements = new ArrayList<>(pending.size());
+        for (Pending p : pending) {
+            movements.add(p.movement);
+        }
+        try {
+            AppliedBatch applied = accountLocks.withLock(accountId,
+                    () -> transactionEngine.applyAll(accountId, movements));
+            batchSizes.record(pending.size());
+            for (int i = 0; i < pending.size(); i++) {
+                BigDecimal balance = applied.balancesAfter().get(i);
+                if (balance == null) {
+                    pending.get(i).result.completeExceptionally(new BusinessException("Fondos insuficientes"));
+                    continue;
+                }
+                AccountResponseDTO response = new AccountResponseDTO(applied.account());
+                response.setBalance(balance);
+                pending.get(i).result.complete(response);
+            }
+        } catch (Throwable e) {
+            // Every follower is blocked in join(); none may be left without an outcome
+            for (Pending p : pending) {
+                p.result.completeExceptionally(e);
+            }
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private static final class Batch {
+        private final List<Pending> pending = new ArrayList<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+    }
+
+    private record Pending(Movement movement, CompletableFuture<AccountResponseDTO> result) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.entity.AccountTransaction;
+import com.bank.onboarding.backend.exception.BusinessException;
+import com.bank.onboarding.backend.exception.ResourceNotFoundException;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.repository.AccountTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies deposits and withdrawals as a single conditional UPDATE so concurrent
+ * writers never lose updates. The row is only read afterwards: to build the
+ * response on success, or to explain why the UPDATE matched nothing. Each applied
+ * movement appends a ledger entry with the resulting balance in the same
+ * transaction, while the UPDATE still holds the row lock. Those reads always go
+ * to the database. Account is deliberately not in the second-level cache: every
+ * one of these bulk UPDATEs would empty its region.
+ */
+@Service
+public class TransactionEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionEngine.class);
+
+    private final AccountRepository accountRepository;
+    private final AccountTransactionRepository accountTransactionRepository;
+
+    public TransactionEngine(AccountRepository accountRepository,
+                             AccountTransactionRepository accountTransactionRepository) {
+        this.accountRepository = accountRepository;
+        this.accountTransactionRepository = accountTransactionRepository;
+    }
+
+    @Transactional
+    public Account apply(Long accountId, String type, BigDecimal amount) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = "DEPOSIT".equals(type)
+                ? accountRepository.deposit(accountId, amount, now)
+                : accountRepository.withdraw(accountId, amount, now);
+
+        if (updated == 0) {
+            throw rejection(accountId, amount);
+        }
+
+        Account account = accountRepository.findCurrentById(accountId)
+                .orElseThrow(() -> notFound(accountId));
+        accountTransactionRepository.save(new AccountTransaction(accountId, type, amount, account.getBalance(), now));
+        return account;
+    }
+
+    /**
+     * Applies several movements on one account in a single transaction: the row is
+     * locked once, withdrawals are checked in order against the running balance,
+     * and the final balance is written with one UPDATE plus one batched ledger
+     * insert. A rejected withdrawal does not affect the others. A missing or
+     * inactive account rejects the whole batch.
+     */
+    @Transactional
+    public AppliedBatch applyAll(Long accountId, List<Movement> movements) {
+        Account account = accountRepository.findForUpdateById(accountId)
+                .orElseThrow(() -> notFound(accountId));
+        if (!"ACTIVE".equals(account.getStatus())) {
+            throw new BusinessException("La cuenta no está activa");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BigDecimal balance = account.getBalance();
+        List<BigDecimal> balancesAfter = new ArrayList<>(movements.size());
+        List<AccountTransaction> ledger = new ArrayList<>(movements.size());
+        for (Movement movement : movements) {
+            if ("DEPOSIT".equals(movement.type())) {
+                balance = balance.add(movement.amount());
+            } else if (balance.compareTo(movement.amount()) >= 0) {
+                balance = balance.subtract(movement.amount());
+            } else {
+                log.warn("Insufficient funds for accountId={}, balance={}, amount={}", accountId, balance, movement.amount());
+                balancesAfter.add(null);
+                continue;
+            }
+            balance = balance.setScale(Account.BALANCE_SCALE, Account.BALANCE_ROUNDING);
+            balancesAfter.add(balance);
+            ledger.add(new AccountTransaction(accountId, movement.type(), movement.amount(), balance, now));
+        }
+
+        if (!ledger.isEmpty()) {
+            accountRepository.updateBalance(accountId, balance, now);
+            accountTransactionRepository.insertAll(ledger);
+            account.setBalance(balance);
+            account.setUpdatedAt(now);
+        }
+        return new AppliedBatch(account, balancesAfter);
+    }
+
+    public record Movement(String type, BigDecimal amount) {
+    }
+
+    /**
+     * The account after the batch, and the balance after each movement in input
+     * order ({@code null} where the withdrawal was rejected for insufficient funds).
+     */
+    public record AppliedBatch(Account account, List<BigDecimal> balancesAfter) {
+    }
+
+    private RuntimeException rejection(Long accountId, BigDecimal amount) {
+        Account account = accountRepository.findCurrentById(accountId).orElse(null);
+        if (account == null) {
+            return notFound(accountId);
+        }
+        if (!"ACTIVE".equals(account.getStatus())) {
+            return new BusinessException("La cuenta no está activa");
+        }
+        log.warn("Insufficient funds for accountId={}, balance={}, amount={}", accountId, account.getBalance(), amount);
+        return new BusinessException("Fondos insuficientes");
+    }
+
+    private ResourceNotFoundException notFound(Long accountId) {
+        log.warn("Account not found with id={}", accountId);
+        return new ResourceNotFoundException("Cuenta no encontrada con id: " + accountId);
+    }
+}
@@ -0,0 +1,104 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.TransactionDTO;
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One hot account and 10k cold ones. In the {@code mixed} group 24 threads
+ * deposit into the hot account while 8 threads deposit into random cold
+ * accounts, so JMH reports the latency of each side separately. With
+ * {@code accountLocks=false} hot requests wait on the row lock while holding a
+ * pooled connection (10 by default), and cold requests queue behind them for
+ * connections; with {@code true} they wait in AccountLocks without one. The
+ * tear-down prints requests that failed (lock or connection timeouts).
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=AccountContentionBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class AccountContentionBenchmark {
+
+    private static final int COLD_ACCOUNTS = 10_000;
+    private static final TransactionDTO DEPOSIT = new TransactionDTO("DEPOSIT", new BigDecimal("1.00"));
+
+    @Param({"true", "false"})
+    public boolean accountLocks;
+
+    private final LongAdder failures = new LongAdder();
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private Long hotAccount;
+    private long[] coldAccounts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("app.transactions.account-locks.enabled=" + accountLocks);
+        accountService = context.getBean(AccountService.class);
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        hotAccount = accountRepository.save(new Account(0L, "ACC-HOT-0", "ACTIVE")).getId();
+        coldAccounts = new long[COLD_ACCOUNTS];
+        for (int from = 0; from < COLD_ACCOUNTS; from += 1_000) {
+            int start = from;
+            List<Account> chunk = transactionTemplate.execute(status -> {
+                List<Account> accounts = new ArrayList<>(1_000);
+                for (int i = start; i < start + 1_000; i++) {
+                    accounts.add(new Account(i + 1L, "ACC-COLD-" + i, "ACTIVE"));
+                }
+                return accountRepository.saveAll(accounts);
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                coldAccounts[start + i] = chunk.get(i).getId();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[accountLocks=%s] failed requests=%d%n", accountLocks, failures.sum());
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(24)
+    public AccountResponseDTO hot() {
+        return deposit(hotAccount);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(8)
+    public AccountResponseDTO cold() {
+        return deposit(coldAccounts[ThreadLocalRandom.current().nextInt(COLD_ACCOUNTS)]);
+    }
+
+    private AccountResponseDTO deposit(long accountId) {
+        try {
+            return accountService.transaction(accountId, DEPOSIT);
+        } catch (RuntimeException e) {
+            failures.increment();
+            return null;
+        }
+    }
+}
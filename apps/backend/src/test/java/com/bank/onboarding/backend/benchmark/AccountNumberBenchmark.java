@@ -0,0 +1,51 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.service.AccountNumberGenerator;
+import com.bank.onboarding.backend.service.SnowflakeAccountNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account number generation from 8 threads. {@code sequence} is the configured
+ * generator (one DB round trip per {@code app.account-number.block-size}
+ * numbers); {@code snowflake} never leaves the JVM.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=AccountNumberBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(8)
+public class AccountNumberBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AccountNumberGenerator sequence;
+    private AccountNumberGenerator snowflake;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("app.account-number.generator=sequence");
+        sequence = context.getBean(AccountNumberGenerator.class);
+        snowflake = new SnowflakeAccountNumberGenerator(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String sequence() {
+        return sequence.next();
+    }
+
+    @Benchmark
+    public String snowflake() {
+        return snowflake.next();
+    }
+}
@@ -0,0 +1,85 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.TransactionDTO;
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.service.AccountService;
+import com.bank.onboarding.backend.service.TransactionEngine;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 64 writers depositing into one account. {@code readModifyWrite} reproduces the
+ * previous findById + save flow; the tear-down prints how many deposits it lost.
+ * {@code accountService} is the request path: per-account lock, engine, response DTO.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=AccountTransactionBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(64)
+public class AccountTransactionBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final TransactionDTO DEPOSIT = new TransactionDTO("DEPOSIT", AMOUNT);
+
+    private ConfigurableApplicationContext context;
+    private TransactionEngine transactionEngine;
+    private AccountService accountService;
+    private AccountRepository accountRepository;
+    private TransactionTemplate transactionTemplate;
+    private Long accountId;
+    private final AtomicLong applied = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        transactionEngine = context.getBean(TransactionEngine.class);
+        accountService = context.getBean(AccountService.class);
+        accountRepository = context.getBean(AccountRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        accountId = accountRepository.save(new Account(1L, "ACC-BENCH-0001", "ACTIVE")).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BigDecimal balance = accountRepository.findById(accountId).orElseThrow().getBalance();
+        long persisted = balance.longValue();
+        System.out.printf("%n[balance] applied=%d persisted=%d lost=%d%n", applied.get(), persisted, applied.get() - persisted);
+        context.close();
+    }
+
+    @Benchmark
+    public void conditionalUpdate() {
+        transactionEngine.apply(accountId, "DEPOSIT", AMOUNT);
+        applied.incrementAndGet();
+    }
+
+    @Benchmark
+    public AccountResponseDTO accountService() {
+        AccountResponseDTO response = accountService.transaction(accountId, DEPOSIT);
+        applied.incrementAndGet();
+        return response;
+    }
+
+    @Benchmark
+    public void readModifyWrite() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Account account = accountRepository.findById(accountId).orElseThrow();
+            account.setBalance(account.getBalance().add(AMOUNT));
+            accountRepository.save(account);
+        });
+        applied.incrementAndGet();
+    }
+}
@@ -0,0 +1,60 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.BackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return builder(properties).web(WebApplicationType.NONE).run();
+    }
+
+    static SpringApplicationBuilder builder(String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "logging.level.root=WARN",
+                "logging.level.com.bank.onboarding=WARN",
+                "spring.main.banner-mode=off"));
+        all.addAll(List.of(properties));
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        for (String property : all) {
+            int split = property.indexOf('=');
+            overrides.put(property.substring(0, split), property.substring(split + 1));
+        }
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .listeners(new Overrides(overrides));
+    }
+
+    /**
+     * Puts the benchmark's properties ahead of application.properties. Builder
+     * "default properties" rank below it, so any key also set there was ignored.
+     */
+    private record Overrides(Map<String, Object> properties)
+            implements ApplicationListener<ApplicationEnvironmentPreparedEvent>, Ordered {
+
+        @Override
+        public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+            event.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.config.BlindIndexService;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duplicate-check latency through the blind index columns with 1M customers loaded.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=BlindIndexLookupBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BlindIndexLookupBenchmark {
+
+    private static final int INSERT_BATCH = 10_000;
+
+    @Param({"1000000"})
+    public int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private BlindIndexService blindIndexService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        customerRepository = context.getBean(CustomerRepository.class);
+        blindIndexService = context.getBean(BlindIndexService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        // PII columns are not read by the lookup, so a constant ciphertext keeps setup fast.
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < customers; i++) {
+            batch.add(new Object[]{
+                    blindIndexService.index(document(i)),
+                    blindIndexService.index(email(i))});
+            if (batch.size() == INSERT_BATCH || i == customers - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO customers (id, document_type, document_number, full_name, email, " +
+                        "document_number_bidx, email_bidx, created_at, updated_at) " +
+                        "VALUES (NEXT VALUE FOR customers_seq, 'CC', 'x', 'x', 'x', ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean existsByDocumentNumber_hit() {
+        return customerRepository.existsByDocumentNumberIndex(
+                blindIndexService.index(document(ThreadLocalRandom.current().nextInt(customers))));
+    }
+
+    @Benchmark
+    public boolean existsByEmail_miss() {
+        return customerRepository.existsByEmailIndex(
+                blindIndexService.index("missing-" + ThreadLocalRandom.current().nextInt() + "@test.com"));
+    }
+
+    @Benchmark
+    public String indexOnly() {
+        return blindIndexService.index(document(ThreadLocalRandom.current().nextInt(customers)));
+    }
+
+    private static String document(int i) {
+        return "DOC-" + i;
+    }
+
+    private static String email(int i) {
+        return "customer" + i + "@test.com";
+    }
+}
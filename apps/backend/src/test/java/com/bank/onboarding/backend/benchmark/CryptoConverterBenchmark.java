@@ -0,0 +1,51 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.config.CryptoConverter;
+import com.bank.onboarding.backend.config.EncryptionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What Hibernate pays per encrypted column: {@link CryptoConverter} on write,
+ * on read, and both (a row that is loaded and then saved again).
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=CryptoConverterBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CryptoConverterBenchmark {
+
+    @Param({"juan.perez@example.com", "Juan Carlos Perez Gonzalez"})
+    public String value;
+
+    private CryptoConverter converter;
+    private String column;
+
+    @Setup
+    public void setUp() throws Exception {
+        converter = new CryptoConverter();
+        converter.setEncryptionService(new EncryptionService("benchmark-encryption-key"));
+        column = converter.convertToDatabaseColumn(value);
+    }
+
+    @Benchmark
+    public String toDatabaseColumn() {
+        return converter.convertToDatabaseColumn(value);
+    }
+
+    @Benchmark
+    public String toEntityAttribute() {
+        return converter.convertToEntityAttribute(column);
+    }
+
+    @Benchmark
+    public String roundTrip() {
+        return converter.convertToEntityAttribute(converter.convertToDatabaseColumn(value));
+    }
+}
@@ -0,0 +1,73 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import com.bank.onboarding.backend.dto.CustomerBatchResultDTO;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.service.CustomerBatchService;
+import com.bank.onboarding.backend.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall time to onboard a 100k-customer file: the batch endpoint's service
+ * against one {@code createCustomer} call per record.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=CustomerBatchImportBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CustomerBatchImportBenchmark {
+
+    @Param({"100000"})
+    public int records;
+
+    private ConfigurableApplicationContext context;
+    private CustomerBatchService customerBatchService;
+    private CustomerService customerService;
+    private List<CustomerBatchRecord> batch;
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        customerBatchService = context.getBean(CustomerBatchService.class);
+        customerService = context.getBean(CustomerService.class);
+    }
+
+    // Every iteration imports customers that do not exist yet.
+    @Setup(Level.Iteration)
+    public void prepareFile() {
+        round++;
+        batch = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            batch.add(CustomerBatchRecord.of(i + 1, new CustomerCreateDTO("CC", "R" + round + "-" + i,
+                    "Cliente " + i, "r" + round + "-" + i + "@test.com")));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerBatchResultDTO batchImport() {
+        return customerBatchService.importCustomers(batch.iterator());
+    }
+
+    @Benchmark
+    public int oneRequestPerCustomer() {
+        for (CustomerBatchRecord record : batch) {
+            customerService.createCustomer(record.getCustomer());
+        }
+        return batch.size();
+    }
+}
@@ -0,0 +1,91 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.dto.CustomerResponseDTO;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import com.bank.onboarding.backend.service.CustomerBatchService;
+import com.bank.onboarding.backend.service.CustomerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET-by-id latency with 80% of lookups going to 20% of the customers.
+ * {@code uncached} is the previous path (query + three decrypts per call);
+ * {@code cached} goes through CustomerCache, sized for the hot set plus some
+ * headroom (a quarter of the key space), so tail keys mostly miss. The
+ * tear-down prints the cache hit rate.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=CustomerCacheBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(8)
+public class CustomerCacheBenchmark {
+
+    private static final int CUSTOMERS = 20_000;
+    private static final int HOT = CUSTOMERS / 5;
+
+    @Param({"5000"})
+    public int cacheSize;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private CustomerRepository customerRepository;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("app.customers.cache.max-size=" + cacheSize);
+        customerService = context.getBean(CustomerService.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+
+        List<CustomerBatchRecord> records = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            records.add(CustomerBatchRecord.of(i + 1,
+                    new CustomerCreateDTO("CC", "HOT-" + i, "Cliente " + i, "hot" + i + "@test.com")));
+        }
+        context.getBean(CustomerBatchService.class).importCustomers(records.iterator());
+        ids = context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM customers ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        double hits = registry.get("cache.gets").tags("cache", "customers", "result", "hit").functionCounter().count();
+        double misses = registry.get("cache.gets").tags("cache", "customers", "result", "miss").functionCounter().count();
+        if (hits + misses > 0) {
+            System.out.printf("%n[customers cache] size=%d hitRate=%.3f%n", cacheSize, hits / (hits + misses));
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponseDTO cached() {
+        return customerService.getCustomerById(nextId());
+    }
+
+    @Benchmark
+    public CustomerResponseDTO uncached() {
+        return new CustomerResponseDTO(customerRepository.findById(nextId()).orElseThrow());
+    }
+
+    private long nextId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(10) < 8 ? random.nextInt(HOT) : HOT + random.nextInt(CUSTOMERS - HOT);
+        return ids[index];
+    }
+}
@@ -0,0 +1,78 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.dto.CustomerResponseDTO;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.service.CustomerBatchService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk read of a 500-row customer page (one query, one persistence context)
+ * with {@code app.encryption.lazy-pii} off and on. {@code idsOnly} reads
+ * id and document type only, like code that loads customers for a join or a
+ * check; {@code allFields} maps every row to a {@link CustomerResponseDTO},
+ * so it pays for all three decrypts in both modes.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=CustomerHydrationBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CustomerHydrationBenchmark {
+
+    private static final int CUSTOMERS = 5_000;
+    private static final int PAGE = 500;
+
+    @Param({"false", "true"})
+    public boolean lazyPii;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("app.encryption.lazy-pii=" + lazyPii, "app.customers.search.enabled=false");
+        entityManager = context.getBean(EntityManager.class);
+
+        List<CustomerBatchRecord> records = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            records.add(CustomerBatchRecord.of(i + 1,
+                    new CustomerCreateDTO("CC", "HYD-" + i, "Cliente Hidratado " + i, "hyd" + i + "@test.com")));
+        }
+        context.getBean(CustomerBatchService.class).importCustomers(records.iterator());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long idsOnly() {
+        long sum = 0;
+        for (Customer customer : page()) {
+            sum += customer.getId() + customer.getDocumentType().length();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> allFields() {
+        return page().stream().map(CustomerResponseDTO::new).toList();
+    }
+
+    private List<Customer> page() {
+        return entityManager.createQuery("SELECT c FROM Customer c ORDER BY c.id", Customer.class)
+                .setMaxResults(PAGE).getResultList();
+    }
+}
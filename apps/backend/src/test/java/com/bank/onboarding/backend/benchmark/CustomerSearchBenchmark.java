@@ -0,0 +1,108 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.service.CustomerSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of {@link CustomerSearchIndex} holding 1M customers, a page
+ * of 100 candidates per call, from 8 threads. Names are two or three words
+ * drawn from small Spanish first-name/surname pools, so short prefixes hit
+ * hundreds of thousands of ids: {@code namePrefix} is a selective prefix,
+ * {@code broadPrefix} a two-letter one (union of many words), {@code domain}
+ * and {@code documentType} single keys, {@code combined} all three criteria.
+ * The index is filled as the startup scan does (four partials merged), without
+ * a database. Set-up prints the retained heap (after GC) next to the index's
+ * own estimate.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=CustomerSearchBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(8)
+public class CustomerSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+            "Ana", "Andres", "Camila", "Carlos", "Daniela", "David", "Diana", "Diego", "Elena", "Felipe",
+            "Fernando", "Gabriela", "Jorge", "Jose", "Juan", "Julian", "Laura", "Lucia", "Luis", "Manuel",
+            "Maria", "Mariana", "Mario", "Marta", "Natalia", "Nicolas", "Pablo", "Paula", "Pedro", "Ricardo",
+            "Rosa", "Santiago", "Sara", "Sebastian", "Sofia", "Valentina", "Valeria", "Victor", "Ximena", "Yolanda"};
+    private static final String[] SURNAMES = {
+            "Alvarez", "Castro", "Diaz", "Fernandez", "Garcia", "Gomez", "Gonzalez", "Gutierrez", "Hernandez",
+            "Herrera", "Jimenez", "Lopez", "Martinez", "Medina", "Mendoza", "Moreno", "Munoz", "Navarro",
+            "Ortiz", "Perez", "Quintero", "Ramirez", "Ramos", "Rios", "Rodriguez", "Rojas", "Romero", "Ruiz",
+            "Sanchez", "Silva", "Suarez", "Torres", "Vargas", "Vega", "Zapata"};
+    private static final String[] DOMAINS = {
+            "gmail.com", "hotmail.com", "outlook.com", "yahoo.com", "icloud.com", "banco.com.co", "empresa.co",
+            "correo.com", "universidad.edu.co", "proton.me"};
+    private static final String[] DOCUMENT_TYPES = {"CC", "CC", "CC", "CE", "PAS"};
+    private static final int SLICES = 4;
+
+    @Param({"1000000"})
+    public int customers;
+
+    @Param({"namePrefix", "broadPrefix", "domain", "documentType", "combined"})
+    public String query;
+
+    private CustomerSearchIndex index;
+    private CustomerSearchIndex.Query search;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = retainedHeap(memory);
+
+        index = new CustomerSearchIndex(true);
+        SplittableRandom random = new SplittableRandom(42);
+        int perSlice = (customers + SLICES - 1) / SLICES;
+        long started = System.nanoTime();
+        for (int slice = 0; slice < SLICES; slice++) {
+            CustomerSearchIndex.Partial partial = new CustomerSearchIndex.Partial();
+            for (int id = slice * perSlice + 1; id <= Math.min(customers, (slice + 1) * perSlice); id++) {
+                String name = pick(random, FIRST_NAMES)
+                        + (random.nextInt(3) == 0 ? " " + pick(random, FIRST_NAMES) : "")
+                        + " " + pick(random, SURNAMES) + " " + pick(random, SURNAMES);
+                partial.add(id, pick(random, DOCUMENT_TYPES), name, "c" + id + "@" + pick(random, DOMAINS));
+            }
+            index.merge(partial);
+        }
+        long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        long after = retainedHeap(memory);
+        CustomerSearchIndex.Stats stats = index.stats();
+        System.out.printf("%n%d customers: built in %d ms, keys=%d, ids=%d, estimated=%d MB, retained heap=%d MB%n",
+                customers, buildMillis, stats.keys(), stats.ids(), stats.bytes() >> 20, (after - before) >> 20);
+
+        search = switch (query) {
+            case "namePrefix" -> CustomerSearchIndex.Query.of("quint", null, null);
+            case "broadPrefix" -> CustomerSearchIndex.Query.of("ma", null, null);
+            case "domain" -> CustomerSearchIndex.Query.of(null, "proton.me", null);
+            case "documentType" -> CustomerSearchIndex.Query.of(null, null, "PAS");
+            default -> CustomerSearchIndex.Query.of("val ro", "gmail.com", "CE");
+        };
+    }
+
+    @Benchmark
+    public long[] search() {
+        return index.search(search, 0, 100);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static long retainedHeap(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,104 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.config.EncryptionService;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooled {@link EncryptionService} against a copy of the previous implementation
+ * (Cipher.getInstance + init and fresh buffers on every call). Run with the GC
+ * profiler to get bytes allocated per op ({@code gc.alloc.rate.norm}):
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=EncryptionBenchmark -Djmh.args="-prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class EncryptionBenchmark {
+
+    private static final String KEY = "benchmark-encryption-key";
+
+    @Param({"juan.perez@example.com"})
+    public String plaintext;
+
+    private EncryptionService encryptionService;
+    private BaselineEncryption baseline;
+    private String ciphertext;
+
+    @Setup
+    public void setUp() throws Exception {
+        encryptionService = new EncryptionService(KEY);
+        baseline = new BaselineEncryption(KEY);
+        ciphertext = encryptionService.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public String pooledEncrypt() {
+        return encryptionService.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public String pooledDecrypt() {
+        return encryptionService.decrypt(ciphertext);
+    }
+
+    @Benchmark
+    public String baselineEncrypt() {
+        return baseline.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public String baselineDecrypt() {
+        return baseline.decrypt(ciphertext);
+    }
+
+    static final class BaselineEncryption {
+
+        private final SecretKeySpec keySpec;
+        private final SecureRandom random = new SecureRandom();
+
+        BaselineEncryption(String key) throws Exception {
+            byte[] keyHash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            this.keySpec = new SecretKeySpec(keyHash, "AES");
+        }
+
+        String encrypt(String data) {
+            try {
+                byte[] iv = new byte[16];
+                random.nextBytes(iv);
+                Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+                cipher.init(Cipher.ENCRYPT_MODE, keySpec, new IvParameterSpec(iv));
+                byte[] encrypted = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+                byte[] payload = Arrays.copyOf(iv, 16 + encrypted.length);
+                System.arraycopy(encrypted, 0, payload, 16, encrypted.length);
+                return "v2:" + Base64.getEncoder().encodeToString(payload);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        String decrypt(String encryptedData) {
+            try {
+                byte[] payload = Base64.getDecoder().decode(encryptedData.substring(3));
+                Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+                cipher.init(Cipher.DECRYPT_MODE, keySpec, new IvParameterSpec(payload, 0, 16));
+                return new String(cipher.doFinal(payload, 16, payload.length - 16), StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.service.ReadinessProbe;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Cost of one probe, dispatched through MockMvc over the full application
+ * context (handler mapping, message conversion; no servlet container or
+ * filters): {@code actuatorHealth} runs every health indicator, as the Docker
+ * health check used to; {@code previousHealth} is the old {@code /api/health},
+ * which built a map and serialized it per call; {@code health}, {@code live}
+ * and {@code ready} are the current endpoints, which return bytes prepared by
+ * {@link ReadinessProbe}. Run with the GC profiler for bytes allocated per
+ * probe ({@code gc.alloc.rate.norm}):
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=HealthProbeBenchmark -Djmh.args="-prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class HealthProbeBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.builder("server.port=0", "app.customers.search.enabled=false")
+                .web(WebApplicationType.SERVLET)
+                .run();
+        context.getBean(ReadinessProbe.class).check();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult actuatorHealth() throws Exception {
+        return mockMvc.perform(get("/actuator/health")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult previousHealth() throws Exception {
+        return mockMvc.perform(get("/benchmark/previous-health")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult health() throws Exception {
+        return mockMvc.perform(get("/api/health")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult live() throws Exception {
+        return mockMvc.perform(get("/api/health/live")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult ready() throws Exception {
+        return mockMvc.perform(get("/api/health/ready")).andReturn();
+    }
+
+    // Picked up by component scanning, like any controller on the test classpath
+    @RestController
+    static class PreviousHealthController {
+
+        @GetMapping("/benchmark/previous-health")
+        ResponseEntity<Map<String, Object>> health() {
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "ok");
+            response.put("message", "Server is running");
+            response.put("timestamp", LocalDateTime.now());
+            response.put("service", "Bank Onboarding API");
+            response.put("version", "1.0.0");
+            return ResponseEntity.ok(response);
+        }
+    }
+}
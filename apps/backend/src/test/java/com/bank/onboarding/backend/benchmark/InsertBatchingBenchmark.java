@@ -0,0 +1,100 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import com.bank.onboarding.backend.dto.CustomerBatchResultDTO;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.service.CustomerBatchService;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows inserted per second with JDBC batching off ({@code batchSize=1}) and on,
+ * for customer onboarding and account creation. {@code postgres} is the local
+ * stand-in for a networked database: H2 in PostgreSQL mode behind its TCP
+ * server, so every statement pays a loopback round trip.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=InsertBatchingBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InsertBatchingBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({"h2", "postgres"})
+    public String database;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private CustomerBatchService customerBatchService;
+    private AccountRepository accountRepository;
+    private TransactionTemplate transactionTemplate;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String name = "mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        String url = "jdbc:h2:" + name;
+        if ("postgres".equals(database)) {
+            server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/" + name
+                    + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+        }
+        context = BenchmarkContext.start(
+                "spring.datasource.url=" + url,
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "app.customers.batch.chunk-size=" + ROWS);
+        customerBatchService = context.getBean(CustomerBatchService.class);
+        accountRepository = context.getBean(AccountRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public CustomerBatchResultDTO customerOnboarding() {
+        List<CustomerBatchRecord> records = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long n = sequence++;
+            records.add(CustomerBatchRecord.of(i + 1,
+                    new CustomerCreateDTO("CC", "DOC-" + n, "Cliente " + n, "c" + n + "@test.com")));
+        }
+        return customerBatchService.importCustomers(records.iterator());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Account> accountCreation() {
+        List<Account> accounts = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long n = sequence++;
+            accounts.add(new Account(n, "ACC-" + n, "ACTIVE"));
+        }
+        return transactionTemplate.execute(status -> accountRepository.saveAll(accounts));
+    }
+}
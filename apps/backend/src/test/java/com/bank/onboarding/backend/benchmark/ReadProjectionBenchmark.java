@@ -0,0 +1,106 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.dto.CustomerResponseDTO;
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import com.bank.onboarding.backend.service.CustomerBatchService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One 100k-row read of accounts or customers inside a transaction, the way a
+ * list or export request runs with the persistence context open: {@code entities}
+ * loads managed entities and copies them into response DTOs (the previous read
+ * path), {@code projection} runs the {@code findResponses} constructor query.
+ * Both decrypt the same columns. Run with the GC profiler for bytes allocated
+ * per read ({@code gc.alloc.rate.norm}):
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=ReadProjectionBenchmark -Djmh.args="-prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReadProjectionBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int CHUNK = 1_000;
+
+    @Param({"accounts", "customers"})
+    public String table;
+
+    private ConfigurableApplicationContext context;
+    private AccountRepository accountRepository;
+    private CustomerRepository customerRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("app.customers.search.enabled=false");
+        accountRepository = context.getBean(AccountRepository.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        List<CustomerBatchRecord> records = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            records.add(CustomerBatchRecord.of(i + 1,
+                    new CustomerCreateDTO("CC", "PRJ-" + i, "Cliente Proyeccion " + i, "prj" + i + "@test.com")));
+        }
+        context.getBean(CustomerBatchService.class).importCustomers(records.iterator());
+
+        if ("accounts".equals(table)) {
+            List<Long> customerIds = context.getBean(JdbcTemplate.class)
+                    .queryForList("SELECT id FROM customers ORDER BY id", Long.class);
+            for (int from = 0; from < customerIds.size(); from += CHUNK) {
+                List<Long> chunk = customerIds.subList(from, Math.min(customerIds.size(), from + CHUNK));
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Long customerId : chunk) {
+                        entityManager.persist(new Account(customerId, "ACC-PRJ-" + customerId, "ACTIVE"));
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<?> entities() {
+        return transactionTemplate.execute(status -> "accounts".equals(table)
+                ? entityManager.createQuery("SELECT a FROM Account a WHERE a.id > :afterId ORDER BY a.id", Account.class)
+                        .setParameter("afterId", 0L).setMaxResults(ROWS).getResultStream()
+                        .map(AccountResponseDTO::new).toList()
+                : entityManager.createQuery("SELECT c FROM Customer c WHERE c.id > :afterId ORDER BY c.id", Customer.class)
+                        .setParameter("afterId", 0L).setMaxResults(ROWS).getResultStream()
+                        .map(CustomerResponseDTO::new).toList());
+    }
+
+    @Benchmark
+    public List<?> projection() {
+        return transactionTemplate.execute(status -> "accounts".equals(table)
+                ? accountRepository.findResponses(0L, Limit.of(ROWS))
+                : customerRepository.findResponses(0L, Limit.of(ROWS)));
+    }
+}
@@ -0,0 +1,117 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.exception.BusinessException;
+import com.bank.onboarding.backend.exception.GlobalExceptionHandler;
+import com.bank.onboarding.backend.exception.ResourceNotFoundException;
+import jakarta.validation.Valid;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Throughput of requests that end in {@link GlobalExceptionHandler}: a 404
+ * from {@link ResourceNotFoundException}, a 400 from {@link BusinessException}
+ * a 400 from bean validation and a 503 for a busy database (a body serialized
+ * once at startup), each dispatched through MockMvc (handler
+ * mapping, argument resolution, exception resolution, JSON body) from a
+ * controller that throws a few frames down, as a service would. No servlet
+ * container or filters, so real stacks are deeper than here.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=RejectedRequestBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(4)
+public class RejectedRequestBenchmark {
+
+    private static final byte[] INVALID_CUSTOMER =
+            "{\"documentType\":\"XX\",\"documentNumber\":\"\",\"fullName\":\"\",\"email\":\"not-an-email\"}".getBytes();
+
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new RejectingController())
+                .setControllerAdvice(new GlobalExceptionHandler(JsonMapper.builder().build()))
+                .build();
+    }
+
+    @Benchmark
+    public MvcResult notFound() throws Exception {
+        return mockMvc.perform(get("/customers/42")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult businessRule() throws Exception {
+        return mockMvc.perform(post("/customers/42/accounts")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult validation() throws Exception {
+        return mockMvc.perform(post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(INVALID_CUSTOMER)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult databaseBusy() throws Exception {
+        return mockMvc.perform(get("/customers")).andReturn();
+    }
+
+    @RestController
+    static class RejectingController {
+
+        @GetMapping("/customers")
+        Object list() {
+            throw new DataAccessResourceFailureException("Connection is not available, request timed out");
+        }
+
+        @GetMapping("/customers/{id}")
+        Object find(@PathVariable Long id) {
+            return lookup(id, 3);
+        }
+
+        @PostMapping("/customers/{id}/accounts")
+        Object open(@PathVariable Long id) {
+            return ensureNoAccount(id, 3);
+        }
+
+        @PostMapping("/customers")
+        Object create(@Valid @RequestBody CustomerCreateDTO dto) {
+            return dto;
+        }
+
+        private Object lookup(Long id, int depth) {
+            if (depth > 0) {
+                return lookup(id, depth - 1);
+            }
+            throw new ResourceNotFoundException("Cliente no encontrado con id: " + id);
+        }
+
+        private Object ensureNoAccount(Long id, int depth) {
+            if (depth > 0) {
+                return ensureNoAccount(id, depth - 1);
+            }
+            throw new BusinessException("El cliente con id " + id + " ya tiene una cuenta asociada");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.config.RequestIdFilter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link RequestIdFilter} per request from 8 threads, with an empty
+ * filter chain. {@code source} selects where the id comes from: generated,
+ * an incoming {@code X-Request-Id} or a {@code traceparent}. {@code uuid}
+ * replays what the filter used to do ({@code UUID.randomUUID()}, substring,
+ * {@code MDC.clear()}) as the baseline.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=RequestIdFilterBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(8)
+public class RequestIdFilterBenchmark {
+
+    private static final FilterChain EMPTY_CHAIN = (request, response) -> { };
+
+    @State(Scope.Benchmark)
+    public static class Filter {
+
+        final RequestIdFilter filter = new RequestIdFilter(-1);
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        @Param({"generated", "header", "traceparent"})
+        public String source;
+
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            request = new MockHttpServletRequest("GET", "/api/customers/1");
+            response = new MockHttpServletResponse();
+            switch (source) {
+                case "header" -> request.addHeader(RequestIdFilter.HEADER, "gateway-7f3a9c2e");
+                case "traceparent" -> request.addHeader("traceparent",
+                        "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+                default -> { }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Plain {
+
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers/1");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object filter(Filter filter, Exchange exchange) throws Exception {
+        filter.filter.doFilter(exchange.request, exchange.response, EMPTY_CHAIN);
+        return exchange.response;
+    }
+
+    @Benchmark
+    public Object uuid(Plain plain) throws Exception {
+        String requestId = UUID.randomUUID().toString().substring(0, 8);
+        MDC.put("requestId", requestId);
+        plain.response.setHeader(RequestIdFilter.HEADER, requestId);
+        try {
+            EMPTY_CHAIN.doFilter(plain.request, plain.response);
+        } finally {
+            MDC.clear();
+        }
+        return plain.response;
+    }
+}
@@ -0,0 +1,96 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.CustomerResponseDTO;
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.entity.Customer;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building response DTOs from (already decrypted) entities, and writing a list
+ * page as JSON the way the controllers return it. {@code size} is the page
+ * size: the default and the maximum of {@code app.pagination.*}.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=ResponseMappingBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private Account account;
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        account = new Account(1L, "ACC-0000001000-3", "ACTIVE");
+        account.setId(1L);
+        account.setBalance(new BigDecimal("1520.75"));
+        account.setCreatedAt(now);
+        account.setUpdatedAt(now);
+        customer = new Customer("CC", "1020304050", "Juan Carlos Perez", "juan.perez@example.com");
+        customer.setId(1L);
+        customer.setCreatedAt(now);
+        customer.setUpdatedAt(now);
+    }
+
+    @Benchmark
+    public AccountResponseDTO accountResponse() {
+        return new AccountResponseDTO(account);
+    }
+
+    @Benchmark
+    public CustomerResponseDTO customerResponse() {
+        return new CustomerResponseDTO(customer);
+    }
+
+    @Benchmark
+    public byte[] accountListJson(Page page) {
+        return page.accountListWriter.writeValueAsBytes(page.accounts);
+    }
+
+    @Benchmark
+    public byte[] customerListJson(Page page) {
+        return page.customerListWriter.writeValueAsBytes(page.customers);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        @Param({"100", "500"})
+        public int size;
+
+        private List<AccountResponseDTO> accounts;
+        private List<CustomerResponseDTO> customers;
+        private ObjectWriter accountListWriter;
+        private ObjectWriter customerListWriter;
+
+        @Setup
+        public void setUp(ResponseMappingBenchmark benchmark) {
+            accounts = new ArrayList<>(size);
+            customers = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                accounts.add(new AccountResponseDTO(benchmark.account));
+                customers.add(new CustomerResponseDTO(benchmark.customer));
+            }
+            JsonMapper mapper = JsonMapper.builder().build();
+            accountListWriter = mapper.writerFor(new TypeReference<List<AccountResponseDTO>>() {
+            });
+            customerListWriter = mapper.writerFor(new TypeReference<List<CustomerResponseDTO>>() {
+            });
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.dto.AccountCreateDTO;
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.exception.BusinessException;
+import com.bank.onboarding.backend.service.AccountService;
+import com.bank.onboarding.backend.service.CustomerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The create-account flow with the Hibernate second-level cache on and off.
+ * {@code onboard} is POST /customers followed by POST /accounts for the new
+ * customer; {@code duplicate} is POST /accounts for a customer that already has
+ * one (both existence checks, then the rejection). Only Customer is cached: the
+ * customer check can be answered in memory, the account check is always a
+ * query. The tear-down prints the JDBC statements prepared per operation from
+ * Hibernate's statistics.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=SecondLevelCacheBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class SecondLevelCacheBenchmark {
+
+    private static final int EXISTING = 1_000;
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder operations = new LongAdder();
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private AccountService accountService;
+    private Statistics statistics;
+    private long[] existing;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        customerService = context.getBean(CustomerService.class);
+        accountService = context.getBean(AccountService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        existing = new long[EXISTING];
+        for (int i = 0; i < EXISTING; i++) {
+            existing[i] = onboard().getCustomerId();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        operations.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatistics() {
+        long ops = operations.sum();
+        if (ops > 0) {
+            System.out.printf("%n[l2=%s] statements/op=%.2f l2 hits/op=%.2f%n",
+                    secondLevelCache,
+                    (double) statistics.getPrepareStatementCount() / ops,
+                    (double) statistics.getSecondLevelCacheHitCount() / ops);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountResponseDTO onboard() {
+        long n = sequence.incrementAndGet();
+        Long customerId = customerService.createCustomer(
+                new CustomerCreateDTO("CC", "L2-" + n, "Cliente " + n, "l2-" + n + "@test.com")).getId();
+        AccountResponseDTO account = accountService.createAccount(new AccountCreateDTO(customerId));
+        operations.increment();
+        return account;
+    }
+
+    @Benchmark
+    public String duplicate() {
+        long customerId = existing[ThreadLocalRandom.current().nextInt(EXISTING)];
+        try {
+            accountService.createAccount(new AccountCreateDTO(customerId));
+            throw new IllegalStateException("customer " + customerId + " got a second account");
+        } catch (BusinessException expected) {
+            operations.increment();
+            return expected.getMessage();
+        }
+    }
+}
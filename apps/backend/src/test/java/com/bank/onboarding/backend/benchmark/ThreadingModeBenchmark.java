@@ -0,0 +1,141 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.dto.AccountCreateDTO;
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import com.bank.onboarding.backend.service.AccountService;
+import com.bank.onboarding.backend.service.CustomerBatchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Request latency over HTTP with 400 concurrent clients, Tomcat on its default
+ * platform pool (200 threads) vs the {@code virtual} profile, same heap. The
+ * database is H2 behind its TCP server so each query blocks on a loopback round
+ * trip. Read p99 from the {@code p0.99} line; the tear-down prints the highest
+ * number of requests the server had in flight at once and, for virtual threads,
+ * how many pinning events the monitor reported.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=ThreadingModeBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Threads(400)
+public class ThreadingModeBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private final InFlightFilter inFlight = new InFlightFilter();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<Long> customerIds = new ArrayList<>();
+    private final List<Long> accountIds = new ArrayList<>();
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        String name = "mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        boolean virtual = "virtual".equals(threads);
+        context = BenchmarkContext.builder(
+                        "spring.datasource.url=jdbc:h2:tcp://localhost:" + server.getPort() + "/" + name,
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "app.threads.pinning-monitor.enabled=" + virtual,
+                        "server.port=0")
+                .web(WebApplicationType.SERVLET)
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("inFlightFilter", inFlight))
+                .run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+        List<CustomerBatchRecord> records = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            records.add(CustomerBatchRecord.of(i + 1,
+                    new CustomerCreateDTO("CC", "LOAD-" + i, "Cliente " + i, "load" + i + "@test.com")));
+        }
+        context.getBean(CustomerBatchService.class).importCustomers(records.iterator());
+        AccountService accountService = context.getBean(AccountService.class);
+        context.getBean(CustomerRepository.class).findAll().forEach(c -> {
+            customerIds.add(c.getId());
+            accountIds.add(accountService.createAccount(new AccountCreateDTO(c.getId())).getId());
+        });
+        inFlight.max.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        double pinned = context.getBean(MeterRegistry.class).counter("jvm.threads.virtual.pinned").count();
+        System.out.printf("%n[%s] max in-flight requests=%d pinned=%d%n", threads, inFlight.max.get(), (long) pinned);
+        context.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public int getCustomer() throws Exception {
+        long id = customerIds.get(ThreadLocalRandom.current().nextInt(customerIds.size()));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/customers/" + id)).GET().build());
+    }
+
+    @Benchmark
+    public int deposit() throws Exception {
+        long id = accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts/" + id + "/transaction"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"type\":\"DEPOSIT\",\"amount\":1.00}"))
+                .build());
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("HTTP " + status + " for " + request.uri());
+        }
+        return status;
+    }
+
+    static final class InFlightFilter implements Filter {
+
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            max.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+    }
+}
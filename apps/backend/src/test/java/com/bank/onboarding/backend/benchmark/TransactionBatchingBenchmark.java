@@ -0,0 +1,71 @@
+package com.bank.onboarding.backend.benchmark;
+
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.TransactionDTO;
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.service.AccountService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 64 threads depositing into one account (a payroll burst), with micro-batching
+ * off and with windows of 1, 2 and 5 ms. Throughput and sampled latency for the
+ * same settings give the throughput-versus-latency curve; the tear-down prints
+ * the mean batch size each window achieved.
+ *
+ * <pre>./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=TransactionBatchingBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Threads(64)
+public class TransactionBatchingBenchmark {
+
+    private static final TransactionDTO DEPOSIT = new TransactionDTO("DEPOSIT", new BigDecimal("1.00"));
+
+    @Param({"off", "1ms", "2ms", "5ms"})
+    public String window;
+
+    @Param({"100"})
+    public int maxSize;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private Long accountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean batching = !"off".equals(window);
+        context = BenchmarkContext.start(
+                "app.transactions.batching.enabled=" + batching,
+                "app.transactions.batching.window=" + (batching ? window : "2ms"),
+                "app.transactions.batching.max-size=" + maxSize,
+                "app.transactions.account-locks.timeout=30s");
+        accountService = context.getBean(AccountService.class);
+        accountId = context.getBean(AccountRepository.class).save(new Account(1L, "ACC-PAYROLL", "ACTIVE")).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DistributionSummary batches = context.getBean(MeterRegistry.class).find("transactions.batch.size").summary();
+        if (batches != null && batches.count() > 0) {
+            System.out.printf("%n[window=%s] batches=%d mean size=%.1f max=%.0f%n",
+                    window, batches.count(), batches.mean(), batches.max());
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public AccountResponseDTO deposit() {
+        return accountService.transaction(accountId, DEPOSIT);
+    }
+}
@@ -0,0 +1,68 @@
+package com.bank.onboarding.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Base64CodecTest {
+
+    @Test
+    void encode_matchesJdkEncoderForAllPaddingLengths() {
+        Random random = new Random(42);
+        for (int length = 0; length < 100; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            byte[] out = new byte[Base64Codec.encodedLength(length)];
+
+            int written = Base64Codec.encode(data, 0, length, out, 0);
+
+            assertEquals(Base64.getEncoder().encodeToString(data), new String(out, 0, written, StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void encode_respectsSourceRangeAndDestinationOffset() {
+        byte[] data = "xxhelloxx".getBytes(StandardCharsets.US_ASCII);
+        byte[] out = new byte[2 + Base64Codec.encodedLength(5)];
+
+        int written = Base64Codec.encode(data, 2, 5, out, 2);
+
+        assertEquals("aGVsbG8=", new String(out, 2, written, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void decode_matchesJdkDecoderForAllPaddingLengths() {
+        Random random = new Random(7);
+        for (int length = 0; length < 100; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            String encoded = "p:" + Base64.getEncoder().encodeToString(data);
+            byte[] out = new byte[Base64Codec.decodedMaxLength(encoded.length() - 2)];
+
+            int read = Base64Codec.decode(encoded, 2, out);
+
+            assertArrayEquals(data, Arrays.copyOf(out, read));
+        }
+    }
+
+    @Test
+    void decode_invalidLength_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("abc", 0, new byte[3]));
+    }
+
+    @Test
+    void decode_invalidCharacter_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("ab!d", 0, new byte[3]));
+        assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("abñd", 0, new byte[3]));
+    }
+
+    @Test
+    void decode_paddingBeforeEnd_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("ab==abcd", 0, new byte[6]));
+    }
+}
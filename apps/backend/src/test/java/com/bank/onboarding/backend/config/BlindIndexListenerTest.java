@@ -0,0 +1,76 @@
+package com.bank.onboarding.backend.config;
+
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.entity.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlindIndexListenerTest {
+
+    private BlindIndexService blindIndexService;
+    private BlindIndexListener listener;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        blindIndexService = new BlindIndexService("test-encryption-key-2024");
+        listener = new BlindIndexListener();
+        listener.setBlindIndexService(blindIndexService);
+    }
+
+    @Test
+    void index_customer_setsDocumentNumberAndEmailIndexes() {
+        Customer customer = new Customer("CC", "123456", "Juan Perez", "juan@test.com");
+
+        listener.index(customer);
+
+        assertEquals(blindIndexService.index("123456"), customer.getDocumentNumberIndex());
+        assertEquals(blindIndexService.index("juan@test.com"), customer.getEmailIndex());
+    }
+
+    @Test
+    void index_customer_recomputesOnlyTheReplacedField() {
+        Customer customer = new Customer("CC", "123456", "Juan Perez", "juan@test.com");
+        listener.index(customer);
+        customer.setDocumentNumberIndex("kept");
+        customer.setEmailIndex("kept");
+
+        customer.setDocumentNumber("123456");
+        customer.setFullName("Juan P. Perez");
+        customer.setEmail("juan.perez@test.com");
+        listener.index(customer);
+
+        assertEquals("kept", customer.getDocumentNumberIndex());
+        assertEquals(blindIndexService.index("juan.perez@test.com"), customer.getEmailIndex());
+        assertFalse(customer.isEmailIndexStale());
+    }
+
+    @Test
+    void index_account_setsAccountNumberIndex() {
+        Account account = new Account(1L, "ACC-123", "ACTIVE");
+
+        listener.index(account);
+
+        assertEquals(blindIndexService.index("ACC-123"), account.getAccountNumberIndex());
+    }
+
+    @Test
+    void index_otherEntity_isIgnored() {
+        assertDoesNotThrow(() -> listener.index("not-an-entity"));
+    }
+
+    @Test
+    void index_withoutService_leavesEntityUntouched() {
+        listener.setBlindIndexService(null);
+        Customer customer = new Customer("CC", "123456", "Juan Perez", "juan@test.com");
+        try {
+            listener.index(customer);
+        } finally {
+            listener.setBlindIndexService(blindIndexService);
+        }
+
+        assertNull(customer.getDocumentNumberIndex());
+        assertNull(customer.getEmailIndex());
+    }
+}
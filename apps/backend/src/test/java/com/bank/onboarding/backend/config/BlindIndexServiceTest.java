@@ -0,0 +1,66 @@
+package com.bank.onboarding.backend.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlindIndexServiceTest {
+
+    private BlindIndexService blindIndexService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        blindIndexService = new BlindIndexService("test-encryption-key-2024");
+    }
+
+    @Test
+    void index_deterministicForSameInput() {
+        assertEquals(blindIndexService.index("123456"), blindIndexService.index("123456"));
+    }
+
+    @Test
+    void index_differentInputs_produceDifferentOutputs() {
+        assertNotEquals(blindIndexService.index("123456"), blindIndexService.index("123457"));
+    }
+
+    @Test
+    void index_dependsOnKey() throws Exception {
+        BlindIndexService other = new BlindIndexService("another-key");
+
+        assertNotEquals(blindIndexService.index("123456"), other.index("123456"));
+    }
+
+    @Test
+    void index_doesNotLeakPlaintext() {
+        String index = blindIndexService.index("juan@test.com");
+
+        assertEquals(43, index.length());
+        assertFalse(index.contains("juan"));
+    }
+
+    @Test
+    void index_null_returnsNull() {
+        assertNull(blindIndexService.index(null));
+    }
+
+    @Test
+    void index_concurrentCallers_matchSequentialResults() throws Exception {
+        List<String> values = IntStream.range(0, 500).mapToObj(i -> "DOC-" + i).toList();
+        List<String> expected = values.stream().map(blindIndexService::index).toList();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> results = values.stream()
+                    .map(value -> executor.submit(() -> blindIndexService.index(value))).toList();
+            for (int i = 0; i < values.size(); i++) {
+                assertEquals(expected.get(i), results.get(i).get());
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.bank.onboarding.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CipherPoolTest {
+
+    @Test
+    void capacity_roundsUpToPowerOfTwo() {
+        assertEquals(8, new CipherPool("AES/CBC/PKCS5Padding", 5).capacity());
+        assertEquals(4, new CipherPool("AES/CBC/PKCS5Padding", 4).capacity());
+        assertEquals(2, new CipherPool("AES/CBC/PKCS5Padding", 1).capacity());
+    }
+
+    @Test
+    void acquire_reusesReleasedContext() {
+        CipherPool pool = new CipherPool("AES/CBC/PKCS5Padding", 4);
+        CipherPool.Context context = pool.acquire();
+        pool.release(context);
+
+        assertSame(context, pool.acquire());
+    }
+
+    @Test
+    void acquire_createsNewContextWhenPoolEmpty() {
+        CipherPool pool = new CipherPool("AES/CBC/PKCS5Padding", 2);
+
+        assertNotSame(pool.acquire(), pool.acquire());
+    }
+
+    @Test
+    void release_dropsContextsBeyondCapacity() {
+        CipherPool pool = new CipherPool("AES/CBC/PKCS5Padding", 2);
+        List<CipherPool.Context> contexts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            contexts.add(pool.acquire());
+        }
+        contexts.forEach(pool::release);
+
+        List<CipherPool.Context> reacquired = List.of(pool.acquire(), pool.acquire());
+
+        assertTrue(contexts.containsAll(reacquired));
+        assertFalse(contexts.contains(pool.acquire()));
+    }
+
+    @Test
+    void context_buffersGrowOnDemand() {
+        CipherPool.Context context = new CipherPool("AES/CBC/PKCS5Padding", 2).acquire();
+
+        assertTrue(context.plain(3_000).length >= 3_000);
+        assertTrue(context.payload(3_000).length >= 3_000);
+        assertTrue(context.text(3_000).length >= 3_000);
+        assertSame(context.text(10), context.text(20));
+        assertEquals(CipherPool.MAX_POOLED_BUFFER, context.plain(CipherPool.MAX_POOLED_BUFFER).length);
+    }
+
+    @Test
+    void context_oversizedRequests_getOneOffArrays() {
+        CipherPool.Context context = new CipherPool("AES/CBC/PKCS5Padding", 2).acquire();
+        byte[] pooled = context.payload(10);
+
+        byte[] oversized = context.payload(CipherPool.MAX_POOLED_BUFFER + 1);
+
+        assertEquals(CipherPool.MAX_POOLED_BUFFER + 1, oversized.length);
+        assertNotSame(oversized, context.payload(CipherPool.MAX_POOLED_BUFFER + 1));
+        assertSame(pooled, context.payload(10));
+        assertEquals(-1, context.asciiInto("a".repeat(CipherPool.MAX_POOLED_BUFFER + 1)));
+    }
+
+    @Test
+    void context_asciiInto_rejectsNonAscii() {
+        CipherPool.Context context = new CipherPool("AES/CBC/PKCS5Padding", 2).acquire();
+
+        assertEquals(5, context.asciiInto("hello"));
+        assertEquals(-1, context.asciiInto("José"));
+        // The partial write of "Jos" is cleared
+        assertArrayEquals(new byte[3], Arrays.copyOf(context.plain(3), 3));
+    }
+
+    @Test
+    void context_unknownTransformation_throws() {
+        assertThrows(IllegalStateException.class, () -> new CipherPool.Context("NOPE/NOPE/NOPE"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.bank.onboarding.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Own database, and so its own context: entity listeners hold static references to the latest context's beans
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1")
+class ConnectionPoolIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pool_isSizedFromCores_withLeakDetectionAndStatementCache() throws SQLException {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+
+        assertEquals("primary", pool.getPoolName());
+        assertEquals(ConnectionPoolSizing.size(Runtime.getRuntime().availableProcessors(), 2, 1),
+                pool.getMaximumPoolSize());
+        assertEquals(5000, pool.getConnectionTimeout());
+        assertEquals(10000, pool.getLeakDetectionThreshold());
+        assertEquals("64", jdbcTemplate.queryForObject(
+                "SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME = 'QUERY_CACHE_SIZE'",
+                String.class));
+    }
+}
@@ -0,0 +1,41 @@
+package com.bank.onboarding.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolSizingTest {
+
+    @Test
+    void size_isCoresTimesConnectionsPerCorePlusSpare() {
+        assertEquals(9, ConnectionPoolSizing.size(4, 2, 1));
+        assertEquals(1, ConnectionPoolSizing.size(1, 0, 0));
+    }
+
+    @Test
+    void unsizedPool_getsDerivedSize() {
+        ConnectionPoolSizing sizing = new ConnectionPoolSizing(new MockEnvironment(), 4, 2, 1);
+
+        HikariDataSource pool = (HikariDataSource) sizing.postProcessAfterInitialization(new HikariDataSource(), "dataSource");
+
+        assertEquals(9, pool.getMaximumPoolSize());
+    }
+
+    @Test
+    void explicitSize_isKept_perPool() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "3");
+        ConnectionPoolSizing sizing = new ConnectionPoolSizing(environment, 4, 2, 1);
+        HikariDataSource primary = new HikariDataSource();
+        primary.setMaximumPoolSize(3);
+
+        sizing.postProcessAfterInitialization(primary, "primaryDataSource");
+        HikariDataSource replica = (HikariDataSource) sizing.postProcessAfterInitialization(
+                new HikariDataSource(), "replicaDataSource");
+
+        assertEquals(3, primary.getMaximumPoolSize());
+        assertEquals(9, replica.getMaximumPoolSize());
+    }
+}
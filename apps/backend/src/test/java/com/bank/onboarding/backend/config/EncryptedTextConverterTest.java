@@ -0,0 +1,112 @@
+package com.bank.onboarding.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncryptedTextConverterTest {
+
+    private static final String KEY = "test-encryption-key-2024";
+
+    private EncryptedTextConverter converter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        converter = new EncryptedTextConverter();
+        converter.setEncryptionService(new EncryptionService(KEY));
+        converter.setLazy(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        converter.setLazy(false);
+    }
+
+    @Test
+    void of_encryptsOnceAndKeepsThePlaintext() {
+        EncryptedText value = EncryptedText.of("Juan Perez");
+
+        assertTrue(value.isDecrypted());
+        assertTrue(value.ciphertext().startsWith(EncryptionService.RANDOM_IV_PREFIX));
+        assertEquals(value.ciphertext(), converter.convertToDatabaseColumn(value));
+        assertEquals("Juan Perez", value.plaintext());
+    }
+
+    @Test
+    void load_decryptsRightAwayUnlessLazy() {
+        String stored = EncryptedText.of("juan@test.com").ciphertext();
+
+        EncryptedText eager = converter.convertToEntityAttribute(stored);
+        converter.setLazy(true);
+        EncryptedText lazy = converter.convertToEntityAttribute(stored);
+
+        assertTrue(eager.isDecrypted());
+        assertFalse(lazy.isDecrypted());
+        assertEquals("juan@test.com", lazy.plaintext());
+        assertTrue(lazy.isDecrypted());
+        assertEquals(eager, lazy);
+    }
+
+    @Test
+    void legacyCiphertext_isReencryptedOnWrite() throws Exception {
+        EncryptedText legacy = converter.convertToEntityAttribute(legacyEncrypt("123456"));
+
+        String written = converter.convertToDatabaseColumn(legacy);
+
+        assertTrue(written.startsWith(EncryptionService.RANDOM_IV_PREFIX));
+        assertEquals("123456", converter.convertToEntityAttribute(written).plaintext());
+    }
+
+    @Test
+    void equality_isByCiphertext() {
+        EncryptedText first = EncryptedText.of("Ana");
+        EncryptedText second = EncryptedText.of("Ana");
+
+        assertNotEquals(first, second, "random IV: a new value always counts as a change");
+        assertEquals(first, converter.convertToEntityAttribute(first.ciphertext()));
+        assertEquals(first.hashCode(), converter.convertToEntityAttribute(first.ciphertext()).hashCode());
+    }
+
+    @Test
+    void toString_doesNotShowThePlaintext() {
+        assertFalse(EncryptedText.of("Juan Perez").toString().contains("Juan"));
+    }
+
+    @Test
+    void cache_storesOnlyTheCiphertext() {
+        EncryptedText value = EncryptedText.of("Juan Perez");
+        EncryptedTextConverter.CiphertextOnly plan = new EncryptedTextConverter.CiphertextOnly();
+
+        assertEquals(value.ciphertext(), plan.disassemble(value, null));
+        EncryptedText assembled = plan.assemble(plan.disassemble(value, null), null);
+        assertFalse(assembled.isDecrypted());
+        assertEquals("Juan Perez", assembled.plaintext());
+        assertNull(plan.disassemble(null, null));
+    }
+
+    @Test
+    void nulls_passThrough() {
+        assertNull(EncryptedText.of(null));
+        assertNull(EncryptedText.plaintextOf(null));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    private static String legacyEncrypt(String value) throws Exception {
+        byte[] keyHash = MessageDigest.getInstance("SHA-256").digest(KEY.getBytes(StandardCharsets.UTF_8));
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(keyHash, "AES"),
+                new IvParameterSpec(Arrays.copyOf(keyHash, 16)));
+        return Base64.getEncoder().encodeToString(cipher.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
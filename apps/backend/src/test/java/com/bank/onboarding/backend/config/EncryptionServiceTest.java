@@ -1,8 +1,27 @@
 package com.bank.onboarding.backend.config;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class EncryptionServiceTest {
@@ -24,6 +43,25 @@ class EncryptionServiceTest {
         assertEquals(original, decrypted);
     }
 
+    @Test
+    void pooledBuffers_areZeroedAfterEachCall() {
+        String encrypted = encryptionService.encrypt("1234567890");
+        assertEquals("1234567890", encryptionService.decrypt(encrypted));
+
+        // Same thread, so the next acquire gets the context both calls used
+        CipherPool.Context context = encryptionService.pool().acquire();
+        assertArrayEquals(new byte[CipherPool.MAX_POOLED_BUFFER], context.plain(CipherPool.MAX_POOLED_BUFFER));
+        assertArrayEquals(new byte[CipherPool.MAX_POOLED_BUFFER], context.payload(CipherPool.MAX_POOLED_BUFFER));
+        assertArrayEquals(new byte[CipherPool.MAX_POOLED_BUFFER], context.text(CipherPool.MAX_POOLED_BUFFER));
+    }
+
+    @Test
+    void oversizedValue_roundTrips() {
+        String large = "x".repeat(CipherPool.MAX_POOLED_BUFFER * 2) + "ñ";
+
+        assertEquals(large, encryptionService.decrypt(encryptionService.encrypt(large)));
+    }
+
     @Test
     void encrypt_null_returnsNull() {
         assertNull(encryptionService.encrypt(null));
@@ -35,11 +73,43 @@ class EncryptionServiceTest {
     }
 
     @Test
-    void encrypt_deterministicForSameInput() {
+    void encrypt_randomizedForSameInput() {
         String first = encryptionService.encrypt("hello");
         String second = encryptionService.encrypt("hello");
 
-        assertEquals(first, second);
+        assertNotEquals(first, second);
+        assertTrue(first.startsWith(EncryptionService.RANDOM_IV_PREFIX));
+        assertEquals("hello", encryptionService.decrypt(first));
+        assertEquals("hello", encryptionService.decrypt(second));
+    }
+
+    @Test
+    void decrypt_legacyFixedIvValue_returnsOriginalValue() throws Exception {
+        String legacy = legacyEncrypt("test-encryption-key-2024", "juan@test.com");
+
+        assertEquals("juan@test.com", encryptionService.decrypt(legacy));
+    }
+
+    @Test
+    void decrypt_differentKey_throwsRuntimeException() throws Exception {
+        String encrypted = new EncryptionService("another-key").encrypt("hello");
+
+        assertThrows(RuntimeException.class, () -> encryptionService.decrypt(encrypted));
+    }
+
+    @Test
+    void operations_areTimedAndPlaintextBytesCounted() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EncryptionService instrumented = new EncryptionService("test-encryption-key-2024", meterRegistry);
+
+        instrumented.decrypt(instrumented.encrypt("hello"));
+        assertThrows(RuntimeException.class, () -> instrumented.decrypt(EncryptionService.RANDOM_IV_PREFIX + "AAAA"));
+
+        assertEquals(1, meterRegistry.get("crypto.operations").tag("operation", "encrypt").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("crypto.operations").tag("operation", "decrypt").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("crypto.operations").tag("operation", "decrypt").tag("outcome", "error").timer().count());
+        assertEquals(5, meterRegistry.get("crypto.bytes").tag("operation", "encrypt").counter().count());
+        assertEquals(5, meterRegistry.get("crypto.bytes").tag("operation", "decrypt").counter().count());
     }
 
     @Test
@@ -50,8 +120,81 @@ class EncryptionServiceTest {
         assertNotEquals(encrypted1, encrypted2);
     }
 
+    @Test
+    void encrypt_nonAsciiAndLongValues_roundTrip() {
+        String accented = "José Núñez Peña";
+        String longValue = "x".repeat(5_000);
+
+        assertEquals(accented, encryptionService.decrypt(encryptionService.encrypt(accented)));
+        assertEquals(longValue, encryptionService.decrypt(encryptionService.encrypt(longValue)));
+        assertEquals("", encryptionService.decrypt(encryptionService.encrypt("")));
+    }
+
+    @Test
+    void encrypt_concurrentCallers_roundTrip() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                String value = "customer-" + i + "@test.com";
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        if (!value.equals(encryptionService.decrypt(encryptionService.encrypt(value)))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void decrypt_truncatedRandomIvValue_throwsRuntimeException() {
+        assertThrows(RuntimeException.class, () -> encryptionService.decrypt(EncryptionService.RANDOM_IV_PREFIX + "AAAA"));
+    }
+
     @Test
     void decrypt_invalidBase64_throwsRuntimeException() {
         assertThrows(RuntimeException.class, () -> encryptionService.decrypt("not-valid-base64!!!"));
     }
+
+    static String legacyEncrypt(String key, String value) throws Exception {
+        byte[] keyHash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(keyHash, "AES"),
+                new IvParameterSpec(Arrays.copyOf(keyHash, 16)));
+        return Base64.getEncoder().encodeToString(cipher.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void encryptingStream_roundTripsAndUsesARandomIv() throws Exception {
+        byte[] plain = "Lucía Fernández\n".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        byte[] first = encryptStream(plain);
+        byte[] second = encryptStream(plain);
+
+        assertFalse(Arrays.equals(first, second));
+        try (InputStream in = encryptionService.decryptingStream(new ByteArrayInputStream(first))) {
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void decryptingStream_truncatedInput_throwsIOException() {
+        assertThrows(IOException.class,
+                () -> encryptionService.decryptingStream(new ByteArrayInputStream(new byte[5])));
+    }
+
+    private byte[] encryptStream(byte[] plain) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = encryptionService.encryptingStream(bytes)) {
+            out.write(plain);
+        }
+        return bytes.toByteArray();
+    }
 }
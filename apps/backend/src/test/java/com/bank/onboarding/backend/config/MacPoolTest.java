@@ -0,0 +1,54 @@
+package com.bank.onboarding.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MacPoolTest {
+
+    private static final SecretKeySpec KEY = new SecretKeySpec(new byte[32], "HmacSHA256");
+
+    @Test
+    void capacity_roundsUpToPowerOfTwo() {
+        assertEquals(8, new MacPool(KEY, 5).capacity());
+        assertEquals(2, new MacPool(KEY, 1).capacity());
+    }
+
+    @Test
+    void acquire_reusesReleasedMac() {
+        MacPool pool = new MacPool(KEY, 4);
+        Mac mac = pool.acquire();
+        pool.release(mac);
+
+        assertSame(mac, pool.acquire());
+    }
+
+    @Test
+    void acquire_createsNewMacWhenPoolEmpty() {
+        MacPool pool = new MacPool(KEY, 2);
+
+        assertNotSame(pool.acquire(), pool.acquire());
+    }
+
+    @Test
+    void releasedMac_givesTheSameDigestAsAFreshOne() {
+        MacPool pool = new MacPool(KEY, 2);
+        byte[] input = "123456".getBytes(StandardCharsets.UTF_8);
+        Mac mac = pool.acquire();
+        byte[] first = mac.doFinal(input);
+        pool.release(mac);
+
+        assertArrayEquals(first, pool.acquire().doFinal(input));
+    }
+
+    @Test
+    void acquire_unknownAlgorithm_throws() {
+        MacPool pool = new MacPool(new SecretKeySpec(new byte[32], "NOPE"), 2);
+
+        assertThrows(IllegalStateException.class, pool::acquire);
+    }
+}
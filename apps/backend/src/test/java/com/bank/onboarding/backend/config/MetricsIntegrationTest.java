@@ -0,0 +1,58 @@
+package com.bank.onboarding.backend.config;
+
+import com.bank.onboarding.backend.dto.AccountCreateDTO;
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.dto.CustomerResponseDTO;
+import com.bank.onboarding.backend.dto.TransactionDTO;
+import com.bank.onboarding.backend.service.AccountService;
+import com.bank.onboarding.backend.service.CustomerService;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tests turn metrics export off by default; the Prometheus registry is what is under test here
+@SpringBootTest(properties = "management.defaults.metrics.export.enabled=true")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private PrometheusMeterRegistry prometheusMeterRegistry;
+
+    @Test
+    void hotPaths_arePublishedToPrometheus() {
+        CustomerResponseDTO customer = customerService.createCustomer(
+                new CustomerCreateDTO("CC", "METRICS-1", "Metricas Uno", "metrics-1@test.com"));
+        customerService.getCustomerById(customer.getId());
+        AccountResponseDTO account = accountService.createAccount(new AccountCreateDTO(customer.getId()));
+        accountService.transaction(account.getId(), new TransactionDTO("DEPOSIT", new BigDecimal("10.00")));
+
+        assertTrue(prometheusMeterRegistry.get("crypto.operations")
+                .tag("operation", "encrypt").tag("outcome", "success").timer().count() >= 3);
+        assertTrue(prometheusMeterRegistry.get("crypto.bytes").tag("operation", "encrypt").counter().count() > 0);
+        assertEquals(1, prometheusMeterRegistry.get("account.transactions")
+                .tag("type", "DEPOSIT").tag("outcome", "success").timer().count());
+
+        String scrape = prometheusMeterRegistry.scrape();
+        assertTrue(scrape.contains("customers_operations_seconds_bucket{"), "histogram buckets exported");
+        assertTrue(scrape.contains("account_transactions_seconds_bucket{"));
+        assertTrue(scrape.contains("crypto_operations_seconds_count{"));
+        assertFalse(scrape.contains("crypto_operations_seconds_bucket{"), "no histogram on per-field crypto");
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_count{"));
+        assertTrue(scrape.contains("cache_gets_total{") && scrape.contains("cache=\"customers\""));
+        assertTrue(scrape.contains("cache=\"" + SecondLevelCacheConfig.CUSTOMERS_REGION + "\""));
+        assertTrue(scrape.contains("hikaricp_connections_acquire_seconds_bucket{") && scrape.contains("pool=\"primary\""),
+                "pool wait histogram");
+        assertTrue(scrape.contains("hikaricp_connections_pending{"));
+    }
+}
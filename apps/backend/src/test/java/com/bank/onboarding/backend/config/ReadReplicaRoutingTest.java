@@ -0,0 +1,134 @@
+package com.bank.onboarding.backend.config;
+
+import com.bank.onboarding.backend.dto.AccountCreateDTO;
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import com.bank.onboarding.backend.service.AccountService;
+import com.bank.onboarding.backend.service.CustomerService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Both pools point at the same in-memory database, so the replica never lags and only the routing is under test
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+        "app.customers.search.enabled=false"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replica;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void readOnlyTransaction_borrowsFromReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            customerRepository.findResponses(0L, Limit.of(1));
+            assertEquals(1, active(replica));
+            assertEquals(0, active(primary));
+        });
+    }
+
+    @Test
+    void writeTransaction_borrowsFromPrimary() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            customerRepository.saveAndFlush(new Customer("CC", "RR-1", "Replica Uno", "rr-1@test.com"));
+            assertEquals(1, active(primary));
+            assertEquals(0, active(replica));
+        });
+    }
+
+    @Test
+    void serviceReads_goToReplica_andWrites_toPrimary() {
+        double replicaBefore = borrowed("replica");
+        double primaryBefore = borrowed("primary");
+
+        customerService.createCustomer(new CustomerCreateDTO("CC", "RR-2", "Replica Dos", "rr-2@test.com"));
+        assertEquals(primaryBefore + 1, borrowed("primary"));
+        assertEquals(replicaBefore, borrowed("replica"));
+
+        assertFalse(customerService.getCustomers(null, null).getItems().isEmpty());
+        assertEquals(primaryBefore + 1, borrowed("primary"));
+        assertEquals(replicaBefore + 1, borrowed("replica"));
+    }
+
+    // The idempotency lookup runs read-only ahead of the write; the request must not keep its replica connection
+    @Test
+    void keyedTransactionRequest_writesThroughPrimary() throws Exception {
+        Long customerId = customerService.createCustomer(
+                new CustomerCreateDTO("CC", "RR-3", "Replica Tres", "rr-3@test.com")).getId();
+        AccountResponseDTO account = accountService.createAccount(new AccountCreateDTO(customerId));
+        double replicaBefore = borrowed("replica");
+        double primaryBefore = borrowed("primary");
+
+        mockMvc.perform(post("/api/accounts/{id}/transaction", account.getId())
+                        .header("Idempotency-Key", "routing-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"DEPOSIT\",\"amount\":25.00}"))
+                .andExpect(status().isOk());
+
+        assertEquals(replicaBefore + 1, borrowed("replica"));
+        assertEquals(primaryBefore + 1, borrowed("primary"));
+        assertEquals(0, new BigDecimal("25.00").compareTo(
+                accountRepository.findById(account.getId()).orElseThrow().getBalance()));
+    }
+
+    // Pools start on the first borrow, and their meters with them
+    private static int active(HikariDataSource pool) {
+        return pool.getHikariPoolMXBean() == null ? 0 : pool.getHikariPoolMXBean().getActiveConnections();
+    }
+
+    private double borrowed(String pool) {
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", pool).timer();
+        return usage == null ? 0 : usage.count();
+    }
+}
@@ -2,19 +2,28 @@ package com.bank.onboarding.backend.config;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.MDC;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class RequestIdFilterTest {
 
-    private final RequestIdFilter filter = new RequestIdFilter();
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    private final RequestIdFilter filter = new RequestIdFilter(new RequestIdGenerator(0xABCDEF));
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
 
     @Test
     void doFilterInternal_setsRequestIdHeaderAndMDC() throws ServletException, IOException {
@@ -24,8 +33,7 @@ class RequestIdFilterTest {
 
         doAnswer(invocation -> {
             // Inside the filter chain, MDC should have requestId
-            assertNotNull(MDC.get("requestId"));
-            assertEquals(8, MDC.get("requestId").length());
+            assertEquals(response.getHeader("X-Request-Id"), MDC.get("requestId"));
             return null;
         }).when(filterChain).doFilter(request, response);
 
@@ -34,10 +42,8 @@ class RequestIdFilterTest {
         // After filter, MDC should be cleared
         assertNull(MDC.get("requestId"));
 
-        // Response should have the header
-        String headerValue = response.getHeader("X-Request-Id");
-        assertNotNull(headerValue);
-        assertEquals(8, headerValue.length());
+        // Response should have the generated id: node id, then the counter
+        assertEquals("abcdef0000000000", response.getHeader("X-Request-Id"));
 
         verify(filterChain).doFilter(request, response);
     }
@@ -55,4 +61,65 @@ class RequestIdFilterTest {
         // MDC should still be cleared after exception
         assertNull(MDC.get("requestId"));
     }
+
+    @Test
+    void doFilterInternal_leavesOtherMdcKeys() throws ServletException, IOException {
+        MDC.put("tenant", "bank");
+        MDC.put("requestId", "outer");
+
+        filter.doFilterInternal(new MockHttpServletRequest(), new MockHttpServletResponse(), mock(FilterChain.class));
+
+        assertEquals("bank", MDC.get("tenant"));
+        assertEquals("outer", MDC.get("requestId"));
+    }
+
+    @Test
+    void incomingRequestId_isReused() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Request-Id", "gateway-123_abc.1");
+        request.addHeader("traceparent", TRACEPARENT);
+
+        assertEquals("gateway-123_abc.1", filter(request));
+    }
+
+    @Test
+    void traceparent_traceIdIsUsedWhenNoRequestId() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("traceparent", TRACEPARENT);
+
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", filter(request));
+    }
+
+    @Test
+    void invalidHeaders_areIgnored() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Request-Id", "abc\n2024 INFO forged line");
+        request.addHeader("traceparent", "00-00000000000000000000000000000000-00f067aa0ba902b7-01");
+
+        assertEquals("abcdef0000000000", filter(request));
+    }
+
+    @Test
+    void isValidRequestId_limitsLengthAndCharacters() {
+        assertTrue(RequestIdFilter.isValidRequestId("a".repeat(64)));
+        assertFalse(RequestIdFilter.isValidRequestId("a".repeat(65)));
+        assertFalse(RequestIdFilter.isValidRequestId(""));
+        assertFalse(RequestIdFilter.isValidRequestId("a b"));
+    }
+
+    @Test
+    void traceId_rejectsMalformedTraceparent() {
+        assertNull(RequestIdFilter.traceId(null));
+        assertNull(RequestIdFilter.traceId("00-4bf92f3577b34da6a3ce929d0e0e4736"));
+        assertNull(RequestIdFilter.traceId("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01"));
+        assertNull(RequestIdFilter.traceId("00_4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+    }
+
+    private String filter(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> inChain = new AtomicReference<>();
+        filter.doFilterInternal(request, response, (req, res) -> inChain.set(MDC.get("requestId")));
+        assertEquals(inChain.get(), response.getHeader("X-Request-Id"));
+        return inChain.get();
+    }
 }
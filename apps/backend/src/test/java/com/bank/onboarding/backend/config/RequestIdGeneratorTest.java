@@ -0,0 +1,46 @@
+package com.bank.onboarding.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestIdGeneratorTest {
+
+    @Test
+    void next_isNodeIdThenCounterInHex() {
+        RequestIdGenerator generator = new RequestIdGenerator(1);
+
+        assertEquals("0000010000000000", generator.next());
+        assertEquals("0000010000000001", generator.next());
+    }
+
+    @Test
+    void next_isUniqueAcrossThreads() throws Exception {
+        RequestIdGenerator generator = new RequestIdGenerator(-1);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 100; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        ids.add(generator.next());
+                    }
+                });
+            }
+        }
+
+        assertEquals(100_000, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id.matches("[0-9a-f]{16}")));
+    }
+
+    @Test
+    void nodeId_outOfRange_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new RequestIdGenerator(RequestIdGenerator.MAX_NODE + 1));
+        assertThrows(IllegalArgumentException.class, () -> new RequestIdGenerator(-2));
+    }
+}
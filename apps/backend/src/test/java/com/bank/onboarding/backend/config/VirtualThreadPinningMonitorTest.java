@@ -0,0 +1,82 @@
+package com.bank.onboarding.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(5));
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void start_countsVirtualThreadBlockedInsideSynchronized() throws Exception {
+        monitor.start();
+        assertTrue(monitor.isRunning());
+
+        Object lock = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                sleep(50);
+            }
+        }).join();
+
+        assertTrue(awaitCount(1), "pinning event was not reported");
+    }
+
+    @Test
+    void start_ignoresBlockingUnderReentrantLock() throws Exception {
+        monitor.start();
+
+        ReentrantLock lock = new ReentrantLock();
+        Thread.ofVirtual().start(() -> {
+            lock.lock();
+            try {
+                sleep(50);
+            } finally {
+                lock.unlock();
+            }
+        }).join();
+
+        assertFalse(awaitCount(1));
+    }
+
+    @Test
+    void stop_closesRecording() {
+        monitor.start();
+        monitor.stop();
+
+        assertFalse(monitor.isRunning());
+        monitor.stop();
+    }
+
+    private boolean awaitCount(double expected) throws InterruptedException {
+        // JFR streams flush roughly once per second
+        long deadline = System.nanoTime() + Duration.ofSeconds(3).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (registry.counter("jvm.threads.virtual.pinned").count() >= expected) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bank.onboarding.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("virtual")
+class VirtualThreadProfileTest {
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Test
+    void applicationTaskExecutor_runsOnVirtualThreads() throws Exception {
+        CompletableFuture<Boolean> virtual = applicationTaskExecutor.submitCompletable(
+                () -> Thread.currentThread().isVirtual());
+
+        assertTrue(virtual.get());
+    }
+
+    @Test
+    void applicationTaskExecutor_carriesRequestIdIntoTasks() throws Exception {
+        MDC.put(RequestIdFilter.MDC_KEY, "req-42");
+        try {
+            CompletableFuture<String> requestId = applicationTaskExecutor.submitCompletable(
+                    () -> MDC.get(RequestIdFilter.MDC_KEY));
+
+            assertEquals("req-42", requestId.get());
+        } finally {
+            MDC.remove(RequestIdFilter.MDC_KEY);
+        }
+    }
+
+    @Test
+    void pinningMonitor_isRunning() {
+        assertTrue(pinningMonitor.isRunning());
+    }
+}
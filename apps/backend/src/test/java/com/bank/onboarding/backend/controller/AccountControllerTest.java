@@ -3,7 +3,10 @@ package com.bank.onboarding.backend.controller;
 import com.bank.onboarding.backend.dto.AccountCreateDTO;
 import com.bank.onboarding.backend.dto.AccountResponseDTO;
 import com.bank.onboarding.backend.dto.AccountStatusDTO;
+import com.bank.onboarding.backend.dto.AccountTransactionDTO;
+import com.bank.onboarding.backend.dto.CursorPage;
 import com.bank.onboarding.backend.dto.TransactionDTO;
+import com.bank.onboarding.backend.exception.AccountBusyException;
 import com.bank.onboarding.backend.exception.BusinessException;
 import com.bank.onboarding.backend.exception.GlobalExceptionHandler;
 import com.bank.onboarding.backend.exception.ResourceNotFoundException;
@@ -16,14 +19,19 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -108,7 +116,8 @@ class AccountControllerTest {
 
     @Test
     void getAccounts_all_returns200() throws Exception {
-        when(accountService.getAllAccounts()).thenReturn(List.of(buildResponse()));
+        when(accountService.getAccounts(isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(buildResponse()), null));
 
         mockMvc.perform(get("/api/accounts"))
                 .andExpect(status().isOk())
@@ -126,13 +135,43 @@ class AccountControllerTest {
 
     @Test
     void getAccounts_empty_returns200() throws Exception {
-        when(accountService.getAllAccounts()).thenReturn(Collections.emptyList());
+        when(accountService.getAccounts(isNull(), isNull()))
+                .thenReturn(new CursorPage<>(Collections.emptyList(), null));
 
         mockMvc.perform(get("/api/accounts"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    void getAccounts_withMorePages_returnsNextCursorHeader() throws Exception {
+        when(accountService.getAccounts(eq(5L), eq(2)))
+                .thenReturn(new CursorPage<>(List.of(buildResponse()), 7L));
+
+        mockMvc.perform(get("/api/accounts").param("after", "5").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "7"))
+                .andExpect(jsonPath("$[0].accountNumber").value("ACC-1234567890-1234"));
+    }
+
+    @Test
+    void exportAccounts_ndjson_streamsOneObjectPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<AccountResponseDTO> sink = invocation.getArgument(0);
+            sink.accept(buildResponse());
+            return null;
+        }).when(accountService).exportAccounts(any());
+
+        MvcResult result = mockMvc.perform(get("/api/accounts").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("ACC-1234567890-1234", objectMapper.readTree(body.trim()).get("accountNumber").asString());
+    }
+
     @Test
     void updateAccountStatus_returns200() throws Exception {
         AccountResponseDTO response = buildResponse();
@@ -171,11 +210,37 @@ class AccountControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getTransactions_returnsPageWithNextCursor() throws Exception {
+        AccountTransactionDTO entry = new AccountTransactionDTO();
+        entry.setId(8L);
+        entry.setAccountId(1L);
+        entry.setType("DEPOSIT");
+        entry.setAmount(new BigDecimal("10.00"));
+        entry.setBalanceAfter(new BigDecimal("30.00"));
+        when(accountService.getTransactions(eq(1L), eq(5L), eq(1)))
+                .thenReturn(new CursorPage<>(List.of(entry), 8L));
+
+        mockMvc.perform(get("/api/accounts/1/transactions").param("after", "5").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "8"))
+                .andExpect(jsonPath("$[0].balanceAfter").value(30.00));
+    }
+
+    @Test
+    void getTransactions_accountNotFound_returns404() throws Exception {
+        when(accountService.getTransactions(eq(99L), isNull(), isNull()))
+                .thenThrow(new ResourceNotFoundException("Cuenta no encontrada con id: 99"));
+
+        mockMvc.perform(get("/api/accounts/99/transactions"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void transaction_returns200() throws Exception {
         AccountResponseDTO response = buildResponse();
         response.setBalance(new BigDecimal("100.00"));
-        when(accountService.transaction(eq(1L), any(TransactionDTO.class))).thenReturn(response);
+        when(accountService.transaction(eq(1L), any(TransactionDTO.class), isNull())).thenReturn(response);
 
         TransactionDTO request = new TransactionDTO("DEPOSIT", new BigDecimal("100.00"));
 
@@ -186,6 +251,21 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.balance").value(100.00));
     }
 
+    @Test
+    void transaction_passesIdempotencyKey() throws Exception {
+        AccountResponseDTO response = buildResponse();
+        when(accountService.transaction(eq(1L), any(TransactionDTO.class), eq("retry-123"))).thenReturn(response);
+
+        TransactionDTO request = new TransactionDTO("DEPOSIT", new BigDecimal("100.00"));
+
+        mockMvc.perform(post("/api/accounts/1/transaction")
+                        .header("Idempotency-Key", "retry-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
     @Test
     void transaction_invalidType_returns400() throws Exception {
         TransactionDTO request = new TransactionDTO("INVALID", new BigDecimal("100.00"));
@@ -208,7 +288,7 @@ class AccountControllerTest {
 
     @Test
     void transaction_notFound_returns404() throws Exception {
-        when(accountService.transaction(eq(99L), any(TransactionDTO.class)))
+        when(accountService.transaction(eq(99L), any(TransactionDTO.class), isNull()))
                 .thenThrow(new ResourceNotFoundException("Cuenta no encontrada con id: 99"));
 
         TransactionDTO request = new TransactionDTO("DEPOSIT", new BigDecimal("100.00"));
@@ -218,4 +298,19 @@ class AccountControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void transaction_accountBusy_returns503WithRetryAfter() throws Exception {
+        when(accountService.transaction(eq(1L), any(TransactionDTO.class), isNull()))
+                .thenThrow(new AccountBusyException(1L));
+
+        TransactionDTO request = new TransactionDTO("DEPOSIT", new BigDecimal("100.00"));
+
+        mockMvc.perform(post("/api/accounts/1/transaction")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
 }
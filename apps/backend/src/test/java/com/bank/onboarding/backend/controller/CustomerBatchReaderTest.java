@@ -0,0 +1,141 @@
+package com.bank.onboarding.backend.controller;
+
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerBatchReaderTest {
+
+    private final ObjectReader reader = JsonMapper.builder().build().reader();
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<CustomerBatchRecord> drain(Iterator<CustomerBatchRecord> records) {
+        List<CustomerBatchRecord> list = new ArrayList<>();
+        records.forEachRemaining(list::add);
+        return list;
+    }
+
+    @Test
+    void jsonArray_readsRecordsByPosition() {
+        List<CustomerBatchRecord> records = drain(CustomerBatchReader.jsonArray(reader, body("""
+                [{"documentType":"CC","documentNumber":"1","fullName":"A","email":"a@test.com"},
+                 {"documentType":"CE","documentNumber":"2","fullName":"B","email":"b@test.com"}]
+                """)));
+
+        assertEquals(2, records.size());
+        assertEquals(1, records.get(0).getLine());
+        assertEquals("1", records.get(0).getCustomer().getDocumentNumber());
+        assertEquals(2, records.get(1).getLine());
+        assertEquals("CE", records.get(1).getCustomer().getDocumentType());
+    }
+
+    @Test
+    void jsonArray_malformedElement_stopsWithError() {
+        List<CustomerBatchRecord> records = drain(CustomerBatchReader.jsonArray(reader, body("""
+                [{"documentType":"CC","documentNumber":"1","fullName":"A","email":"a@test.com"}, {"documentType":]
+                """)));
+
+        assertEquals(2, records.size());
+        assertNull(records.get(0).getParseError());
+        assertEquals(2, records.get(1).getLine());
+        assertEquals("JSON invalido", records.get(1).getParseError());
+    }
+
+    @Test
+    void jsonArray_unreadableBody_returnsSingleError() {
+        List<CustomerBatchRecord> records = drain(CustomerBatchReader.jsonArray(reader, body("{")));
+
+        assertEquals(1, records.size());
+        assertEquals("JSON invalido", records.get(0).getParseError());
+    }
+
+    @Test
+    void ndjson_skipsBlankLinesAndKeepsLineNumbers() {
+        List<CustomerBatchRecord> records = drain(CustomerBatchReader.ndjson(reader, body("""
+                {"documentType":"CC","documentNumber":"1","fullName":"A","email":"a@test.com"}
+
+                not json
+                {"documentType":"PAS","documentNumber":"3","fullName":"C","email":"c@test.com"}
+                """)));
+
+        assertEquals(3, records.size());
+        assertEquals(1, records.get(0).getLine());
+        assertEquals(3, records.get(1).getLine());
+        assertEquals("JSON invalido", records.get(1).getParseError());
+        assertEquals(4, records.get(2).getLine());
+        assertEquals("PAS", records.get(2).getCustomer().getDocumentType());
+    }
+
+    @Test
+    void csv_mapsHeaderColumnsCaseInsensitively() {
+        List<CustomerBatchRecord> records = drain(CustomerBatchReader.csv(body("""
+                Email,FullName,documentNumber,documentType
+                a@test.com,"Perez, Juan",1,CC
+
+                b@test.com,"Ana ""La"" Gomez",2,CE
+                c@test.com,Solo
+                """)));
+
+        assertEquals(3, records.size());
+        assertEquals(2, records.get(0).getLine());
+        assertEquals("Perez, Juan", records.get(0).getCustomer().getFullName());
+        assertEquals("a@test.com", records.get(0).getCustomer().getEmail());
+        assertEquals("1", records.get(0).getCustomer().getDocumentNumber());
+        assertEquals(4, records.get(1).getLine());
+        assertEquals("Ana \"La\" Gomez", records.get(1).getCustomer().getFullName());
+        assertEquals(5, records.get(2).getLine());
+        assertEquals("Numero de columnas invalido", records.get(2).getParseError());
+    }
+
+    @Test
+    void csv_missingColumn_leavesFieldNull() {
+        List<CustomerBatchRecord> records = drain(CustomerBatchReader.csv(body("documentType,documentNumber\nCC,1\n")));
+
+        assertEquals(1, records.size());
+        assertNull(records.get(0).getCustomer().getEmail());
+    }
+
+    @Test
+    void csv_withoutHeader_returnsSingleError() {
+        assertEquals("El archivo CSV no tiene encabezado",
+                drain(CustomerBatchReader.csv(body(""))).get(0).getParseError());
+        assertEquals("El archivo CSV no tiene encabezado",
+                drain(CustomerBatchReader.csv(body(" \n"))).get(0).getParseError());
+    }
+
+    @Test
+    void iterator_nextPastEnd_throws() {
+        Iterator<CustomerBatchRecord> records = CustomerBatchReader.ndjson(reader, body(""));
+
+        assertFalse(records.hasNext());
+        assertThrows(NoSuchElementException.class, records::next);
+    }
+
+    @Test
+    void readFailure_isRethrownUnchecked() {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+
+        assertThrows(UncheckedIOException.class, () -> CustomerBatchReader.csv(failing));
+    }
+}
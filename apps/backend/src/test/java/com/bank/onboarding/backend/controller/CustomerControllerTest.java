@@ -1,10 +1,16 @@
 package com.bank.onboarding.backend.controller;
 
+import com.bank.onboarding.backend.dto.CursorPage;
+import com.bank.onboarding.backend.dto.CustomerBatchErrorDTO;
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import com.bank.onboarding.backend.dto.CustomerBatchResultDTO;
 import com.bank.onboarding.backend.dto.CustomerCreateDTO;
 import com.bank.onboarding.backend.dto.CustomerResponseDTO;
 import com.bank.onboarding.backend.exception.BusinessException;
 import com.bank.onboarding.backend.exception.GlobalExceptionHandler;
 import com.bank.onboarding.backend.exception.ResourceNotFoundException;
+import com.bank.onboarding.backend.exception.SearchIndexNotReadyException;
+import com.bank.onboarding.backend.service.CustomerBatchService;
 import com.bank.onboarding.backend.service.CustomerService;
 import tools.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -14,13 +20,24 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +52,9 @@ class CustomerControllerTest {
     @MockitoBean
     private CustomerService customerService;
 
+    @MockitoBean
+    private CustomerBatchService customerBatchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -72,7 +92,11 @@ class CustomerControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.errors").exists());
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Error de validacion"))
+                .andExpect(jsonPath("$.errors.email").value("El email debe tener un formato valido"))
+                .andExpect(jsonPath("$.path").value("/api/customers"))
+                .andExpect(jsonPath("$.details").doesNotExist());
     }
 
     @Test
@@ -91,23 +115,100 @@ class CustomerControllerTest {
 
     @Test
     void getAllCustomers_returns200() throws Exception {
-        when(customerService.getAllCustomers()).thenReturn(List.of(buildResponse()));
+        when(customerService.getCustomers(isNull(), isNull()))
+                .thenReturn(new CursorPage<>(List.of(buildResponse()), null));
 
         mockMvc.perform(get("/api/customers"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].fullName").value("Juan Perez"));
     }
 
     @Test
     void getAllCustomers_empty_returns200() throws Exception {
-        when(customerService.getAllCustomers()).thenReturn(Collections.emptyList());
+        when(customerService.getCustomers(isNull(), isNull()))
+                .thenReturn(new CursorPage<>(Collections.emptyList(), null));
 
         mockMvc.perform(get("/api/customers"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    void getCustomers_withMorePages_returnsNextCursorHeaders() throws Exception {
+        when(customerService.getCustomers(eq(10L), eq(1)))
+                .thenReturn(new CursorPage<>(List.of(buildResponse()), 1L));
+
+        mockMvc.perform(get("/api/customers?after=10&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1"))
+                .andExpect(header().string("Link", "<http://localhost/api/customers?size=1&after=1>; rel=\"next\""))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void searchCustomers_passesCriteriaAndReturnsCursor() throws Exception {
+        when(customerService.searchCustomers(eq("juan pe"), eq("test.com"), isNull(), isNull(), eq(1)))
+                .thenReturn(new CursorPage<>(List.of(buildResponse()), 1L));
+
+        mockMvc.perform(get("/api/customers/search").param("name", "juan pe")
+                        .param("emailDomain", "test.com").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1"))
+                .andExpect(jsonPath("$[0].fullName").value("Juan Perez"));
+    }
+
+    @Test
+    void searchCustomers_indexNotReady_returns503() throws Exception {
+        when(customerService.searchCustomers(isNull(), isNull(), eq("CC"), isNull(), isNull()))
+                .thenThrow(new SearchIndexNotReadyException());
+
+        mockMvc.perform(get("/api/customers/search").param("documentType", "CC"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.message").value(new SearchIndexNotReadyException().getMessage()));
+    }
+
+    @Test
+    void createCustomer_noConnectionAvailable_returns503WithoutDetails() throws Exception {
+        when(customerService.createCustomer(any(CustomerCreateDTO.class)))
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction"));
+
+        mockMvc.perform(post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CustomerCreateDTO("CC", "123456", "Juan Perez", "juan@test.com"))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("Servicio ocupado, intente nuevamente"))
+                .andExpect(jsonPath("$.details").doesNotExist());
+    }
+
+    @Test
+    void exportCustomers_ndjson_streamsOneObjectPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CustomerResponseDTO> sink = invocation.getArgument(0);
+            sink.accept(buildResponse());
+            sink.accept(buildResponse());
+            return null;
+        }).when(customerService).exportCustomers(any());
+
+        MvcResult result = mockMvc.perform(get("/api/customers").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Juan Perez",
+                objectMapper.readTree(lines[1]).get("fullName").asString());
+    }
+
     @Test
     void getCustomerById_returns200() throws Exception {
         when(customerService.getCustomerById(1L)).thenReturn(buildResponse());
@@ -117,6 +218,16 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$.id").value(1));
     }
 
+    @Test
+    void unknownRoute_returnsFixed404() throws Exception {
+        mockMvc.perform(get("/api/customers/99/nope"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("Recurso no encontrado"))
+                .andExpect(jsonPath("$.path").doesNotExist());
+    }
+
     @Test
     void getCustomerById_notFound_returns404() throws Exception {
         when(customerService.getCustomerById(99L))
@@ -124,7 +235,18 @@ class CustomerControllerTest {
 
         mockMvc.perform(get("/api/customers/99"))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").exists());
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("Customer not found with id: '99'"))
+                .andExpect(jsonPath("$.path").value("/api/customers/99"))
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                .andExpect(jsonPath("$.details").doesNotExist());
+    }
+
+    @Test
+    void rejectionExceptions_doNotCaptureStackTraces() {
+        assertEquals(0, new ResourceNotFoundException("Cliente no encontrado").getStackTrace().length);
+        assertEquals(0, new BusinessException("Fondos insuficientes").getStackTrace().length);
     }
 
     @Test
@@ -137,4 +259,69 @@ class CustomerControllerTest {
                 .andExpect(jsonPath("$.message").value("Ocurrio un error inesperado"))
                 .andExpect(jsonPath("$.details").value("Unexpected DB error"));
     }
+
+    private List<CustomerBatchRecord> captureBatch() {
+        List<CustomerBatchRecord> received = new ArrayList<>();
+        when(customerBatchService.importCustomers(any())).thenAnswer(invocation -> {
+            Iterator<CustomerBatchRecord> records = invocation.getArgument(0);
+            records.forEachRemaining(received::add);
+            CustomerBatchResultDTO result = new CustomerBatchResultDTO();
+            result.setReceived(received.size());
+            result.setCreated(received.size() - 1);
+            result.setRejected(1);
+            result.getErrors().add(new CustomerBatchErrorDTO(2, Map.of("email", "El email es obligatorio")));
+            return result;
+        });
+        return received;
+    }
+
+    @Test
+    void createCustomers_jsonArray_returnsSummary() throws Exception {
+        List<CustomerBatchRecord> received = captureBatch();
+        List<CustomerCreateDTO> batch = List.of(
+                new CustomerCreateDTO("CC", "1", "Ana", "ana@test.com"),
+                new CustomerCreateDTO("CC", "2", "Luis", ""));
+
+        mockMvc.perform(post("/api/customers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].errors.email").value("El email es obligatorio"));
+
+        assertEquals(2, received.size());
+        assertEquals("Ana", received.get(0).getCustomer().getFullName());
+    }
+
+    @Test
+    void createCustomers_ndjson() throws Exception {
+        List<CustomerBatchRecord> received = captureBatch();
+
+        mockMvc.perform(post("/api/customers/batch")
+                        .contentType("application/x-ndjson")
+                        .content("{\"documentType\":\"CC\",\"documentNumber\":\"1\",\"fullName\":\"Ana\",\"email\":\"ana@test.com\"}\n"
+                                + "{\"documentType\":\"CC\",\"documentNumber\":\"2\",\"fullName\":\"Luis\",\"email\":\"\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2));
+
+        assertEquals(2, received.get(1).getLine());
+        assertEquals("2", received.get(1).getCustomer().getDocumentNumber());
+    }
+
+    @Test
+    void createCustomers_csv() throws Exception {
+        List<CustomerBatchRecord> received = captureBatch();
+
+        mockMvc.perform(post("/api/customers/batch")
+                        .contentType("text/csv")
+                        .content("documentType,documentNumber,fullName,email\nCC,1,Ana,ana@test.com\nCC,2,Luis,\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1));
+
+        assertEquals(3, received.get(1).getLine());
+        assertEquals("", received.get(1).getCustomer().getEmail());
+    }
 }
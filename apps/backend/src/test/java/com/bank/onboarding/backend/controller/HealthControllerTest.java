@@ -1,10 +1,15 @@
 package com.bank.onboarding.backend.controller;
 
+import com.bank.onboarding.backend.service.ReadinessProbe;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -14,15 +19,41 @@ class HealthControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockitoBean
+    private ReadinessProbe readinessProbe;
+
     @Test
-    void health_returns200WithStatus() throws Exception {
+    void health_returnsLatestSnapshot() throws Exception {
+        when(readinessProbe.snapshot()).thenReturn(snapshot(true));
+
         mockMvc.perform(get("/api/health"))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
                 .andExpect(jsonPath("$.status").value("ok"))
-                .andExpect(jsonPath("$.message").value("Server is running"))
-                .andExpect(jsonPath("$.service").value("Bank Onboarding API"))
-                .andExpect(jsonPath("$.version").value("1.0.0"))
-                .andExpect(jsonPath("$.timestamp").exists());
+                .andExpect(jsonPath("$.timestamp").value("2026-01-01T00:00:00"));
+    }
+
+    @Test
+    void live_returnsUpWithoutCheckingReadiness() throws Exception {
+        when(readinessProbe.snapshot()).thenReturn(snapshot(false));
+
+        mockMvc.perform(get("/api/health/live"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(content().json("{\"status\":\"UP\"}"));
+    }
+
+    @Test
+    void ready_followsSnapshot() throws Exception {
+        when(readinessProbe.snapshot()).thenReturn(snapshot(true));
+        mockMvc.perform(get("/api/health/ready"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+
+        when(readinessProbe.snapshot()).thenReturn(snapshot(false));
+        mockMvc.perform(get("/api/health/ready"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("DOWN"));
     }
 
     @Test
@@ -31,7 +62,15 @@ class HealthControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Welcome to Bank Onboarding API"))
                 .andExpect(jsonPath("$.health").value("/api/health"))
+                .andExpect(jsonPath("$.liveness").value("/api/health/live"))
+                .andExpect(jsonPath("$.readiness").value("/api/health/ready"))
                 .andExpect(jsonPath("$.customers").value("/api/customers"))
                 .andExpect(jsonPath("$.accounts").value("/api/accounts"));
     }
+
+    private static ReadinessProbe.Snapshot snapshot(boolean ready) {
+        return new ReadinessProbe.Snapshot(ready,
+                ("{\"status\":\"" + (ready ? "UP" : "DOWN") + "\"}").getBytes(StandardCharsets.UTF_8),
+                "{\"status\":\"ok\",\"timestamp\":\"2026-01-01T00:00:00\"}".getBytes(StandardCharsets.UTF_8));
+    }
 }
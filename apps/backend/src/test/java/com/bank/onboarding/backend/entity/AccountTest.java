@@ -39,7 +39,7 @@ class AccountTest {
 
         assertNotNull(account.getCreatedAt());
         assertNotNull(account.getUpdatedAt());
-        assertEquals(BigDecimal.ZERO, account.getBalance());
+        assertEquals(new BigDecimal("0.00"), account.getBalance());
         assertEquals("ACTIVE", account.getStatus());
     }
 
@@ -54,6 +54,16 @@ class AccountTest {
         assertEquals(new BigDecimal("100.00"), account.getBalance());
     }
 
+    @Test
+    void onCreate_roundsBalanceHalfUp_likeTransactions() {
+        Account account = new Account(1L, "ACC-123", "ACTIVE");
+        account.setBalance(new BigDecimal("10.005"));
+
+        account.onCreate();
+
+        assertEquals(new BigDecimal("10.01"), account.getBalance());
+    }
+
     @Test
     void onUpdate_updatesTimestamp() {
         Account account = new Account(1L, "ACC-123", "ACTIVE");
@@ -0,0 +1,36 @@
+package com.bank.onboarding.backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds, 3 significant digits) and error count for
+ * one endpoint. Failed requests are recorded in the histogram too: a timeout
+ * is latency the caller paid.
+ */
+final class EndpointStats {
+
+    private final Histogram histogram = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long micros, boolean ok) {
+        histogram.recordValue(Math.max(micros, 1));
+        if (!ok) {
+            errors.increment();
+        }
+    }
+
+    Histogram histogram() {
+        return histogram;
+    }
+
+    long count() {
+        return histogram.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
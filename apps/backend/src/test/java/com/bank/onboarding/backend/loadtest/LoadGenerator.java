@@ -0,0 +1,103 @@
+package com.bank.onboarding.backend.loadtest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop driver: flows arrive on a Poisson schedule at {@code rate} per
+ * second whatever the server's response times, each on its own virtual thread.
+ * Only {@code maxInFlight} flows run at once so a stalled server cannot exhaust
+ * the generator; arrivals beyond that are dropped and reported. A
+ * {@link PoolMonitor} covers the same measured period on the server side.
+ */
+final class LoadGenerator {
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    LoadGenerator(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+    }
+
+    LoadReport run() throws InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        long meanGapNanos = (long) (1_000_000_000L / config.rate());
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        PoolMonitor pool = new PoolMonitor(config.metricsTarget().isBlank() ? baseUrl : config.metricsTarget());
+        boolean monitoring = false;
+
+        // The executor is closed first: it waits for the flows still running, which need the client
+        try (HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            OnboardingFlow flow = new OnboardingFlow(client, JsonMapper.builder().build(), baseUrl, runId,
+                    config.transactionsPerFlow(), name -> endpoints.computeIfAbsent(name, k -> new EndpointStats()));
+
+            long arrival = start;
+            while (arrival < end) {
+                parkUntil(arrival);
+                long scheduled = arrival;
+                boolean measured = scheduled >= measureFrom;
+                if (measured && !monitoring) {
+                    pool.start();
+                    monitoring = true;
+                }
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        dropped.increment();
+                    }
+                } else {
+                    if (measured) {
+                        started.increment();
+                    }
+                    executor.submit(() -> {
+                        try {
+                            boolean ok = flow.run(scheduled, measured);
+                            if (measured) {
+                                (ok ? completed : failed).increment();
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+                arrival += nextGap(meanGapNanos);
+            }
+        }
+        return new LoadReport(config, baseUrl, endpoints, pool.stop(), started.sum(), completed.sum(), failed.sum(),
+                dropped.sum());
+    }
+
+    private static long nextGap(long meanGapNanos) {
+        return Math.max(1, (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos));
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.bank.onboarding.backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Results of one run. {@link #write()} creates {@code <reportDir>/<timestamp>/}
+ * with a {@code report.json} (counts, error rate, throughput and latency
+ * percentiles in milliseconds per endpoint) and one {@code .hgrm} percentile
+ * distribution per endpoint, which HdrHistogram's plotter can overlay across
+ * runs. {@link #print} writes the same numbers as a table, plus the deltas
+ * against a baseline report when one is given. Both include the server's
+ * connection pool wait per pool when its Prometheus endpoint was reachable,
+ * and {@link #poolWaitViolation()} checks it against {@code load.max-pool-wait}.
+ */
+final class LoadReport {
+
+    private static final DateTimeFormatter DIRECTORY_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final Map<String, EndpointStats> endpoints;
+    private final Map<String, PoolMonitor.PoolStats> pools;
+    private final long started;
+    private final long completed;
+    private final long failed;
+    private final long dropped;
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    LoadReport(LoadTestConfig config, String baseUrl, Map<String, EndpointStats> endpoints,
+               Map<String, PoolMonitor.PoolStats> pools, long started, long completed, long failed, long dropped) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.endpoints = new TreeMap<>(endpoints);
+        this.pools = new TreeMap<>(pools);
+        this.started = started;
+        this.completed = completed;
+        this.failed = failed;
+        this.dropped = dropped;
+    }
+
+    Path write() throws IOException {
+        Path directory = config.reportDir().resolve(LocalDateTime.now().format(DIRECTORY_NAME));
+        Files.createDirectories(directory);
+        mapper.writerWithDefaultPrettyPrinter().writeValue(directory.resolve("report.json").toFile(), toJson());
+        for (Map.Entry<String, EndpointStats> endpoint : endpoints.entrySet()) {
+            Path file = directory.resolve(fileName(endpoint.getKey()) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                // Recorded in microseconds, reported in milliseconds
+                endpoint.getValue().histogram().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        return directory;
+    }
+
+    void print(PrintStream out) throws IOException {
+        out.printf("%nTarget %s, %.1f flows/s for %s: %d started, %d completed, %d failed, %d dropped%n",
+                baseUrl, config.rate(), config.duration(), started, completed, failed, dropped);
+        out.printf("%-36s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "err%", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, EndpointStats> endpoint : endpoints.entrySet()) {
+            EndpointStats stats = endpoint.getValue();
+            Histogram histogram = stats.histogram();
+            out.printf("%-36s %8d %7.2f %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.getKey(), stats.count(), errorRate(stats) * 100, throughput(stats),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+        printPools(out);
+        if (config.baseline() != null) {
+            printComparison(out, mapper.readTree(config.baseline().toFile()));
+        }
+    }
+
+    /**
+     * Why the run broke {@code load.max-pool-wait}, or {@code null} when it held
+     * (or no bound was set). Without pool metrics the bound cannot be checked,
+     * which counts as a violation.
+     */
+    String poolWaitViolation() {
+        if (config.maxPoolWait().isZero()) {
+            return null;
+        }
+        if (pools.isEmpty()) {
+            return "no pool metrics at " + baseUrl + "/actuator/prometheus to check load.max-pool-wait against";
+        }
+        double limitMs = config.maxPoolWait().toNanos() / 1_000_000.0;
+        for (Map.Entry<String, PoolMonitor.PoolStats> pool : pools.entrySet()) {
+            PoolMonitor.PoolStats stats = pool.getValue();
+            if (stats.p99Ms() > limitMs || stats.timeouts() > 0) {
+                return String.format("pool %s: p99 wait %.2f ms, %d timeouts (limit %.2f ms, no timeouts)",
+                        pool.getKey(), stats.p99Ms(), stats.timeouts(), limitMs);
+            }
+        }
+        return null;
+    }
+
+    private void printPools(PrintStream out) {
+        if (pools.isEmpty()) {
+            out.printf("%nConnection pool: no metrics at %s/actuator/prometheus%n", baseUrl);
+            return;
+        }
+        out.printf("%n%-12s %10s %11s %11s %11s %9s %8s %7s %5s%n",
+                "pool", "acquired", "p50 wait", "p99 wait", "max wait", "timeouts", "pending", "active", "size");
+        for (Map.Entry<String, PoolMonitor.PoolStats> pool : pools.entrySet()) {
+            PoolMonitor.PoolStats stats = pool.getValue();
+            out.printf("%-12s %10d %8.2f ms %8.2f ms %8.2f ms %9d %8d %7d %5d%n",
+                    pool.getKey(), stats.acquisitions(), stats.p50Ms(), stats.p99Ms(), stats.maxMs(),
+                    stats.timeouts(), stats.peakPending(), stats.peakActive(), stats.size());
+        }
+    }
+
+    private void printComparison(PrintStream out, JsonNode baseline) {
+        out.printf("%nAgainst %s%n", config.baseline());
+        out.printf("%-36s %26s %26s %14s%n", "endpoint", "p50 ms", "p99 ms", "err%");
+        JsonNode previous = baseline.path("endpoints");
+        for (Map.Entry<String, EndpointStats> endpoint : endpoints.entrySet()) {
+            JsonNode before = previous.path(endpoint.getKey());
+            if (before.isMissingNode()) {
+                out.printf("%-36s %s%n", endpoint.getKey(), "(not in baseline)");
+                continue;
+            }
+            Histogram histogram = endpoint.getValue().histogram();
+            out.printf("%-36s %26s %26s %14s%n", endpoint.getKey(),
+                    delta(before.path("latencyMs").path("p50").asDouble(), millis(histogram.getValueAtPercentile(50))),
+                    delta(before.path("latencyMs").path("p99").asDouble(), millis(histogram.getValueAtPercentile(99))),
+                    String.format("%.2f -> %.2f", before.path("errorRate").asDouble() * 100,
+                            errorRate(endpoint.getValue()) * 100));
+        }
+    }
+
+    private ObjectNode toJson() {
+        ObjectNode root = mapper.createObjectNode();
+        ObjectNode settings = root.putObject("config");
+        settings.put("target", baseUrl);
+        settings.put("rate", config.rate());
+        settings.put("warmup", config.warmup().toString());
+        settings.put("duration", config.duration().toString());
+        settings.put("transactionsPerFlow", config.transactionsPerFlow());
+        settings.put("maxInFlight", config.maxInFlight());
+        settings.put("maxPoolWait", config.maxPoolWait().toString());
+
+        ObjectNode flows = root.putObject("flows");
+        flows.put("started", started);
+        flows.put("completed", completed);
+        flows.put("failed", failed);
+        flows.put("dropped", dropped);
+
+        ObjectNode byEndpoint = root.putObject("endpoints");
+        for (Map.Entry<String, EndpointStats> endpoint : endpoints.entrySet()) {
+            EndpointStats stats = endpoint.getValue();
+            Histogram histogram = stats.histogram();
+            ObjectNode node = byEndpoint.putObject(endpoint.getKey());
+            node.put("count", stats.count());
+            node.put("errors", stats.errors());
+            node.put("errorRate", errorRate(stats));
+            node.put("throughputPerSecond", throughput(stats));
+            ObjectNode latency = node.putObject("latencyMs");
+            latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+            latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+            latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+            latency.put("p99.9", millis(histogram.getValueAtPercentile(99.9)));
+            latency.put("max", millis(histogram.getMaxValue()));
+            latency.put("mean", histogram.getMean() / 1000.0);
+        }
+
+        // Bucket upper bounds in milliseconds; infinite (past the last bucket) is written as null
+        ObjectNode byPool = root.putObject("pools");
+        for (Map.Entry<String, PoolMonitor.PoolStats> pool : pools.entrySet()) {
+            PoolMonitor.PoolStats stats = pool.getValue();
+            ObjectNode node = byPool.putObject(pool.getKey());
+            node.put("acquisitions", stats.acquisitions());
+            node.put("timeouts", stats.timeouts());
+            node.put("peakPending", stats.peakPending());
+            node.put("peakActive", stats.peakActive());
+            node.put("size", stats.size());
+            ObjectNode wait = node.putObject("waitMs");
+            putFinite(wait, "p50", stats.p50Ms());
+            putFinite(wait, "p99", stats.p99Ms());
+            putFinite(wait, "max", stats.maxMs());
+        }
+        return root;
+    }
+
+    private static void putFinite(ObjectNode node, String field, double value) {
+        if (Double.isFinite(value)) {
+            node.put(field, value);
+        } else {
+            node.putNull(field);
+        }
+    }
+
+    private double throughput(EndpointStats stats) {
+        return stats.count() / (config.duration().toMillis() / 1000.0);
+    }
+
+    private static double errorRate(EndpointStats stats) {
+        return stats.count() == 0 ? 0 : (double) stats.errors() / stats.count();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String delta(double before, double after) {
+        double change = before == 0 ? 0 : (after - before) / before * 100;
+        return String.format("%.2f -> %.2f (%+.0f%%)", before, after, change);
+    }
+
+    private static String fileName(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+}
@@ -0,0 +1,62 @@
+package com.bank.onboarding.backend.loadtest;
+
+import com.bank.onboarding.backend.BackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * End-to-end load test of the REST API: drives {@link OnboardingFlow}s at a
+ * fixed arrival rate against {@code load.target}, or against the application
+ * started in-process on a random port and a fresh H2 database when no target
+ * is given, and writes a {@link LoadReport}. See {@link LoadTestConfig} for the
+ * settings. With {@code load.max-pool-wait} set, the run exits non-zero when the
+ * server's p99 connection pool wait goes over it or a borrow times out.
+ *
+ * <pre>./mvnw -Ploadtest test-compile exec:exec -Dload.rate=50 -Dload.duration=2m</pre>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext context = config.target().isBlank() ? startInProcess() : null;
+        String violation;
+        try {
+            String baseUrl = context == null
+                    ? config.target().replaceAll("/+$", "")
+                    : "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            System.out.printf("Load test against %s: %.1f flows/s, warm-up %s, measuring %s%n",
+                    baseUrl, config.rate(), config.warmup(), config.duration());
+
+            LoadReport report = new LoadGenerator(config, baseUrl).run();
+            Path directory = report.write();
+            report.print(System.out);
+            System.out.printf("%nReport written to %s%n", directory.toAbsolutePath());
+            violation = report.poolWaitViolation();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        if (violation != null) {
+            System.err.printf("%nload.max-pool-wait exceeded: %s%n", violation);
+            System.exit(1);
+        }
+    }
+
+    private static ConfigurableApplicationContext startInProcess() {
+        // Command-line arguments rank above application.properties
+        return new SpringApplicationBuilder(BackendApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--management.endpoints.web.exposure.include=health,prometheus",
+                "--logging.level.root=WARN",
+                "--logging.level.com.bank.onboarding=WARN",
+                "--spring.main.banner-mode=off");
+    }
+}
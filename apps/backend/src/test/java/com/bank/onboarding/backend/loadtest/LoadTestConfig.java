@@ -0,0 +1,45 @@
+package com.bank.onboarding.backend.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test settings, read from {@code load.*} system properties (the
+ * {@code loadtest} Maven profile passes them through).
+ *
+ * @param target              base URL of a running instance; blank starts the app in-process on H2
+ * @param metricsTarget       base URL of its management port, for {@code /actuator/prometheus}; blank uses the target
+ * @param rate                flow arrivals per second (Poisson, independent of response times)
+ * @param warmup              arrivals during this period run but are not recorded
+ * @param duration            measured period after the warm-up
+ * @param transactionsPerFlow deposits/withdrawals per onboarded account
+ * @param maxInFlight         flows running at once before new arrivals are dropped (and counted)
+ * @param reportDir           where each run writes its report directory
+ * @param baseline            previous {@code report.json} to compare against, or {@code null}
+ * @param maxPoolWait         p99 connection pool wait the run must stay under, or zero for no check
+ */
+record LoadTestConfig(String target, String metricsTarget, double rate, Duration warmup, Duration duration, int transactionsPerFlow,
+                      int maxInFlight, Path reportDir, Path baseline, Duration maxPoolWait) {
+
+    static LoadTestConfig fromSystemProperties() {
+        String baseline = property("load.baseline", "");
+        return new LoadTestConfig(
+                property("load.target", ""),
+                property("load.metrics-target", "").replaceAll("/+$", ""),
+                Double.parseDouble(property("load.rate", "20")),
+                DurationStyle.detectAndParse(property("load.warmup", "10s")),
+                DurationStyle.detectAndParse(property("load.duration", "60s")),
+                Integer.parseInt(property("load.transactions-per-flow", "4")),
+                Integer.parseInt(property("load.max-in-flight", "1000")),
+                Path.of(property("load.report-dir", "target/loadtest")),
+                baseline.isBlank() ? null : Path.of(baseline),
+                DurationStyle.detectAndParse(property("load.max-pool-wait", "0ms")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
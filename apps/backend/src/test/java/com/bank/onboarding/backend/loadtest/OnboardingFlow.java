@@ -0,0 +1,126 @@
+package com.bank.onboarding.backend.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * One customer's path through the API: register, read back, open an account,
+ * move money (a deposit first, then deposits and withdrawals that stay within
+ * the balance) and read the statement. A failed step ends the flow.
+ * <p>
+ * The first request is timed from the flow's scheduled arrival, not from when
+ * it was actually sent, so time spent queued behind a slow server counts
+ * (no coordinated omission). Later steps are timed from their own send.
+ */
+final class OnboardingFlow {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final JsonMapper mapper;
+    private final String baseUrl;
+    private final String runId;
+    private final int transactionsPerFlow;
+    private final Function<String, EndpointStats> stats;
+    private final AtomicLong sequence = new AtomicLong();
+
+    OnboardingFlow(HttpClient client, JsonMapper mapper, String baseUrl, String runId, int transactionsPerFlow,
+                   Function<String, EndpointStats> stats) {
+        this.client = client;
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+        this.runId = runId;
+        this.transactionsPerFlow = transactionsPerFlow;
+        this.stats = stats;
+    }
+
+    /** Returns whether every step succeeded. */
+    boolean run(long arrivalNanos, boolean measured) {
+        long n = sequence.incrementAndGet();
+        JsonNode customer = call("POST /api/customers", "POST", "/api/customers", Map.of(
+                "documentType", "CC",
+                "documentNumber", runId + "-" + n,
+                "fullName", "Cliente Carga " + n,
+                "email", "carga-" + runId + "-" + n + "@example.com"), 201, arrivalNanos, measured);
+        if (customer == null) {
+            return false;
+        }
+        long customerId = customer.get("id").asLong();
+
+        if (call("GET /api/customers/{id}", "GET", "/api/customers/" + customerId, null, 200,
+                System.nanoTime(), measured) == null) {
+            return false;
+        }
+
+        JsonNode account = call("POST /api/accounts", "POST", "/api/accounts",
+                Map.of("customerId", customerId), 201, System.nanoTime(), measured);
+        if (account == null) {
+            return false;
+        }
+        long accountId = account.get("id").asLong();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BigDecimal balance = BigDecimal.ZERO;
+        for (int i = 0; i < transactionsPerFlow; i++) {
+            boolean deposit = i == 0 || random.nextBoolean();
+            BigDecimal amount = deposit
+                    ? BigDecimal.valueOf(random.nextInt(10_000, 500_000), 2)
+                    : balance.multiply(BigDecimal.valueOf(random.nextInt(10, 90), 2)).setScale(2, RoundingMode.DOWN);
+            if (amount.signum() <= 0) {
+                continue;
+            }
+            String type = deposit ? "DEPOSIT" : "WITHDRAWAL";
+            JsonNode result = call("POST /api/accounts/{id}/transaction", "POST",
+                    "/api/accounts/" + accountId + "/transaction",
+                    Map.of("type", type, "amount", amount), 200, System.nanoTime(), measured);
+            if (result == null) {
+                return false;
+            }
+            balance = result.get("balance").decimalValue();
+        }
+
+        return call("GET /api/accounts/{id}/transactions", "GET",
+                "/api/accounts/" + accountId + "/transactions", null, 200, System.nanoTime(), measured) != null;
+    }
+
+    private JsonNode call(String endpoint, String method, String path, Object body, int expectedStatus,
+                          long startNanos, boolean measured) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        JsonNode parsed = null;
+        try {
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == expectedStatus) {
+                parsed = mapper.readTree(response.body());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // timeout, connection refused/reset: recorded below as an error
+        }
+        if (measured) {
+            stats.apply(endpoint).record((System.nanoTime() - startNanos) / 1_000, parsed != null);
+        }
+        return parsed;
+    }
+}
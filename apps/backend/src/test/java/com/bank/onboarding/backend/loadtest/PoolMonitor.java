@@ -0,0 +1,168 @@
+package com.bank.onboarding.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Connection pool wait during the measured period, read from the server's
+ * {@code /actuator/prometheus}: {@link #start()} and {@link #stop()} scrape the
+ * cumulative {@code hikaricp_connections_acquire_seconds} buckets and timeout
+ * count, and the difference is what the measured period added (the warm-up and
+ * anything before it drop out). In between, a sampler records the peak of
+ * {@code hikaricp_connections_pending} and {@code _active} every
+ * {@link #SAMPLE_EVERY}.
+ * <p>
+ * Percentiles come from the histogram buckets, so they are upper bounds at
+ * bucket resolution. The {@code prod} profile serves it on the management
+ * port only, so a deployed instance needs {@code load.metrics-target}; when the
+ * endpoint cannot be reached, {@link #stop()} returns an empty map.
+ */
+final class PoolMonitor {
+
+    private static final Duration SAMPLE_EVERY = Duration.ofMillis(500);
+    private static final Pattern SAMPLE = Pattern.compile("^(hikaricp_connections\\w*)\\{([^}]*)} (\\S+)");
+    private static final Pattern LABEL = Pattern.compile("(\\w+)=\"([^\"]*)\"");
+
+    /** Per pool: acquire time percentiles and peaks over the measured period. */
+    record PoolStats(long acquisitions, double p50Ms, double p99Ms, double maxMs, long timeouts,
+                     int peakPending, int peakActive, int size) {
+    }
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final URI endpoint;
+    private final Map<String, Integer> peakPending = new ConcurrentHashMap<>();
+    private final Map<String, Integer> peakActive = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private Snapshot before;
+    private Thread sampler;
+
+    PoolMonitor(String baseUrl) {
+        this.endpoint = URI.create(baseUrl + "/actuator/prometheus");
+    }
+
+    void start() {
+        before = scrape();
+        if (before == null) {
+            return;
+        }
+        running = true;
+        sampler = Thread.ofVirtual().name("pool-monitor").start(() -> {
+            while (running) {
+                Snapshot current = scrape();
+                if (current != null) {
+                    current.pending.forEach((pool, value) -> peakPending.merge(pool, value.intValue(), Math::max));
+                    current.active.forEach((pool, value) -> peakActive.merge(pool, value.intValue(), Math::max));
+                }
+                try {
+                    Thread.sleep(SAMPLE_EVERY);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    Map<String, PoolStats> stop() throws InterruptedException {
+        running = false;
+        if (sampler != null) {
+            sampler.interrupt();
+            sampler.join();
+        }
+        Snapshot after = before == null ? null : scrape();
+        client.close();
+        if (after == null) {
+            return Map.of();
+        }
+
+        Map<String, PoolStats> pools = new TreeMap<>();
+        for (Map.Entry<String, TreeMap<Double, Double>> pool : after.buckets.entrySet()) {
+            String name = pool.getKey();
+            TreeMap<Double, Double> previous = before.buckets.getOrDefault(name, new TreeMap<>());
+            TreeMap<Double, Long> added = new TreeMap<>();
+            pool.getValue().forEach((le, count) -> added.put(le, (long) (count - previous.getOrDefault(le, 0.0))));
+            long total = added.isEmpty() ? 0 : added.lastEntry().getValue();
+            pools.put(name, new PoolStats(total, percentileMs(added, total, 0.50), percentileMs(added, total, 0.99),
+                    maxMs(added),
+                    (long) (after.timeouts.getOrDefault(name, 0.0) - before.timeouts.getOrDefault(name, 0.0)),
+                    peakPending.getOrDefault(name, after.pending.getOrDefault(name, 0.0).intValue()),
+                    peakActive.getOrDefault(name, after.active.getOrDefault(name, 0.0).intValue()),
+                    after.size.getOrDefault(name, 0.0).intValue()));
+        }
+        return pools;
+    }
+
+    // Cumulative buckets: the first bound holding the target rank
+    private static double percentileMs(TreeMap<Double, Long> cumulative, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        for (Map.Entry<Double, Long> bucket : cumulative.entrySet()) {
+            if (bucket.getValue() >= rank) {
+                return bucket.getKey() * 1000;
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    // The bound of the first bucket that already holds every acquisition
+    private static double maxMs(TreeMap<Double, Long> cumulative) {
+        return cumulative.isEmpty() ? 0 : percentileMs(cumulative, cumulative.lastEntry().getValue(), 1.0);
+    }
+
+    private Snapshot scrape() {
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(endpoint)
+                    .timeout(Duration.ofSeconds(5)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? Snapshot.parse(response.body()) : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private record Snapshot(Map<String, TreeMap<Double, Double>> buckets, Map<String, Double> timeouts,
+                            Map<String, Double> pending, Map<String, Double> active, Map<String, Double> size) {
+
+        static Snapshot parse(String body) {
+            Snapshot snapshot = new Snapshot(new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>(),
+                    new HashMap<>());
+            for (String line : body.split("\n")) {
+                Matcher sample = SAMPLE.matcher(line);
+                if (!sample.find()) {
+                    continue;
+                }
+                Map<String, String> labels = new HashMap<>();
+                Matcher label = LABEL.matcher(sample.group(2));
+                while (label.find()) {
+                    labels.put(label.group(1), label.group(2));
+                }
+                String pool = labels.get("pool");
+                double value = Double.parseDouble(sample.group(3));
+                switch (sample.group(1)) {
+                    case "hikaricp_connections_acquire_seconds_bucket" -> snapshot.buckets
+                            .computeIfAbsent(pool, k -> new TreeMap<>())
+                            .put(Double.parseDouble(labels.get("le").replace("+Inf", "Infinity")), value);
+                    case "hikaricp_connections_timeout_total" -> snapshot.timeouts.put(pool, value);
+                    case "hikaricp_connections_pending" -> snapshot.pending.put(pool, value);
+                    case "hikaricp_connections_active" -> snapshot.active.put(pool, value);
+                    case "hikaricp_connections_max" -> snapshot.size.put(pool, value);
+                    default -> {
+                    }
+                }
+            }
+            return snapshot;
+        }
+    }
+}
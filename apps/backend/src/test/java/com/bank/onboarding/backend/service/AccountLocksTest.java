@@ -0,0 +1,122 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.exception.AccountBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLocksTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountLocks locks = new AccountLocks(meterRegistry, true, 64, Duration.ofMillis(200));
+
+    @Test
+    void sameAccount_runsOneAtATime() throws Exception {
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        int threads = 8;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            CountDownLatch start = new CountDownLatch(1);
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        locks.withLock(7L, () -> {
+                            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                            Thread.yield();
+                            return inside.decrementAndGet();
+                        });
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(1, maxInside.get());
+    }
+
+    @Test
+    void differentAccounts_doNotWaitOnEachOther() throws Exception {
+        Long held = 1L;
+        Long other = findAccountOnAnotherStripe(held);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<?> holder = executor.submit(() -> locks.withLock(held, () -> {
+                holding.countDown();
+                await(release);
+                return null;
+            }));
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            assertEquals("ok", locks.withLock(other, () -> "ok"));
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void busyAccount_timesOut() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            executor.submit(() -> locks.withLock(3L, () -> {
+                holding.countDown();
+                await(release);
+                return null;
+            }));
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            assertThrows(AccountBusyException.class, () -> locks.withLock(3L, () -> "never"));
+            release.countDown();
+        }
+
+        assertEquals(1.0, meterRegistry.get("account.locks.timeouts").counter().count());
+        assertEquals("again", locks.withLock(3L, () -> "again"));
+    }
+
+    @Test
+    void lockIsReleasedWhenActionFails() {
+        assertThrows(IllegalStateException.class, () -> locks.withLock(5L, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("ok", locks.withLock(5L, () -> "ok"));
+    }
+
+    @Test
+    void stripes_mustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AccountLocks(meterRegistry, true, 1000, Duration.ofSeconds(1)));
+    }
+
+    private Long findAccountOnAnotherStripe(Long accountId) {
+        long candidate = accountId + 1;
+        while (locks.stripe(candidate) == locks.stripe(accountId)) {
+            candidate++;
+        }
+        return candidate;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
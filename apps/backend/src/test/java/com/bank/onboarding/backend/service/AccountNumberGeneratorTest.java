@@ -0,0 +1,157 @@
+package com.bank.onboarding.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountNumberGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int TOTAL = 10_000_000;
+
+    @Test
+    void format_appendsLuhnCheckDigit() {
+        assertEquals("ACC-79927398713", AccountNumberGenerator.format(7992739871L));
+        assertEquals("ACC-10009", AccountNumberGenerator.format(1000L));
+        assertEquals("ACC-00", AccountNumberGenerator.format(0L));
+    }
+
+    @Test
+    void isValid_checksPrefixDigitsAndCheckDigit() {
+        assertTrue(AccountNumberGenerator.isValid("ACC-79927398713"));
+        assertFalse(AccountNumberGenerator.isValid("ACC-79927398710"));
+        assertFalse(AccountNumberGenerator.isValid("ACC-7992739871A"));
+        assertFalse(AccountNumberGenerator.isValid("ACC-79927-98713"));
+        assertFalse(AccountNumberGenerator.isValid("ACC-1"));
+        assertFalse(AccountNumberGenerator.isValid("XYZ-79927398713"));
+        assertFalse(AccountNumberGenerator.isValid(null));
+        assertFalse(AccountNumberGenerator.isValid("ACC-1712345678901-4321"));
+    }
+
+    @Test
+    void next_producesValidNumbers() {
+        SnowflakeAccountNumberGenerator generator = new SnowflakeAccountNumberGenerator(7);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(AccountNumberGenerator.isValid(generator.next()));
+        }
+    }
+
+    @Test
+    void snowflake_encodesTimeNodeAndSequence() {
+        long now = SnowflakeAccountNumberGenerator.EPOCH_MS + 5_000;
+        SnowflakeAccountNumberGenerator generator = new SnowflakeAccountNumberGenerator(3, () -> now);
+
+        long first = generator.nextValue();
+        long second = generator.nextValue();
+
+        assertEquals(5_000L, first >>> 22);
+        assertEquals(3L, (first >>> 12) & SnowflakeAccountNumberGenerator.MAX_NODE);
+        assertEquals(0L, first & 0xfff);
+        assertEquals(1L, second & 0xfff);
+    }
+
+    @Test
+    void snowflake_staysMonotonicWhenClockGoesBack() {
+        AtomicLong clock = new AtomicLong(SnowflakeAccountNumberGenerator.EPOCH_MS + 10_000);
+        SnowflakeAccountNumberGenerator generator = new SnowflakeAccountNumberGenerator(1, clock::get);
+
+        long before = generator.nextValue();
+        clock.addAndGet(-5_000);
+        long after = generator.nextValue();
+
+        assertTrue(after > before);
+    }
+
+    @Test
+    void snowflake_waitsForClockWhenTooFarAhead() {
+        long start = SnowflakeAccountNumberGenerator.EPOCH_MS;
+        long capacity = (SnowflakeAccountNumberGenerator.MAX_DRIFT_MS + 1) << SnowflakeAccountNumberGenerator.SEQUENCE_BITS;
+        AtomicLong reads = new AtomicLong();
+        // Frozen clock until the drift limit is hit, then time moves on.
+        SnowflakeAccountNumberGenerator generator = new SnowflakeAccountNumberGenerator(0,
+                () -> reads.incrementAndGet() <= capacity + 10 ? start : start + 5_000);
+
+        long value = 0;
+        for (long i = 0; i <= capacity; i++) {
+            value = generator.nextValue();
+        }
+
+        assertEquals(5_000L, value >>> 22);
+    }
+
+    @Test
+    void snowflake_rejectsNodeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeAccountNumberGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeAccountNumberGenerator(1024));
+    }
+
+    @Test
+    void sequenceBlock_takesNewBlockWhenExhausted() {
+        AtomicLong sequence = new AtomicLong(1);
+        SequenceBlockAccountNumberGenerator generator =
+                new SequenceBlockAccountNumberGenerator(() -> sequence.getAndAdd(3), 3);
+
+        long[] values = new long[7];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = generator.nextValue();
+        }
+
+        assertArrayEquals(new long[]{1, 2, 3, 4, 5, 6, 7}, values);
+        assertEquals(10, sequence.get());
+    }
+
+    @Test
+    void sequenceBlock_rejectsInvalidBlockSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SequenceBlockAccountNumberGenerator(() -> 1L, 0));
+    }
+
+    @Test
+    void snowflake_tenMillionConcurrent_noDuplicates() throws Exception {
+        assertNoDuplicates("snowflake", new SnowflakeAccountNumberGenerator(42));
+    }
+
+    @Test
+    void sequenceBlock_tenMillionConcurrent_noDuplicates() throws Exception {
+        AtomicLong sequence = new AtomicLong(1);
+        assertNoDuplicates("sequence-block", new SequenceBlockAccountNumberGenerator(() -> sequence.getAndAdd(1_000), 1_000));
+    }
+
+    private static void assertNoDuplicates(String name, AccountNumberGenerator generator) throws Exception {
+        long[] values = new long[TOTAL];
+        int perThread = TOTAL / THREADS;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t * perThread;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < offset + perThread; i++) {
+                        values[i] = generator.nextValue();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - started;
+        System.out.printf("[%s] %d numbers on %d threads in %d ms (%.1f M/s)%n",
+                name, TOTAL, THREADS, elapsed / 1_000_000, TOTAL * 1_000.0 / elapsed);
+
+        Arrays.sort(values);
+        for (int i = 1; i < values.length; i++) {
+            assertNotEquals(values[i - 1], values[i], "duplicate value " + values[i]);
+        }
+    }
+}
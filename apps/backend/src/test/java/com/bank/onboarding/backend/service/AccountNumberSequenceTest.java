@@ -0,0 +1,84 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.dto.AccountCreateDTO;
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Own database: the sequence keeps the block size of whichever context creates it first
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:account-number-seq;DB_CLOSE_DELAY=-1",
+        "app.account-number.block-size=3"
+})
+class AccountNumberSequenceTest {
+
+    @Autowired
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void defaultGenerator_reservesBlocksFromDatabaseSequence() {
+        assertInstanceOf(SequenceBlockAccountNumberGenerator.class, accountNumberGenerator);
+
+        long previous = accountNumberGenerator.nextValue();
+        for (int i = 0; i < 10; i++) {
+            long value = accountNumberGenerator.nextValue();
+            assertTrue(value > previous);
+            previous = value;
+        }
+    }
+
+    @Test
+    void createAccount_assignsUniqueCheckedNumbers() {
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            Customer customer = customerRepository.save(
+                    new Customer("CC", "SEQ-" + i, "Cliente " + i, "seq-" + i + "@test.com"));
+            AccountResponseDTO account = accountService.createAccount(new AccountCreateDTO(customer.getId()));
+            assertTrue(AccountNumberGenerator.isValid(account.getAccountNumber()));
+            numbers.add(account.getAccountNumber());
+        }
+        assertEquals(5, numbers.size());
+    }
+
+    @Test
+    void restart_withSameBlockSize_continuesAfterPreviousBlocks() {
+        long before = accountNumberGenerator.nextValue();
+
+        SequenceBlockAccountNumberGenerator restarted =
+                new SequenceBlockAccountNumberGenerator(jdbcTemplate, entityManagerFactory, 3);
+
+        assertTrue(restarted.nextValue() > before);
+    }
+
+    @Test
+    void restart_withDifferentBlockSize_failsInsteadOfOverlapping() {
+        accountNumberGenerator.nextValue();
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> new SequenceBlockAccountNumberGenerator(jdbcTemplate, entityManagerFactory, 5));
+
+        assertTrue(error.getMessage().contains("increments by 3"));
+    }
+}
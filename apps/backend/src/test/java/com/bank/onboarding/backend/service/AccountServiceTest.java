@@ -2,26 +2,39 @@ package com.bank.onboarding.backend.service;
 
 import com.bank.onboarding.backend.dto.AccountCreateDTO;
 import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.AccountTransactionDTO;
+import com.bank.onboarding.backend.dto.CursorPage;
 import com.bank.onboarding.backend.dto.TransactionDTO;
 import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.entity.AccountTransaction;
+import com.bank.onboarding.backend.entity.Customer;
 import com.bank.onboarding.backend.exception.BusinessException;
 import com.bank.onboarding.backend.exception.ResourceNotFoundException;
 import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.repository.AccountTransactionRepository;
 import com.bank.onboarding.backend.repository.CustomerRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,10 +43,20 @@ class AccountServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountTransactionRepository accountTransactionRepository;
+
     @Mock
     private CustomerRepository customerRepository;
 
-    @InjectMocks
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private TransactionBatcher transactionBatcher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private AccountService accountService;
 
     private AccountCreateDTO createDTO;
@@ -41,6 +64,11 @@ class AccountServiceTest {
 
     @BeforeEach
     void setUp() {
+        accountService = new AccountService(accountRepository, accountTransactionRepository, customerRepository,
+                new TransactionEngine(accountRepository, accountTransactionRepository), new SequenceBlockAccountNumberGenerator(() -> 1_000L, 10),
+                idempotencyStore, new AccountLocks(new SimpleMeterRegistry(), true, 16, Duration.ofSeconds(1)),
+                transactionBatcher, new PageSizes(2, 5), meterRegistry);
+
         createDTO = new AccountCreateDTO(1L);
 
         account = new Account(1L, "ACC-1234567890-1234", "ACTIVE");
@@ -50,7 +78,7 @@ class AccountServiceTest {
 
     @Test
     void createAccount_success() {
-        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(new Customer()));
         when(accountRepository.existsByCustomerId(1L)).thenReturn(false);
         when(accountRepository.save(any(Account.class))).thenReturn(account);
 
@@ -62,12 +90,14 @@ class AccountServiceTest {
         assertEquals("ACTIVE", result.getStatus());
         assertEquals(BigDecimal.ZERO, result.getBalance());
         assertTrue(result.getAccountNumber().startsWith("ACC-"));
-        verify(accountRepository).save(any(Account.class));
+        ArgumentCaptor<Account> saved = ArgumentCaptor.forClass(Account.class);
+        verify(accountRepository).save(saved.capture());
+        assertEquals("ACC-10009", saved.getValue().getAccountNumber());
     }
 
     @Test
     void createAccount_customerNotFound_throwsResourceNotFoundException() {
-        when(customerRepository.existsById(1L)).thenReturn(false);
+        when(customerRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class,
                 () -> accountService.createAccount(createDTO));
@@ -77,7 +107,7 @@ class AccountServiceTest {
 
     @Test
     void createAccount_duplicateAccount_throwsBusinessException() {
-        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(new Customer()));
         when(accountRepository.existsByCustomerId(1L)).thenReturn(true);
 
         assertThrows(BusinessException.class,
@@ -88,26 +118,92 @@ class AccountServiceTest {
 
     @Test
     void getAllAccounts_returnsList() {
-        when(accountRepository.findAll()).thenReturn(List.of(account));
+        when(accountRepository.findResponses(0L, Limit.of(3))).thenReturn(List.of(new AccountResponseDTO(account)));
 
-        List<AccountResponseDTO> result = accountService.getAllAccounts();
+        CursorPage<AccountResponseDTO> result = accountService.getAccounts(null, null);
 
-        assertEquals(1, result.size());
-        assertEquals("ACC-1234567890-1234", result.get(0).getAccountNumber());
+        assertEquals(1, result.getItems().size());
+        assertEquals("ACC-1234567890-1234", result.getItems().get(0).getAccountNumber());
+        assertFalse(result.hasNext());
     }
 
     @Test
     void getAllAccounts_emptyList() {
-        when(accountRepository.findAll()).thenReturn(Collections.emptyList());
+        when(accountRepository.findResponses(0L, Limit.of(3))).thenReturn(Collections.emptyList());
+
+        CursorPage<AccountResponseDTO> result = accountService.getAccounts(null, null);
+
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getAccounts_extraRow_setsNextCursorToLastReturnedId() {
+        List<AccountResponseDTO> rows = new ArrayList<>();
+        for (long id = 11; id <= 14; id++) {
+            rows.add(new AccountResponseDTO(id, id, "ACC-" + id, "ACTIVE", BigDecimal.ZERO, null, null));
+        }
+        when(accountRepository.findResponses(10L, Limit.of(4))).thenReturn(rows);
+
+        CursorPage<AccountResponseDTO> result = accountService.getAccounts(10L, 3);
+
+        assertEquals(3, result.getItems().size());
+        assertEquals(13L, result.getNextCursor());
+    }
+
+    @Test
+    void getTransactions_extraRow_setsNextCursorToLastReturnedId() {
+        List<AccountTransactionDTO> rows = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            rows.add(new AccountTransactionDTO((long) i, 1L, "DEPOSIT", BigDecimal.TEN,
+                    BigDecimal.TEN.multiply(BigDecimal.valueOf(i)), null));
+        }
+        when(accountTransactionRepository.findResponses(1L, 0L, Limit.of(3)))
+                .thenReturn(rows);
+
+        CursorPage<AccountTransactionDTO> result = accountService.getTransactions(1L, null, 2);
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(new BigDecimal("20"), result.getItems().get(1).getBalanceAfter());
+        assertEquals(2L, result.getNextCursor());
+        verify(accountRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getTransactions_emptyPage_existingAccount_returnsEmpty() {
+        when(accountTransactionRepository.findResponses(1L, 5L, Limit.of(3)))
+                .thenReturn(Collections.emptyList());
+        when(accountRepository.existsById(1L)).thenReturn(true);
+
+        CursorPage<AccountTransactionDTO> result = accountService.getTransactions(1L, 5L, null);
 
-        List<AccountResponseDTO> result = accountService.getAllAccounts();
+        assertTrue(result.getItems().isEmpty());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void getTransactions_accountNotFound_throwsResourceNotFoundException() {
+        when(accountTransactionRepository.findResponses(99L, 0L, Limit.of(3)))
+                .thenReturn(Collections.emptyList());
+        when(accountRepository.existsById(99L)).thenReturn(false);
 
-        assertTrue(result.isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> accountService.getTransactions(99L, null, null));
+    }
+
+    @Test
+    void exportAccounts_streamsEachRow() {
+        AccountResponseDTO row = new AccountResponseDTO(account);
+        when(accountRepository.streamResponses()).thenReturn(Stream.of(row));
+        List<AccountResponseDTO> exported = new ArrayList<>();
+
+        accountService.exportAccounts(exported::add);
+
+        assertEquals(List.of(row), exported);
     }
 
     @Test
     void getAccountsByCustomerId_returnsList() {
-        when(accountRepository.findAllByCustomerId(1L)).thenReturn(List.of(account));
+        when(accountRepository.findResponsesByCustomerId(1L)).thenReturn(List.of(new AccountResponseDTO(account)));
 
         List<AccountResponseDTO> result = accountService.getAccountsByCustomerId(1L);
 
@@ -118,12 +214,12 @@ class AccountServiceTest {
     @Test
     void updateAccountStatus_success() {
         when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
-        when(accountRepository.save(any(Account.class))).thenReturn(account);
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(account);
 
         AccountResponseDTO result = accountService.updateAccountStatus(1L, "INACTIVE");
 
         assertNotNull(result);
-        verify(accountRepository).save(account);
+        verify(accountRepository).saveAndFlush(account);
     }
 
     @Test
@@ -133,52 +229,68 @@ class AccountServiceTest {
         assertThrows(ResourceNotFoundException.class,
                 () -> accountService.updateAccountStatus(99L, "INACTIVE"));
 
-        verify(accountRepository, never()).save(any());
+        verify(accountRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void transaction_deposit_success() {
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
-        when(accountRepository.save(any(Account.class))).thenReturn(account);
+        when(accountRepository.deposit(eq(1L), eq(new BigDecimal("100.00")), any())).thenReturn(1);
+        account.setBalance(new BigDecimal("100.00"));
+        when(accountRepository.findCurrentById(1L)).thenReturn(Optional.of(account));
 
         TransactionDTO dto = new TransactionDTO("DEPOSIT", new BigDecimal("100.00"));
         AccountResponseDTO result = accountService.transaction(1L, dto);
 
         assertNotNull(result);
-        verify(accountRepository).save(account);
-        assertEquals(new BigDecimal("100.00"), account.getBalance());
+        assertEquals(new BigDecimal("100.00"), result.getBalance());
+        verify(accountRepository, never()).withdraw(any(), any(), any());
+        verify(accountRepository, never()).save(any());
+        ArgumentCaptor<AccountTransaction> entry = ArgumentCaptor.forClass(AccountTransaction.class);
+        verify(accountTransactionRepository).save(entry.capture());
+        assertEquals(1L, entry.getValue().getAccountId());
+        assertEquals("DEPOSIT", entry.getValue().getType());
+        assertEquals(new BigDecimal("100.00"), entry.getValue().getAmount());
+        assertEquals(new BigDecimal("100.00"), entry.getValue().getBalanceAfter());
+        assertEquals(1, transactionTimer("DEPOSIT", "success").count());
     }
 
     @Test
     void transaction_withdrawal_success() {
-        account.setBalance(new BigDecimal("500.00"));
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
-        when(accountRepository.save(any(Account.class))).thenReturn(account);
+        when(accountRepository.withdraw(eq(1L), eq(new BigDecimal("200.00")), any())).thenReturn(1);
+        account.setBalance(new BigDecimal("300.00"));
+        when(accountRepository.findCurrentById(1L)).thenReturn(Optional.of(account));
 
         TransactionDTO dto = new TransactionDTO("WITHDRAWAL", new BigDecimal("200.00"));
         AccountResponseDTO result = accountService.transaction(1L, dto);
 
         assertNotNull(result);
-        verify(accountRepository).save(account);
-        assertEquals(new BigDecimal("300.00"), account.getBalance());
+        assertEquals(new BigDecimal("300.00"), result.getBalance());
+        verify(accountRepository, never()).deposit(any(), any(), any());
+        verify(accountRepository, never()).save(any());
     }
 
     @Test
     void transaction_insufficientFunds_throwsBusinessException() {
         account.setBalance(new BigDecimal("50.00"));
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(accountRepository.withdraw(eq(1L), any(), any())).thenReturn(0);
+        when(accountRepository.findCurrentById(1L)).thenReturn(Optional.of(account));
 
         TransactionDTO dto = new TransactionDTO("WITHDRAWAL", new BigDecimal("100.00"));
 
-        assertThrows(BusinessException.class,
+        BusinessException exception = assertThrows(BusinessException.class,
                 () -> accountService.transaction(1L, dto));
 
+        assertEquals("Fondos insuficientes", exception.getMessage());
         verify(accountRepository, never()).save(any());
+        verifyNoInteractions(accountTransactionRepository);
+        assertEquals(1, transactionTimer("WITHDRAWAL", "rejected").count());
+        assertEquals(0, transactionTimer("WITHDRAWAL", "success").count());
     }
 
     @Test
     void transaction_accountNotFound_throwsResourceNotFoundException() {
-        when(accountRepository.findById(99L)).thenReturn(Optional.empty());
+        when(accountRepository.deposit(eq(99L), any(), any())).thenReturn(0);
+        when(accountRepository.findCurrentById(99L)).thenReturn(Optional.empty());
 
         TransactionDTO dto = new TransactionDTO("DEPOSIT", new BigDecimal("100.00"));
 
@@ -186,18 +298,83 @@ class AccountServiceTest {
                 () -> accountService.transaction(99L, dto));
 
         verify(accountRepository, never()).save(any());
+        assertEquals(1, transactionTimer("DEPOSIT", "not_found").count());
+    }
+
+    @Test
+    void transaction_accountDeletedAfterUpdate_throwsResourceNotFoundException() {
+        when(accountRepository.deposit(eq(1L), any(), any())).thenReturn(1);
+        when(accountRepository.findCurrentById(1L)).thenReturn(Optional.empty());
+
+        TransactionDTO dto = new TransactionDTO("DEPOSIT", new BigDecimal("100.00"));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> accountService.transaction(1L, dto));
     }
 
     @Test
     void transaction_inactiveAccount_throwsBusinessException() {
         account.setStatus("INACTIVE");
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(accountRepository.deposit(eq(1L), any(), any())).thenReturn(0);
+        when(accountRepository.findCurrentById(1L)).thenReturn(Optional.of(account));
 
         TransactionDTO dto = new TransactionDTO("DEPOSIT", new BigDecimal("100.00"));
 
-        assertThrows(BusinessException.class,
+        BusinessException exception = assertThrows(BusinessException.class,
                 () -> accountService.transaction(1L, dto));
 
+        assertEquals("La cuenta no está activa", exception.getMessage());
         verify(accountRepository, never()).save(any());
     }
+
+    @Test
+    void transaction_withoutIdempotencyKey_skipsStore() {
+        when(accountRepository.deposit(eq(1L), any(), any())).thenReturn(1);
+        when(accountRepository.findCurrentById(1L)).thenReturn(Optional.of(account));
+
+        accountService.transaction(1L, new TransactionDTO("DEPOSIT", new BigDecimal("100.00")), null);
+
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void transaction_withIdempotencyKey_runsThroughStore() {
+        when(accountRepository.deposit(eq(1L), any(), any())).thenReturn(1);
+        when(accountRepository.findCurrentById(1L)).thenReturn(Optional.of(account));
+        when(idempotencyStore.execute(eq("key-1"), eq("1:DEPOSIT:100"), any()))
+                .thenAnswer(invocation -> ((Supplier<AccountResponseDTO>) invocation.getArgument(2)).get());
+
+        AccountResponseDTO result = accountService.transaction(1L,
+                new TransactionDTO("DEPOSIT", new BigDecimal("100.00")), "key-1");
+
+        assertEquals(1L, result.getId());
+        verify(accountRepository).deposit(eq(1L), eq(new BigDecimal("100.00")), any());
+    }
+
+    @Test
+    void transaction_batchingEnabled_submitsToBatcher() {
+        AccountResponseDTO queued = new AccountResponseDTO(account);
+        when(transactionBatcher.isEnabled()).thenReturn(true);
+        when(transactionBatcher.submit(1L, "DEPOSIT", new BigDecimal("100.00"))).thenReturn(queued);
+
+        AccountResponseDTO result = accountService.transaction(1L, new TransactionDTO("DEPOSIT", new BigDecimal("100.00")));
+
+        assertSame(queued, result);
+        verify(accountRepository, never()).deposit(any(), any(), any());
+    }
+
+    @Test
+    void transaction_batchingEnabledWithIdempotencyKey_bypassesBatcher() {
+        lenient().when(transactionBatcher.isEnabled()).thenReturn(true);
+        when(idempotencyStore.execute(eq("key-1"), any(), any())).thenReturn(new AccountResponseDTO(account));
+
+        accountService.transaction(1L, new TransactionDTO("DEPOSIT", new BigDecimal("100.00")), "key-1");
+
+        verify(transactionBatcher, never()).submit(any(), any(), any());
+    }
+
+    private Timer transactionTimer(String type, String outcome) {
+        return meterRegistry.get("account.transactions").tag("type", type).tag("outcome", outcome).timer();
+    }
 }
@@ -0,0 +1,107 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.dto.AccountTransactionDTO;
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.exception.BusinessException;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.repository.AccountTransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AccountTransactionConcurrencyTest {
+
+    private static final int WRITERS = 64;
+
+    @Autowired
+    private TransactionEngine transactionEngine;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+
+    @Test
+    void concurrentDeposits_neverLoseUpdates() throws Exception {
+        Account account = accountRepository.save(new Account(9_001L, "ACC-CONC-DEPOSIT", "ACTIVE"));
+        int depositsPerWriter = 25;
+
+        runConcurrently(() -> {
+            for (int i = 0; i < depositsPerWriter; i++) {
+                transactionEngine.apply(account.getId(), "DEPOSIT", new BigDecimal("1.00"));
+            }
+        });
+
+        BigDecimal expected = new BigDecimal(WRITERS * depositsPerWriter).setScale(2);
+        assertEquals(expected, accountRepository.findById(account.getId()).orElseThrow().getBalance());
+
+        // In id order, each ledger entry's balance is the previous one plus its amount.
+        List<AccountTransactionDTO> ledger = accountTransactionRepository.findResponses(
+                account.getId(), 0L, Limit.of(WRITERS * depositsPerWriter + 1));
+        assertEquals(WRITERS * depositsPerWriter, ledger.size());
+        BigDecimal running = BigDecimal.ZERO.setScale(2);
+        for (AccountTransactionDTO entry : ledger) {
+            running = running.add(entry.getAmount());
+            assertEquals(running, entry.getBalanceAfter());
+        }
+    }
+
+    @Test
+    void concurrentWithdrawals_neverOverdraw() throws Exception {
+        Account account = new Account(9_002L, "ACC-CONC-WITHDRAW", "ACTIVE");
+        account.setBalance(new BigDecimal("100.00"));
+        Account saved = accountRepository.save(account);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            try {
+                transactionEngine.apply(saved.getId(), "WITHDRAWAL", new BigDecimal("10.00"));
+                succeeded.incrementAndGet();
+            } catch (BusinessException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(10, succeeded.get());
+        assertEquals(WRITERS - 10, rejected.get());
+        assertEquals(new BigDecimal("0.00"), accountRepository.findById(saved.getId()).orElseThrow().getBalance());
+        assertEquals(10, accountTransactionRepository.findResponses(
+                saved.getId(), 0L, Limit.of(WRITERS)).size());
+    }
+
+    private void runConcurrently(Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.config.BlindIndexListener;
+import com.bank.onboarding.backend.config.BlindIndexService;
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BlindIndexBackfillTest {
+
+    private static final String KEY = "test-encryption-key-2024";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BlindIndexListener blindIndexListener;
+
+    @Autowired
+    private BlindIndexService blindIndexService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void run_indexesLegacyRowsAndReencryptsWithRandomIv() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("INSERT INTO customers (id, document_type, document_number, full_name, email, created_at, updated_at) " +
+                            "VALUES (NEXT VALUE FOR customers_seq, 'CC', ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                    legacyEncrypt("BF-DOC-" + i), legacyEncrypt("Legacy " + i), legacyEncrypt("bf" + i + "@test.com"));
+            jdbcTemplate.update("INSERT INTO accounts (id, customer_id, account_number, status, balance, created_at, updated_at) " +
+                            "VALUES (NEXT VALUE FOR accounts_seq, ?, ?, 'ACTIVE', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                    70_000L + i, legacyEncrypt("ACC-BF-" + i));
+        }
+
+        BlindIndexBackfill backfill = new BlindIndexBackfill(customerRepository, accountRepository,
+                blindIndexListener, transactionTemplate, 2);
+        backfill.run(null);
+
+        Customer customer = customerRepository.findByDocumentNumberIndex(blindIndexService.index("BF-DOC-3")).orElseThrow();
+        assertEquals("bf3@test.com", customer.getEmail());
+        assertEquals(blindIndexService.index("bf3@test.com"), customer.getEmailIndex());
+        Account account = accountRepository.findByAccountNumberIndex(blindIndexService.index("ACC-BF-4")).orElseThrow();
+        assertEquals(70_004L, account.getCustomerId());
+
+        String storedEmail = jdbcTemplate.queryForObject("SELECT email FROM customers WHERE id = ?", String.class, customer.getId());
+        assertTrue(storedEmail.startsWith("v2:"));
+        assertEquals(0, backfill.backfillCustomers());
+        assertEquals(0, backfill.backfillAccounts());
+    }
+
+    private static String legacyEncrypt(String value) throws Exception {
+        byte[] keyHash = MessageDigest.getInstance("SHA-256").digest(KEY.getBytes(StandardCharsets.UTF_8));
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(keyHash, "AES"),
+                new IvParameterSpec(Arrays.copyOf(keyHash, 16)));
+        return Base64.getEncoder().encodeToString(cipher.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,135 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.config.BlindIndexService;
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import com.bank.onboarding.backend.dto.CustomerBatchResultDTO;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = {
+        "app.customers.batch.chunk-size=50",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+class CustomerBatchImportIntegrationTest {
+
+    @Autowired
+    private CustomerBatchService customerBatchService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BlindIndexService blindIndexService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void importCustomers_persistsAcrossChunksAndSkipsExisting() {
+        customerRepository.save(new Customer("CC", "BATCH-0", "Existente", "batch-0@test.com"));
+
+        List<CustomerBatchRecord> records = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            records.add(CustomerBatchRecord.of(i + 1,
+                    new CustomerCreateDTO("CC", "BATCH-" + i, "Cliente " + i, "batch-" + i + "@test.com")));
+        }
+
+        CustomerBatchResultDTO result = customerBatchService.importCustomers(records.iterator());
+
+        assertEquals(120, result.getReceived());
+        assertEquals(119, result.getCreated());
+        assertEquals(1, result.getRejected());
+        assertEquals(1, result.getErrors().get(0).getLine());
+        Customer stored = customerRepository.findByDocumentNumberIndex(blindIndexService.index("BATCH-119")).orElseThrow();
+        assertEquals("Cliente 119", stored.getFullName());
+        assertEquals("batch-119@test.com", stored.getEmail());
+    }
+
+    @Test
+    void importCustomers_batchesInserts() {
+        List<CustomerBatchRecord> records = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            records.add(CustomerBatchRecord.of(i + 1,
+                    new CustomerCreateDTO("CC", "JDBC-" + i, "Cliente " + i, "jdbc-" + i + "@test.com")));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CustomerBatchResultDTO result = customerBatchService.importCustomers(records.iterator());
+
+        assertEquals(100, result.getCreated());
+        assertEquals(100, statistics.getEntityInsertCount());
+        // Two chunks of 50: two IN lookups, one sequence call and one insert batch each.
+        assertTrue(statistics.getPrepareStatementCount() <= 8,
+                "prepared statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void importCustomers_concurrentDuplicate_rejectsOnlyThatRecord() {
+        // Another writer commits RACE-2 after the chunk's existence check, while the chunk is being persisted
+        TransactionTemplate concurrentWriter = new TransactionTemplate(transactionManager);
+        concurrentWriter.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicBoolean raced = new AtomicBoolean();
+        EntityManager racingEntityManager = mock(EntityManager.class, delegatesTo(entityManager));
+        doAnswer(invocation -> {
+            if (raced.compareAndSet(false, true)) {
+                concurrentWriter.executeWithoutResult(status -> customerRepository.saveAndFlush(
+                        new Customer("CC", "RACE-2", "Concurrente", "race-other@test.com")));
+            }
+            entityManager.persist(invocation.getArgument(0));
+            return null;
+        }).when(racingEntityManager).persist(any());
+        CustomerBatchService racingService = new CustomerBatchService(customerRepository, blindIndexService,
+                validator, transactionTemplate, racingEntityManager, 50);
+
+        List<CustomerBatchRecord> records = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            records.add(CustomerBatchRecord.of(i,
+                    new CustomerCreateDTO("CC", "RACE-" + i, "Cliente " + i, "race-" + i + "@test.com")));
+        }
+
+        CustomerBatchResultDTO result = racingService.importCustomers(records.iterator());
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getRejected());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertEquals(CustomerBatchService.DUPLICATE_DOCUMENT, result.getErrors().get(0).getErrors().get("documentNumber"));
+        assertTrue(customerRepository.findByDocumentNumberIndex(blindIndexService.index("RACE-1")).isPresent());
+        assertTrue(customerRepository.findByDocumentNumberIndex(blindIndexService.index("RACE-3")).isPresent());
+        assertEquals("race-other@test.com",
+                customerRepository.findByDocumentNumberIndex(blindIndexService.index("RACE-2")).orElseThrow().getEmail());
+    }
+}
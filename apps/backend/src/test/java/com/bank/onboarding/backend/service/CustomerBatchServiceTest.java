@@ -0,0 +1,148 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.config.BlindIndexService;
+import com.bank.onboarding.backend.dto.CustomerBatchErrorDTO;
+import com.bank.onboarding.backend.dto.CustomerBatchRecord;
+import com.bank.onboarding.backend.dto.CustomerBatchResultDTO;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CustomerBatchServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ValidatorFactory validatorFactory;
+    private BlindIndexService blindIndexService;
+    private CustomerBatchService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        blindIndexService = new BlindIndexService("test-encryption-key-2024");
+        service = new CustomerBatchService(customerRepository, blindIndexService, validatorFactory.getValidator(),
+                transactionTemplate, entityManager, 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(customerRepository.findExistingDocumentNumberIndexes(anyCollection())).thenReturn(List.of());
+        when(customerRepository.findExistingEmailIndexes(anyCollection())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    private static CustomerBatchRecord record(long line, String documentNumber, String email) {
+        return CustomerBatchRecord.of(line, new CustomerCreateDTO("CC", documentNumber, "Cliente " + line, email));
+    }
+
+    @Test
+    void importCustomers_insertsValidRecordsInChunks() {
+        CustomerBatchResultDTO result = service.importCustomers(List.of(
+                record(1, "1001", "a@test.com"),
+                record(2, "1002", "b@test.com"),
+                record(3, "1003", "c@test.com")).iterator());
+
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getCreated());
+        assertEquals(0, result.getRejected());
+        assertTrue(result.getErrors().isEmpty());
+        verify(entityManager, times(3)).persist(any(Customer.class));
+        verify(customerRepository, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(customerRepository, times(2)).findExistingDocumentNumberIndexes(anyCollection());
+    }
+
+    @Test
+    void importCustomers_reportsValidationAndParseErrorsPerRecord() {
+        CustomerBatchResultDTO result = service.importCustomers(List.of(
+                CustomerBatchRecord.of(1, new CustomerCreateDTO("XX", "1001", "Cliente", "not-an-email")),
+                CustomerBatchRecord.malformed(2, "JSON invalido"),
+                record(3, "1003", "c@test.com")).iterator());
+
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getRejected());
+        CustomerBatchErrorDTO invalid = result.getErrors().get(0);
+        assertEquals(1, invalid.getLine());
+        assertEquals("El tipo de documento debe ser CC, CE o PAS", invalid.getErrors().get("documentType"));
+        assertEquals("El email debe tener un formato valido", invalid.getErrors().get("email"));
+        assertEquals(2, result.getErrors().get(1).getLine());
+        assertEquals("JSON invalido", result.getErrors().get(1).getErrors().get("record"));
+    }
+
+    @Test
+    void importCustomers_rejectsDuplicatesWithinBatch() {
+        CustomerBatchResultDTO result = service.importCustomers(List.of(
+                record(1, "1001", "a@test.com"),
+                record(2, "1001", "b@test.com"),
+                record(3, "1003", "a@test.com"),
+                record(4, "1004", "d@test.com")).iterator());
+
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getRejected());
+        assertEquals(CustomerBatchService.DUPLICATE_DOCUMENT_IN_BATCH,
+                result.getErrors().get(0).getErrors().get("documentNumber"));
+        assertFalse(result.getErrors().get(0).getErrors().containsKey("email"));
+        assertEquals(CustomerBatchService.DUPLICATE_EMAIL_IN_BATCH,
+                result.getErrors().get(1).getErrors().get("email"));
+    }
+
+    @Test
+    void importCustomers_rejectsRecordsAlreadyInDatabase() {
+        when(customerRepository.findExistingDocumentNumberIndexes(anyCollection()))
+                .thenReturn(List.of(blindIndexService.index("1001")));
+        when(customerRepository.findExistingEmailIndexes(anyCollection()))
+                .thenReturn(List.of(blindIndexService.index("a@test.com"), blindIndexService.index("b@test.com")));
+
+        CustomerBatchResultDTO result = service.importCustomers(List.of(
+                record(1, "1001", "a@test.com"),
+                record(2, "1002", "b@test.com")).iterator());
+
+        assertEquals(0, result.getCreated());
+        assertEquals(2, result.getRejected());
+        assertEquals(CustomerBatchService.DUPLICATE_DOCUMENT, result.getErrors().get(0).getErrors().get("documentNumber"));
+        assertEquals(CustomerBatchService.DUPLICATE_EMAIL, result.getErrors().get(0).getErrors().get("email"));
+        assertEquals(CustomerBatchService.DUPLICATE_EMAIL, result.getErrors().get(1).getErrors().get("email"));
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void importCustomers_emptyInput() {
+        CustomerBatchResultDTO result = service.importCustomers(List.<CustomerBatchRecord>of().iterator());
+
+        assertEquals(0, result.getReceived());
+        assertEquals(0, result.getCreated());
+        verifyNoInteractions(transactionTemplate);
+    }
+}
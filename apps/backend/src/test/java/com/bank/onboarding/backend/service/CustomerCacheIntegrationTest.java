@@ -0,0 +1,65 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.dto.CustomerResponseDTO;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.exception.ResourceNotFoundException;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CustomerCacheIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void update_evictsCachedCustomer() {
+        Customer customer = customerRepository.save(new Customer("CC", "CACHE-1", "Antes", "cache1@test.com"));
+        assertEquals("Antes", customerService.getCustomerById(customer.getId()).getFullName());
+
+        Customer stored = customerRepository.findById(customer.getId()).orElseThrow();
+        stored.setFullName("Despues");
+        customerRepository.save(stored);
+
+        assertEquals("Despues", customerService.getCustomerById(customer.getId()).getFullName());
+    }
+
+    @Test
+    void delete_evictsCachedCustomer() {
+        Customer customer = customerRepository.save(new Customer("CC", "CACHE-2", "Borrado", "cache2@test.com"));
+        customerService.getCustomerById(customer.getId());
+
+        customerRepository.deleteById(customer.getId());
+
+        assertThrows(ResourceNotFoundException.class, () -> customerService.getCustomerById(customer.getId()));
+    }
+
+    @Test
+    void reads_publishHitAndMissMetrics() {
+        Customer customer = customerRepository.save(new Customer("CC", "CACHE-3", "Metricas", "cache3@test.com"));
+        double hits = hits();
+
+        CustomerResponseDTO first = customerService.getCustomerById(customer.getId());
+        CustomerResponseDTO second = customerService.getCustomerById(customer.getId());
+
+        assertEquals(first.getEmail(), second.getEmail());
+        assertEquals(hits + 1, hits());
+        assertNotNull(meterRegistry.find("cache.gets").tags("cache", "customers", "result", "miss").functionCounter());
+        assertNotNull(meterRegistry.find("cache.evictions").tags("cache", "customers").functionCounter());
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tags("cache", "customers", "result", "hit").functionCounter().count();
+    }
+}
@@ -0,0 +1,112 @@
+package com.bank.onboarding.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerSearchIndexTest {
+
+    private final CustomerSearchIndex index = new CustomerSearchIndex(true);
+
+    private long[] search(String name, String emailDomain, String documentType) {
+        return index.search(CustomerSearchIndex.Query.of(name, emailDomain, documentType), 0, 100);
+    }
+
+    @Test
+    void nameWords_matchByPrefixIgnoringCaseAndAccents() {
+        index.add(1L, "CC", "José María Pérez-Gómez", "jose@banco.com");
+        index.add(2L, "CC", "Josefina Perez", "josefina@correo.com");
+        index.add(3L, "CE", "Mario Gomez", "mario@banco.com");
+
+        assertArrayEquals(new long[]{1, 2}, search("JOSE", null, null));
+        assertArrayEquals(new long[]{1, 2}, search("pér", null, null));
+        assertArrayEquals(new long[]{1, 3}, search("gomez", null, null));
+        assertArrayEquals(new long[]{1}, search("maria gom", null, null));
+        assertArrayEquals(new long[0], search("maria lopez", null, null));
+    }
+
+    @Test
+    void criteria_areIntersected() {
+        index.add(1L, "CC", "Ana Ruiz", "ana@banco.com");
+        index.add(2L, "CE", "Ana Lopez", "ana.lopez@banco.com");
+        index.add(3L, "CC", "Ana Diaz", "ana@correo.com");
+
+        assertArrayEquals(new long[]{1, 2}, search(null, "@Banco.com", null));
+        assertArrayEquals(new long[]{1, 3}, search(null, null, "cc"));
+        assertArrayEquals(new long[]{1}, search("an", "banco.com", "CC"));
+        assertArrayEquals(new long[0], search(null, "otro.com", null));
+    }
+
+    @Test
+    void results_areOrderedByIdAndPagedWithCursor() {
+        for (long id : new long[]{50, 10, 30, 20, 40, 30}) {
+            index.add(id, "PAS", "Cliente " + id, "c" + id + "@test.com");
+        }
+        CustomerSearchIndex.Query query = CustomerSearchIndex.Query.of("cli", null, null);
+
+        assertArrayEquals(new long[]{10, 20}, index.search(query, 0, 2));
+        assertArrayEquals(new long[]{30, 40}, index.search(query, 20, 2));
+        assertArrayEquals(new long[]{50}, index.search(query, 40, 2));
+    }
+
+    @Test
+    void query_matchesUsesTheSameNormalization() {
+        CustomerSearchIndex.Query query = CustomerSearchIndex.Query.of("jo pe", "banco.com", "cc");
+
+        assertTrue(query.matches("CC", "José Pérez", "jose@BANCO.com"));
+        assertFalse(query.matches("CE", "José Pérez", "jose@banco.com"));
+        assertFalse(query.matches("CC", "José Díaz", "jose@banco.com"));
+        assertFalse(query.matches("CC", "José Pérez", "jose@banco.com.co"));
+        assertEquals(List.of("jo", "pe"), query.nameWords());
+        assertTrue(CustomerSearchIndex.Query.of(" ", "", null).isEmpty());
+    }
+
+    @Test
+    void merge_combinesPartialsWithLiveWrites() {
+        CustomerSearchIndex.Partial low = new CustomerSearchIndex.Partial();
+        low.add(1L, "CC", "Ana Ruiz", "ana@banco.com");
+        low.add(2L, "CC", "Ana Lopez", "lopez@banco.com");
+        CustomerSearchIndex.Partial high = new CustomerSearchIndex.Partial();
+        high.add(5L, "CC", "Ana Diaz", "diaz@banco.com");
+        index.add(3L, "CC", "Ana Vega", "vega@banco.com");
+        index.add(5L, "CC", "Ana Diaz", "diaz@banco.com");
+
+        index.merge(high);
+        index.merge(low);
+
+        assertArrayEquals(new long[]{1, 2, 3, 5}, search("ana", "banco.com", "CC"));
+        assertEquals(2, low.rows());
+        // "ana" x4, one surname each, one domain and one document type for all four
+        assertEquals(16, index.stats().ids());
+    }
+
+    @Test
+    void snapshot_roundTrips() throws IOException {
+        index.add(7L, "CC", "Lucía Fernández", "lucia@banco.com");
+        index.add(300L, "CE", "Luis Fernandez", "luis@correo.com");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        CustomerSearchIndex restored = new CustomerSearchIndex(true);
+        restored.merge(CustomerSearchIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+
+        assertArrayEquals(new long[]{7, 300}, restored.search(CustomerSearchIndex.Query.of("fern", null, null), 0, 10));
+        assertArrayEquals(new long[]{300}, restored.search(CustomerSearchIndex.Query.of("lu", "correo.com", "CE"), 0, 10));
+        assertEquals(index.stats().ids(), restored.stats().ids());
+    }
+
+    @Test
+    void snapshot_withWrongHeader_isRejected() {
+        byte[] garbage = {1, 2, 3, 4, 5, 6, 7, 8};
+
+        assertThrows(IOException.class,
+                () -> CustomerSearchIndex.readFrom(new DataInputStream(new ByteArrayInputStream(garbage))));
+    }
+}
@@ -0,0 +1,106 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.config.EncryptionService;
+import com.bank.onboarding.backend.dto.CursorPage;
+import com.bank.onboarding.backend.dto.CustomerCreateDTO;
+import com.bank.onboarding.backend.dto.CustomerResponseDTO;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CustomerSearchIntegrationTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private EncryptionService encryptionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor executor;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void createdCustomer_isSearchableAfterCommit() {
+        CustomerResponseDTO created = customerService.createCustomer(
+                new CustomerCreateDTO("PAS", "SEARCH-1", "Bárbara Quintero", "barbara@search-one.com"));
+
+        CursorPage<CustomerResponseDTO> page = customerService.searchCustomers("barb quin", "search-one.com", "PAS",
+                null, null);
+
+        assertTrue(customerSearchIndex.isReady());
+        assertEquals(1, page.getItems().size());
+        assertEquals(created.getId(), page.getItems().get(0).getId());
+        assertEquals("barbara@search-one.com", page.getItems().get(0).getEmail());
+    }
+
+    @Test
+    void rolledBackInsert_isNotIndexed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            customerRepository.saveAndFlush(new Customer("CC", "SEARCH-2", "Rolando Atras", "rolando@search-two.com"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, customerSearchIndex.search(
+                CustomerSearchIndex.Query.of(null, "search-two.com", null), 0, 10).length);
+    }
+
+    @Test
+    void loader_buildsInSlicesAndRestartsFromSnapshot() throws Exception {
+        for (int i = 0; i < 7; i++) {
+            customerRepository.save(new Customer("CE", "SEARCH-3-" + i, "Snapshot Cliente" + i,
+                    "cliente" + i + "@search-three.com"));
+        }
+        Path snapshot = tempDir.resolve("search/customers.idx");
+        CustomerSearchIndex.Query query = CustomerSearchIndex.Query.of("snap", "search-three.com", "CE");
+
+        CustomerSearchIndex scanned = new CustomerSearchIndex(true);
+        CustomerSearchIndexLoader scanner = loader(scanned, encryptionService, snapshot);
+        scanner.run(null);
+        scanner.writeSnapshot();
+        assertEquals(7, scanned.search(query, 0, 100).length);
+        assertTrue(Files.isRegularFile(snapshot));
+        assertFalse(new String(Files.readAllBytes(snapshot), StandardCharsets.ISO_8859_1)
+                .contains("snapshot"), "snapshot is encrypted");
+
+        CustomerSearchIndex restored = new CustomerSearchIndex(true);
+        CustomerSearchIndexLoader restorer = loader(restored, encryptionService, snapshot);
+        assertNotNull(restorer.loadSnapshot());
+        assertArrayEquals(scanned.search(query, 0, 100), restored.search(query, 0, 100));
+
+        CustomerSearchIndex otherKey = new CustomerSearchIndex(true);
+        assertNull(loader(otherKey, new EncryptionService("another-key"), snapshot).loadSnapshot());
+        assertEquals(0, otherKey.stats().ids());
+    }
+
+    private CustomerSearchIndexLoader loader(CustomerSearchIndex index, EncryptionService encryption, Path snapshot) {
+        return new CustomerSearchIndexLoader(index, customerRepository, encryption, executor, 3, 2,
+                Duration.ofMinutes(2), snapshot.toString());
+    }
+}
@@ -1,20 +1,27 @@
 package com.bank.onboarding.backend.service;
 
+import com.bank.onboarding.backend.config.BlindIndexService;
+import com.bank.onboarding.backend.dto.CursorPage;
 import com.bank.onboarding.backend.dto.CustomerCreateDTO;
 import com.bank.onboarding.backend.dto.CustomerResponseDTO;
 import com.bank.onboarding.backend.entity.Customer;
 import com.bank.onboarding.backend.exception.BusinessException;
 import com.bank.onboarding.backend.exception.ResourceNotFoundException;
+import com.bank.onboarding.backend.exception.SearchIndexNotReadyException;
 import com.bank.onboarding.backend.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,14 +33,25 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
-    @InjectMocks
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private CustomerService customerService;
+    private CustomerCache customerCache;
+    private CustomerSearchIndex searchIndex;
+
+    private BlindIndexService blindIndexService;
 
     private CustomerCreateDTO createDTO;
     private Customer customer;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
+        blindIndexService = new BlindIndexService("test-encryption-key-2024");
+        customerCache = new CustomerCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        searchIndex = new CustomerSearchIndex(true);
+        customerService = new CustomerService(customerRepository, blindIndexService, customerCache,
+                searchIndex, new PageSizes(20, 100), meterRegistry);
+
         createDTO = new CustomerCreateDTO("CC", "123456", "Juan Perez", "juan@test.com");
 
         customer = new Customer("CC", "123456", "Juan Perez", "juan@test.com");
@@ -42,8 +60,8 @@ class CustomerServiceTest {
 
     @Test
     void createCustomer_success() {
-        when(customerRepository.existsByDocumentNumber("123456")).thenReturn(false);
-        when(customerRepository.existsByEmail("juan@test.com")).thenReturn(false);
+        when(customerRepository.existsByDocumentNumberIndex(blindIndexService.index("123456"))).thenReturn(false);
+        when(customerRepository.existsByEmailIndex(blindIndexService.index("juan@test.com"))).thenReturn(false);
         when(customerRepository.save(any(Customer.class))).thenReturn(customer);
 
         CustomerResponseDTO result = customerService.createCustomer(createDTO);
@@ -59,7 +77,7 @@ class CustomerServiceTest {
 
     @Test
     void createCustomer_duplicateDocumentNumber_throwsBusinessException() {
-        when(customerRepository.existsByDocumentNumber("123456")).thenReturn(true);
+        when(customerRepository.existsByDocumentNumberIndex(blindIndexService.index("123456"))).thenReturn(true);
 
         BusinessException exception = assertThrows(BusinessException.class,
                 () -> customerService.createCustomer(createDTO));
@@ -70,8 +88,8 @@ class CustomerServiceTest {
 
     @Test
     void createCustomer_duplicateEmail_throwsBusinessException() {
-        when(customerRepository.existsByDocumentNumber("123456")).thenReturn(false);
-        when(customerRepository.existsByEmail("juan@test.com")).thenReturn(true);
+        when(customerRepository.existsByDocumentNumberIndex(blindIndexService.index("123456"))).thenReturn(false);
+        when(customerRepository.existsByEmailIndex(blindIndexService.index("juan@test.com"))).thenReturn(true);
 
         BusinessException exception = assertThrows(BusinessException.class,
                 () -> customerService.createCustomer(createDTO));
@@ -82,12 +100,74 @@ class CustomerServiceTest {
 
     @Test
     void getAllCustomers_returnsList() {
-        when(customerRepository.findAll()).thenReturn(List.of(customer));
+        when(customerRepository.findResponses(0L, Limit.of(21))).thenReturn(List.of(new CustomerResponseDTO(customer)));
+
+        CursorPage<CustomerResponseDTO> result = customerService.getCustomers(null, null);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals("Juan Perez", result.getItems().get(0).getFullName());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void getCustomers_sizeAboveMax_isClamped() {
+        when(customerRepository.findResponses(5L, Limit.of(101))).thenReturn(List.of(new CustomerResponseDTO(customer)));
+
+        CursorPage<CustomerResponseDTO> result = customerService.getCustomers(5L, 10_000);
+
+        assertEquals(1, result.getItems().size());
+    }
+
+    @Test
+    void exportCustomers_streamsEachRow() {
+        when(customerRepository.streamResponses()).thenReturn(Stream.of(new CustomerResponseDTO(customer)));
+        List<CustomerResponseDTO> exported = new ArrayList<>();
+
+        customerService.exportCustomers(exported::add);
+
+        assertEquals(1, exported.size());
+        assertEquals("juan@test.com", exported.get(0).getEmail());
+    }
+
+    @Test
+    void searchCustomers_dropsCandidatesThatNoLongerMatch() {
+        searchIndex.add(1L, "CC", "Juan Perez", "juan@test.com");
+        searchIndex.add(2L, "CC", "Juana Gomez", "juana@test.com");
+        searchIndex.add(3L, "CC", "Juanita Diaz", "juanita@test.com");
+        searchIndex.markReady();
+        Customer renamed = new Customer("CC", "222", "Maria Gomez", "juana@test.com");
+        renamed.setId(2L);
+        when(customerRepository.findResponsesByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new CustomerResponseDTO(renamed), new CustomerResponseDTO(customer)));
+
+        CursorPage<CustomerResponseDTO> result = customerService.searchCustomers("jua", "TEST.com", null, null, 2);
+
+        assertEquals(List.of(1L), result.getItems().stream().map(CustomerResponseDTO::getId).toList());
+        assertEquals(2L, result.getNextCursor());
+        assertEquals(1, meterRegistry.get("customers.operations")
+                .tag("operation", "search").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void searchCustomers_rejectsMissingCriteriaAndShortPrefixes() {
+        searchIndex.markReady();
 
-        List<CustomerResponseDTO> result = customerService.getAllCustomers();
+        BusinessException empty = assertThrows(BusinessException.class,
+                () -> customerService.searchCustomers(" ", null, "", null, null));
+        BusinessException shortWord = assertThrows(BusinessException.class,
+                () -> customerService.searchCustomers("juan p", null, null, null, null));
 
-        assertEquals(1, result.size());
-        assertEquals("Juan Perez", result.get(0).getFullName());
+        assertEquals(CustomerService.SEARCH_CRITERIA_REQUIRED, empty.getMessage());
+        assertEquals(CustomerService.SEARCH_PREFIX_TOO_SHORT, shortWord.getMessage());
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void searchCustomers_beforeIndexIsBuilt_throwsNotReady() {
+        assertThrows(SearchIndexNotReadyException.class,
+                () -> customerService.searchCustomers(null, null, "CC", null, null));
+        assertEquals(1, meterRegistry.get("customers.operations")
+                .tag("operation", "search").tag("outcome", "busy").timer().count());
     }
 
     @Test
@@ -106,5 +186,45 @@ class CustomerServiceTest {
 
         assertThrows(ResourceNotFoundException.class,
                 () -> customerService.getCustomerById(99L));
+        assertEquals(0, customerCache.size());
+        assertEquals(1, meterRegistry.get("customers.operations")
+                .tag("operation", "get").tag("outcome", "not_found").timer().count());
+    }
+
+    @Test
+    void getCustomerById_secondCall_servedFromCache() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+
+        CustomerResponseDTO first = customerService.getCustomerById(1L);
+        CustomerResponseDTO second = customerService.getCustomerById(1L);
+
+        assertNotSame(first, second);
+        assertEquals(first.getDocumentNumber(), second.getDocumentNumber());
+        verify(customerRepository, times(1)).findById(1L);
+        // Cache hits are timed too
+        assertEquals(2, meterRegistry.get("customers.operations")
+                .tag("operation", "get").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void getCustomerById_changesToAReturnedCustomer_doNotReachTheCache() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+
+        CustomerResponseDTO first = customerService.getCustomerById(1L);
+        String email = first.getEmail();
+        first.setEmail("changed@test.com");
+
+        assertEquals(email, customerService.getCustomerById(1L).getEmail());
+    }
+
+    @Test
+    void getCustomerById_afterEvict_reloads() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+
+        customerService.getCustomerById(1L);
+        customerCache.evict(1L);
+        customerService.getCustomerById(1L);
+
+        verify(customerRepository, times(2)).findById(1L);
     }
 }
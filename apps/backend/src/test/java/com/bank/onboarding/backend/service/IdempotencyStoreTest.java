@@ -0,0 +1,185 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.TransactionDTO;
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.exception.BusinessException;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IdempotencyStoreTest {
+
+    private static final TransactionDTO DEPOSIT = new TransactionDTO("DEPOSIT", new BigDecimal("10.00"));
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void retry_returnsStoredResponseWithoutApplyingAgain() {
+        Long id = newAccount(7_001L);
+
+        AccountResponseDTO first = accountService.transaction(id, DEPOSIT, "retry-once");
+        AccountResponseDTO second = accountService.transaction(id, DEPOSIT, "retry-once");
+
+        assertEquals(first.getBalance(), second.getBalance());
+        assertEquals(first.getUpdatedAt(), second.getUpdatedAt());
+        assertEquals(new BigDecimal("10.00"), balance(id));
+        assertTrue(meterRegistry.counter("idempotency.requests", "outcome", "cache").count() >= 1);
+    }
+
+    @Test
+    void replays_doNotShareTheResponseInstance() {
+        Long id = newAccount(7_008L);
+
+        AccountResponseDTO first = accountService.transaction(id, DEPOSIT, "isolated");
+        first.setBalance(BigDecimal.ZERO);
+        AccountResponseDTO second = accountService.transaction(id, DEPOSIT, "isolated");
+        second.setStatus("CHANGED");
+        AccountResponseDTO third = accountService.transaction(id, DEPOSIT, "isolated");
+
+        assertNotSame(second, third);
+        assertEquals(new BigDecimal("10.00"), second.getBalance());
+        assertEquals(new BigDecimal("10.00"), third.getBalance());
+        assertEquals("ACTIVE", third.getStatus());
+    }
+
+    @Test
+    void retry_afterCacheLoss_replaysFromTable() {
+        Long id = newAccount(7_002L);
+        AccountResponseDTO first = accountService.transaction(id, DEPOSIT, "survives-restart");
+
+        IdempotencyStore restarted = newStore();
+        AccountResponseDTO replayed = restarted.execute("survives-restart", id + ":DEPOSIT:10",
+                () -> fail("must not run again"));
+
+        assertEquals(first.getBalance(), replayed.getBalance());
+        assertEquals(first.getAccountNumber(), replayed.getAccountNumber());
+        assertEquals(new BigDecimal("10.00"), balance(id));
+    }
+
+    @Test
+    void sameKeyDifferentRequest_isRejected() {
+        Long id = newAccount(7_003L);
+        accountService.transaction(id, DEPOSIT, "reused");
+
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                accountService.transaction(id, new TransactionDTO("DEPOSIT", new BigDecimal("20.00")), "reused"));
+
+        assertEquals(IdempotencyStore.KEY_REUSED, exception.getMessage());
+        assertEquals(new BigDecimal("10.00"), balance(id));
+    }
+
+    @Test
+    void failedRequest_isNotStored() {
+        Long id = newAccount(7_004L);
+        TransactionDTO withdrawal = new TransactionDTO("WITHDRAWAL", new BigDecimal("10.00"));
+
+        assertThrows(BusinessException.class, () -> accountService.transaction(id, withdrawal, "too-early"));
+        accountService.transaction(id, DEPOSIT, null);
+        AccountResponseDTO retried = accountService.transaction(id, withdrawal, "too-early");
+
+        assertEquals(new BigDecimal("0.00"), retried.getBalance());
+        assertFalse(idempotencyRecordRepository.findById("too-early").isEmpty());
+    }
+
+    @Test
+    void invalidKey_isRejected() {
+        Long id = newAccount(7_005L);
+
+        assertThrows(BusinessException.class, () -> accountService.transaction(id, DEPOSIT, " "));
+        assertThrows(BusinessException.class, () -> accountService.transaction(id, DEPOSIT, "k".repeat(101)));
+        assertEquals(new BigDecimal("0.00"), balance(id));
+    }
+
+    @Test
+    void concurrentRetries_applyOnce() throws Exception {
+        Long id = newAccount(7_006L);
+        int clients = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AccountResponseDTO>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return newStore().execute("concurrent", id + ":DEPOSIT:10",
+                            () -> accountService.transaction(id, DEPOSIT));
+                }));
+            }
+            start.countDown();
+            for (Future<AccountResponseDTO> future : futures) {
+                assertEquals(new BigDecimal("10.00"), future.get().getBalance());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(new BigDecimal("10.00"), balance(id));
+    }
+
+    @Test
+    void purgeExpired_deletesOldKeys() {
+        Long id = newAccount(7_007L);
+        accountService.transaction(id, DEPOSIT, "old-key");
+        jdbcTemplate.update("UPDATE idempotency_keys SET created_at = DATEADD('DAY', -2, CURRENT_TIMESTAMP) " +
+                "WHERE idempotency_key = 'old-key'");
+
+        idempotencyStore.purgeExpired();
+
+        assertTrue(idempotencyRecordRepository.findById("old-key").isEmpty());
+    }
+
+    private IdempotencyStore newStore() {
+        return new IdempotencyStore(idempotencyRecordRepository, new TransactionTemplate(transactionManager),
+                objectMapper, meterRegistry, 100, Duration.ofMinutes(1), Duration.ofDays(1));
+    }
+
+    private Long newAccount(long customerId) {
+        return accountRepository.save(new Account(customerId, "ACC-IDEM-" + customerId, "ACTIVE")).getId();
+    }
+
+    private BigDecimal balance(Long id) {
+        return accountRepository.findById(id).orElseThrow().getBalance();
+    }
+}
@@ -0,0 +1,109 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.config.EncryptedTextConverter;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Flips the converter to lazy mode on the shared context instead of starting one with app.encryption.lazy-pii=true
+@SpringBootTest
+class LazyPiiIntegrationTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EncryptedTextConverter encryptedTextConverter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void lazyOn() {
+        encryptedTextConverter.setLazy(true);
+    }
+
+    @AfterEach
+    void lazyOff() {
+        encryptedTextConverter.setLazy(false);
+    }
+
+    @Test
+    void bulkRead_decryptsOnlyTheFieldsThatAreRead() {
+        Long firstId = customerRepository.save(new Customer("CC", "LAZY-1", "Lazy Uno", "lazy1@test.com")).getId();
+        Long secondId = customerRepository.save(new Customer("CE", "LAZY-2", "Lazy Dos", "lazy2@test.com")).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            double before = crypto("decrypt");
+            List<Customer> rows = customerRepository.findAllById(List.of(firstId, secondId));
+            rows.forEach(Customer::getDocumentType);
+            assertEquals(2, rows.size());
+            assertEquals(before, crypto("decrypt"), "hydration alone decrypts nothing");
+
+            Customer first = rows.stream().filter(c -> c.getId().equals(firstId)).findFirst().orElseThrow();
+            assertEquals("Lazy Uno", first.getFullName());
+            assertEquals("Lazy Uno", first.getFullName());
+            assertEquals(before + 1, crypto("decrypt"), "one field read, decrypted once");
+        });
+    }
+
+    @Test
+    void updatingOtherColumns_keepsTheStoredCiphertext() {
+        Long id = customerRepository.save(new Customer("CC", "LAZY-3", "Lazy Tres", "lazy3@test.com")).getId();
+        String stored = storedFullName(id);
+        double encrypts = crypto("encrypt");
+
+        transactionTemplate.executeWithoutResult(status ->
+                customerRepository.findById(id).orElseThrow().setDocumentType("PAS"));
+
+        assertEquals(stored, storedFullName(id));
+        assertEquals(encrypts, crypto("encrypt"));
+        Customer reloaded = customerRepository.findById(id).orElseThrow();
+        assertEquals("PAS", reloaded.getDocumentType());
+        assertEquals("Lazy Tres", reloaded.getFullName());
+    }
+
+    @Test
+    void settingUnchangedPii_writesNothingAndDecryptsOnlyWhatWasCompared() {
+        Long id = customerRepository.save(new Customer("CC", "LAZY-4", "Lazy Cuatro", "lazy4@test.com")).getId();
+        String stored = storedFullName(id);
+        double encrypts = crypto("encrypt");
+        double decrypts = crypto("decrypt");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Customer customer = customerRepository.findById(id).orElseThrow();
+            customer.setFullName("Lazy Cuatro");
+            customer.setEmail("lazy4@test.com");
+        });
+
+        assertEquals(stored, storedFullName(id));
+        assertEquals(encrypts, crypto("encrypt"), "same plaintext, nothing re-encrypted");
+        assertEquals(decrypts + 2, crypto("decrypt"), "the two compared fields; the document number stays encrypted");
+    }
+
+    private String storedFullName(Long id) {
+        return jdbcTemplate.queryForObject("SELECT full_name FROM customers WHERE id = ?", String.class, id);
+    }
+
+    private double crypto(String operation) {
+        return meterRegistry.get("crypto.operations").tag("operation", operation).tag("outcome", "success")
+                .timer().count();
+    }
+}
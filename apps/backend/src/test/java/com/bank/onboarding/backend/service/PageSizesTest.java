@@ -0,0 +1,29 @@
+package com.bank.onboarding.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageSizesTest {
+
+    private final PageSizes pageSizes = new PageSizes(50, 200);
+
+    @Test
+    void resolve_missingOrInvalid_returnsDefault() {
+        assertEquals(50, pageSizes.resolve(null));
+        assertEquals(50, pageSizes.resolve(0));
+        assertEquals(50, pageSizes.resolve(-3));
+    }
+
+    @Test
+    void resolve_clampsToMax() {
+        assertEquals(10, pageSizes.resolve(10));
+        assertEquals(200, pageSizes.resolve(1_000));
+    }
+
+    @Test
+    void resolveCursor_missing_startsFromBeginning() {
+        assertEquals(0L, pageSizes.resolveCursor(null));
+        assertEquals(42L, pageSizes.resolveCursor(42L));
+    }
+}
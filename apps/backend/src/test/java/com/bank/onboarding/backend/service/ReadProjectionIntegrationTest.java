@@ -0,0 +1,75 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.dto.AccountCreateDTO;
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.AccountTransactionDTO;
+import com.bank.onboarding.backend.dto.CustomerResponseDTO;
+import com.bank.onboarding.backend.dto.TransactionDTO;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.repository.AccountTransactionRepository;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ReadProjectionIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void responseQueries_decryptColumnsWithoutManagingEntities() {
+        Customer customer = customerRepository.save(new Customer("CC", "PRJ-1", "Proyeccion Uno", "prj-1@test.com"));
+        AccountResponseDTO account = accountService.createAccount(new AccountCreateDTO(customer.getId()));
+        accountService.transaction(account.getId(), new TransactionDTO("DEPOSIT", new BigDecimal("25.00")), null);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<CustomerResponseDTO> customers = customerRepository.findResponses(customer.getId() - 1, Limit.of(1));
+            List<CustomerResponseDTO> byId = customerRepository.findResponsesByIdIn(List.of(customer.getId()));
+            List<AccountResponseDTO> accounts = accountRepository.findResponses(account.getId() - 1, Limit.of(1));
+            List<AccountResponseDTO> byCustomer = accountRepository.findResponsesByCustomerId(customer.getId());
+            List<AccountTransactionDTO> ledger = accountTransactionRepository.findResponses(account.getId(), 0L,
+                    Limit.of(10));
+            try (Stream<CustomerResponseDTO> exported = customerRepository.streamResponses()) {
+                assertTrue(exported.anyMatch(row -> row.getId().equals(customer.getId())));
+            }
+
+            assertEquals("PRJ-1", customers.get(0).getDocumentNumber());
+            assertEquals("Proyeccion Uno", byId.get(0).getFullName());
+            assertEquals("prj-1@test.com", byId.get(0).getEmail());
+            assertEquals(account.getAccountNumber(), accounts.get(0).getAccountNumber());
+            assertEquals(0, new BigDecimal("25.00").compareTo(byCustomer.get(0).getBalance()));
+            assertEquals(1, ledger.size());
+            assertEquals("DEPOSIT", ledger.get(0).getType());
+            assertEquals(0, entityManager.unwrap(SessionImplementor.class)
+                    .getPersistenceContextInternal().getNumberOfManagedEntities());
+        });
+    }
+}
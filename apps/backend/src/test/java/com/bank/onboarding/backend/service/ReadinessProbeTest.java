@@ -0,0 +1,78 @@
+package com.bank.onboarding.backend.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadinessProbeTest {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private HikariDataSource pool;
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void notReady_untilFirstCheck_andWhileSearchIndexWarmsUp() {
+        CustomerSearchIndex index = new CustomerSearchIndex(true);
+        ReadinessProbe probe = probe(pool("jdbc:h2:mem:ready;DB_CLOSE_DELAY=-1"), index);
+        assertFalse(probe.snapshot().ready());
+
+        probe.check();
+        JsonNode warming = mapper.readTree(probe.snapshot().readiness());
+        assertFalse(probe.snapshot().ready());
+        assertEquals("UP", warming.path("database").path("status").asString());
+        assertEquals("WARMING_UP", warming.path("searchIndex").asString());
+
+        index.markReady();
+        probe.check();
+        JsonNode ready = mapper.readTree(probe.snapshot().readiness());
+        assertTrue(probe.snapshot().ready());
+        assertEquals("UP", ready.path("status").asString());
+        assertEquals(1, ready.path("database").path("pools").path("probe").path("max").asInt());
+        assertEquals("ok", mapper.readTree(probe.snapshot().health()).path("status").asString());
+    }
+
+    @Test
+    void notReady_whenPoolCannotConnect() {
+        HikariDataSource unreachable = pool("jdbc:h2:tcp://localhost:1/missing");
+        unreachable.setInitializationFailTimeout(-1);
+        ReadinessProbe probe = probe(unreachable, new CustomerSearchIndex(false));
+
+        probe.check();
+
+        JsonNode body = mapper.readTree(probe.snapshot().readiness());
+        assertFalse(probe.snapshot().ready());
+        assertEquals("DOWN", body.path("database").path("status").asString());
+        assertEquals("DISABLED", body.path("searchIndex").asString());
+        assertTrue(body.path("database").path("pools").path("probe").has("error"));
+    }
+
+    private HikariDataSource pool(String url) {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setPoolName("probe");
+        pool.setMaximumPoolSize(1);
+        pool.setConnectionTimeout(250);
+        return pool;
+    }
+
+    private ReadinessProbe probe(HikariDataSource dataSource, CustomerSearchIndex index) {
+        ObjectProvider<HikariDataSource> pools = new StaticListableBeanFactory(Map.of("dataSource", dataSource))
+                .getBeanProvider(HikariDataSource.class);
+        return new ReadinessProbe(pools, index, mapper, Duration.ofSeconds(1));
+    }
+}
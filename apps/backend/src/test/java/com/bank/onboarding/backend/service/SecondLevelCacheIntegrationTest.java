@@ -0,0 +1,96 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.dto.AccountCreateDTO;
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.TransactionDTO;
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.entity.Customer;
+import com.bank.onboarding.backend.exception.BusinessException;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void balanceUpdates_areNeverServedStaleFromCache() {
+        Customer customer = customerRepository.save(new Customer("CC", "L2-1", "Cache Uno", "l2-1@test.com"));
+        AccountResponseDTO created = accountService.createAccount(accountFor(customer));
+        Long accountId = created.getId();
+
+        // Bulk balance UPDATEs would empty an Account region on every write, so there is none
+        accountRepository.findById(accountId);
+        assertFalse(entityManagerFactory.getCache().contains(Account.class, accountId));
+
+        for (int i = 1; i <= 5; i++) {
+            AccountResponseDTO afterDeposit = accountService.transaction(accountId, deposit("10.00"), null);
+            BigDecimal expected = new BigDecimal("10.00").multiply(BigDecimal.valueOf(i));
+            assertEquals(0, expected.compareTo(afterDeposit.getBalance()));
+            assertEquals(0, expected.compareTo(accountRepository.findById(accountId).orElseThrow().getBalance()));
+        }
+    }
+
+    @Test
+    void createAccount_readsCustomerFromCache() {
+        Customer customer = customerRepository.save(new Customer("CC", "L2-2", "Cache Dos", "l2-2@test.com"));
+        accountService.createAccount(accountFor(customer));
+        assertTrue(entityManagerFactory.getCache().contains(Customer.class, customer.getId()));
+
+        statistics.clear();
+        assertThrows(BusinessException.class, () -> accountService.createAccount(accountFor(customer)));
+
+        // The customer check is answered in memory; the one-account-per-customer check is a single exists query
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void statusChange_isVisibleRightAway() {
+        Customer customer = customerRepository.save(new Customer("CC", "L2-3", "Cache Tres", "l2-3@test.com"));
+        Long accountId = accountService.createAccount(accountFor(customer)).getId();
+        accountRepository.findById(accountId);
+
+        accountService.updateAccountStatus(accountId, "INACTIVE");
+
+        assertEquals("INACTIVE", accountService.getAccountsByCustomerId(customer.getId()).get(0).getStatus());
+        assertEquals("INACTIVE", accountRepository.findById(accountId).orElseThrow().getStatus());
+    }
+
+    private static AccountCreateDTO accountFor(Customer customer) {
+        return new AccountCreateDTO(customer.getId());
+    }
+
+    private static TransactionDTO deposit(String amount) {
+        return new TransactionDTO("DEPOSIT", new BigDecimal(amount));
+    }
+}
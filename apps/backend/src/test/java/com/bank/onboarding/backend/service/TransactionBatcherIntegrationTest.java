@@ -0,0 +1,180 @@
+package com.bank.onboarding.backend.service;
+
+import com.bank.onboarding.backend.dto.AccountResponseDTO;
+import com.bank.onboarding.backend.dto.AccountTransactionDTO;
+import com.bank.onboarding.backend.dto.TransactionDTO;
+import com.bank.onboarding.backend.entity.Account;
+import com.bank.onboarding.backend.exception.BusinessException;
+import com.bank.onboarding.backend.exception.ResourceNotFoundException;
+import com.bank.onboarding.backend.repository.AccountRepository;
+import com.bank.onboarding.backend.repository.AccountTransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "app.transactions.batching.enabled=true",
+        "app.transactions.batching.window=50ms",
+        "app.transactions.batching.max-size=16"
+})
+class TransactionBatcherIntegrationTest {
+
+    private static final int WRITERS = 32;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionEngine transactionEngine;
+
+    @Autowired
+    private AccountLocks accountLocks;
+
+    @Test
+    void concurrentDeposits_areCoalescedAndEachCallerGetsItsOwnBalance() throws Exception {
+        Long accountId = accountRepository.save(new Account(8_001L, "ACC-BATCH-DEPOSIT", "ACTIVE")).getId();
+        Set<BigDecimal> balances = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(() -> {
+            AccountResponseDTO response = accountService.transaction(accountId, new TransactionDTO("DEPOSIT", new BigDecimal("1.00")));
+            assertEquals(accountId, response.getId());
+            balances.add(response.getBalance());
+        });
+
+        assertEquals(new BigDecimal("32.00"), accountRepository.findById(accountId).orElseThrow().getBalance());
+        // Every caller saw a different intermediate balance: 1.00, 2.00, ... 32.00
+        assertEquals(WRITERS, balances.size());
+        assertLedgerRunsInOrder(accountId, WRITERS);
+        assertTrue(meterRegistry.get("transactions.batch.size").summary().max() > 1);
+    }
+
+    @Test
+    void withdrawals_areCheckedInOrderWithinABatch() throws Exception {
+        Account account = new Account(8_002L, "ACC-BATCH-WITHDRAW", "ACTIVE");
+        account.setBalance(new BigDecimal("50.00"));
+        Long accountId = accountRepository.save(account).getId();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            try {
+                accountService.transaction(accountId, new TransactionDTO("WITHDRAWAL", new BigDecimal("10.00")));
+                succeeded.incrementAndGet();
+            } catch (BusinessException e) {
+                assertEquals("Fondos insuficientes", e.getMessage());
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(5, succeeded.get());
+        assertEquals(WRITERS - 5, rejected.get());
+        assertEquals(new BigDecimal("0.00"), accountRepository.findById(accountId).orElseThrow().getBalance());
+        assertLedgerRunsInOrder(accountId, 5);
+    }
+
+    @Test
+    void inactiveOrMissingAccount_rejectsEveryCaller() {
+        Long accountId = accountRepository.save(new Account(8_003L, "ACC-BATCH-INACTIVE", "INACTIVE")).getId();
+
+        BusinessException inactive = assertThrows(BusinessException.class,
+                () -> accountService.transaction(accountId, new TransactionDTO("DEPOSIT", new BigDecimal("1.00"))));
+        assertEquals("La cuenta no está activa", inactive.getMessage());
+        assertThrows(ResourceNotFoundException.class,
+                () -> accountService.transaction(999_999L, new TransactionDTO("DEPOSIT", new BigDecimal("1.00"))));
+    }
+
+    @Test
+    void errorWhileApplying_reachesEveryCaller() throws Exception {
+        TransactionEngine failing = mock(TransactionEngine.class);
+        when(failing.applyAll(any(), any())).thenThrow(new StackOverflowError("applyAll"));
+        TransactionBatcher batcher = new TransactionBatcher(failing, accountLocks, meterRegistry, true,
+                Duration.ofSeconds(5), 2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> callers = List.of(
+                    executor.submit(() -> batcher.submit(8_004L, "DEPOSIT", BigDecimal.ONE)),
+                    executor.submit(() -> batcher.submit(8_004L, "DEPOSIT", BigDecimal.ONE)));
+            for (Future<?> caller : callers) {
+                ExecutionException thrown = assertThrows(ExecutionException.class, () -> caller.get(10, TimeUnit.SECONDS));
+                assertInstanceOf(StackOverflowError.class, thrown.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void maxSizeAndWindow_mustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new TransactionBatcher(
+                transactionEngine, accountLocks, meterRegistry, true, Duration.ofMillis(2), 0));
+        assertThrows(IllegalArgumentException.class, () -> new TransactionBatcher(
+                transactionEngine, accountLocks, meterRegistry, true, Duration.ZERO, 100));
+        assertThrows(IllegalArgumentException.class, () -> new TransactionBatcher(
+                transactionEngine, accountLocks, meterRegistry, true, Duration.ofMillis(-1), 100));
+    }
+
+    private void assertLedgerRunsInOrder(Long accountId, int expectedEntries) {
+        List<AccountTransactionDTO> ledger = accountTransactionRepository.findResponses(
+                accountId, 0L, Limit.of(expectedEntries + 1));
+        assertEquals(expectedEntries, ledger.size());
+        BigDecimal running = null;
+        for (AccountTransactionDTO entry : ledger) {
+            if (running != null) {
+                BigDecimal delta = "DEPOSIT".equals(entry.getType()) ? entry.getAmount() : entry.getAmount().negate();
+                assertEquals(running.add(delta), entry.getBalanceAfter());
+            }
+            running = entry.getBalanceAfter();
+        }
+    }
+
+    private void runConcurrently(Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -44,6 +44,18 @@ describe('AccountService', () => {
     req.flush([mockAccount]);
   });
 
+  it('getAll should follow X-Next-Cursor until the last page', () => {
+    const second = { ...mockAccount, id: 2, customerId: 2 };
+    service.getAll().subscribe((accounts) => {
+      expect(accounts).toEqual([mockAccount, second]);
+    });
+
+    httpTesting.expectOne('/api/accounts').flush([mockAccount], {
+      headers: { 'X-Next-Cursor': '1' },
+    });
+    httpTesting.expectOne('/api/accounts?after=1').flush([second]);
+  });
+
   it('getByCustomerId should return accounts', () => {
     service.getByCustomerId(1).subscribe((accounts) => {
       expect(accounts).toEqual([mockAccount]);
@@ -1,6 +1,7 @@
 import { Injectable, inject } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { getAllPages } from './cursor-pages';
 import { Account, AccountCreate, TransactionRequest } from '../models/account.model';
 
 @Injectable({ providedIn: 'root' })
@@ -9,7 +10,7 @@ export class AccountService {
   private readonly apiUrl = '/api/accounts';
 
   getAll(): Observable<Account[]> {
-    return this.http.get<Account[]>(this.apiUrl);
+    return getAllPages<Account>(this.http, this.apiUrl);
   }
 
   getByCustomerId(customerId: number): Observable<Account[]> {
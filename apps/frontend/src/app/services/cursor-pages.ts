@@ -0,0 +1,22 @@
+import { HttpClient } from '@angular/common/http';
+import { EMPTY, Observable, expand, reduce } from 'rxjs';
+
+export const NEXT_CURSOR_HEADER = 'X-Next-Cursor';
+
+/**
+ * Reads a cursor-paginated list endpoint to the end: requests the next page with
+ * `?after=<X-Next-Cursor>` until a response comes back without the header, and
+ * emits all rows once.
+ */
+export function getAllPages<T>(http: HttpClient, url: string): Observable<T[]> {
+  const page = (after?: string) =>
+    http.get<T[]>(url, { observe: 'response', params: after ? { after } : {} });
+
+  return page().pipe(
+    expand((response) => {
+      const next = response.headers.get(NEXT_CURSOR_HEADER);
+      return next ? page(next) : EMPTY;
+    }),
+    reduce((all, response) => all.concat(response.body ?? []), [] as T[]),
+  );
+}
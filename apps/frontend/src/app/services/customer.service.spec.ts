@@ -44,6 +44,18 @@ describe('CustomerService', () => {
     req.flush([mockCustomer]);
   });
 
+  it('getAll should follow X-Next-Cursor until the last page', () => {
+    const second = { ...mockCustomer, id: 2 };
+    service.getAll().subscribe((customers) => {
+      expect(customers).toEqual([mockCustomer, second]);
+    });
+
+    httpTesting.expectOne('/api/customers').flush([mockCustomer], {
+      headers: { 'X-Next-Cursor': '1' },
+    });
+    httpTesting.expectOne('/api/customers?after=1').flush([second]);
+  });
+
   it('getById should return a customer', () => {
     service.getById(1).subscribe((customer) => {
       expect(customer).toEqual(mockCustomer);
@@ -1,6 +1,7 @@
 import { Injectable, inject } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { getAllPages } from './cursor-pages';
 import { Customer, CustomerCreate } from '../models/customer.model';
 
 @Injectable({ providedIn: 'root' })
@@ -9,7 +10,7 @@ export class CustomerService {
   private readonly apiUrl = '/api/customers';
 
   getAll(): Observable<Customer[]> {
-    return this.http.get<Customer[]>(this.apiUrl);
+    return getAllPages<Customer>(this.http, this.apiUrl);
   }
 
   getById(id: number): Observable<Customer> {
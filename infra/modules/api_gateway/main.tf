@@ -62,12 +62,6 @@ resource "aws_apigatewayv2_route" "api_proxy" {
   target    = "integrations/${aws_apigatewayv2_integration.backend.id}"
 }
 
-resource "aws_apigatewayv2_route" "actuator" {
-  api_id    = aws_apigatewayv2_api.main.id
-  route_key = "GET /actuator/{proxy+}"
-  target    = "integrations/${aws_apigatewayv2_integration.backend.id}"
-}
-
 # --- Stage ---
 
 resource "aws_apigatewayv2_stage" "default" {
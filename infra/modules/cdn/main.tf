@@ -85,27 +85,6 @@ resource "aws_cloudfront_distribution" "main" {
     max_ttl                = 0
   }
 
-  # /actuator/* → API Gateway (no cache)
-  ordered_cache_behavior {
-    path_pattern     = "/actuator/*"
-    allowed_methods  = ["GET", "HEAD"]
-    cached_methods   = ["GET", "HEAD"]
-    target_origin_id = local.api_origin_id
-
-    forwarded_values {
-      query_string = false
-      cookies {
-        forward = "none"
-      }
-    }
-
-    viewer_protocol_policy = "redirect-to-https"
-    compress               = false
-    min_ttl                = 0
-    default_ttl            = 0
-    max_ttl                = 0
-  }
-
   # SPA routing — serve index.html for 403/404
   custom_error_response {
     error_code         = 403